@@ -0,0 +1,86 @@
+package conference;
+
+import model.Talk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParallelSchedulingEngine against the exact engine it runs on each partition, on the same talks.
+ * <p/>
+ * The parallel engine only splits the pool when every partition gets at least eight tracks per
+ * thread, so small talk lists measure the exact engine through one more call. The pool size is a
+ * parameter, compare the parallel engine with one thread against more threads to see what the
+ * partitions cost and what they save:
+ * java -jar target/benchmarks.jar ParallelSchedulingBenchmark -p talkCount=20000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSchedulingBenchmark {
+
+    @Param({"2000", "20000"})
+    public int talkCount;
+
+    @Param({TalkGenerator.README_MIX, "59:1,61:1,121:1"})
+    public String distribution;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private List<Talk> talks;
+    private ForkJoinPool forkJoinPool;
+    private SchedulingEngine exactEngine;
+    private SchedulingEngine parallelEngine;
+
+    @Setup(Level.Trial)
+    public void createTalks() throws TalkException {
+        List<String> talkLines = new TalkGenerator(distribution).talkLines(talkCount);
+        ConferenceManager conferenceManager = new ConferenceManager(null, false);
+        talks = conferenceManager.validateAndCreateTalkList(talkLines);
+        forkJoinPool = new ForkJoinPool(threads);
+        exactEngine = new ExactSchedulingEngine();
+        parallelEngine = new ParallelSchedulingEngine(forkJoinPool, exactEngine);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    public Object exact() {
+        return planSessions(exactEngine);
+    }
+
+    @Benchmark
+    public Object parallel() {
+        return planSessions(parallelEngine);
+    }
+
+    private Object planSessions(SchedulingEngine schedulingEngine) {
+        try {
+            return schedulingEngine.planSessions(talks);
+        } catch (TalkException e) {
+            // Infeasible talk sets are part of the workload, the time to reject them counts.
+            return e;
+        }
+    }
+}
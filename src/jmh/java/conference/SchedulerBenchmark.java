@@ -0,0 +1,154 @@
+package conference;
+
+import model.Talk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse, schedule and render stages of ConferenceManager on generated talk lists.
+ * <p/>
+ * Talks are immutable and shared by all invocations. The greedy session searches which feed the
+ * fill stage run once per trial, only copies of the lists the fill stage changes are made before
+ * every invocation, outside of the measured time. The greedy stages are quadratic, so the full
+ * matrix up to 1M talks runs for hours. Narrow it down or use another distribution spec with -p, for example:
+ * java -jar target/benchmarks.jar SchedulerBenchmark -p talkCount=2000 -p distribution=5:1,60:3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    @Param({"20", "2000", "100000", "1000000"})
+    public int talkCount;
+
+    @Param({TalkGenerator.README_MIX, TalkGenerator.LIGHTNING_HEAVY, TalkGenerator.SIXTY_HEAVY})
+    public String distribution;
+
+    private List<String> talkLines;
+    private List<Talk> talks;
+    private ConferenceManager conferenceManager;
+    private SessionPlan sessionPlan;
+    private int totalPossibleDays;
+
+    @Setup(Level.Trial)
+    public void createTalks() throws TalkException {
+        talkLines = new TalkGenerator(distribution).talkLines(talkCount);
+        conferenceManager = new ConferenceManager(null, false);
+        conferenceManager.setScheduleRenderer(ScheduleRenderer.NONE);
+        talks = conferenceManager.validateAndCreateTalkList(talkLines);
+        totalPossibleDays = ConferenceManagerHelper.getTotalTalksTime(talks) / 360;
+        try {
+            sessionPlan = new ExactSchedulingEngine().planSessions(talks);
+        } catch (TalkException e) {
+            // Render whatever the greedy scan finds when the talks can not be scheduled completely.
+            GreedyState greedyState = new GreedyState();
+            greedyState.findSessions(this);
+            List<List<Talk>> morningSessions = greedyState.morningSessions;
+            List<List<Talk>> eveningSessions = greedyState.foundEveningSessions;
+            int tracks = Math.min(morningSessions.size(), eveningSessions.size());
+            sessionPlan = new SessionPlan(morningSessions.subList(0, tracks), eveningSessions.subList(0, tracks));
+        }
+    }
+
+    /**
+     * Input of prepareScheduledTalkList, what is left after both greedy session searches. The searches
+     * run once per trial, the fill stage changes its lists so only copies of them are made per call.
+     */
+    @State(Scope.Thread)
+    public static class GreedyState {
+
+        private List<List<Talk>> morningSessions;
+        private List<List<Talk>> foundEveningSessions;
+        private List<Talk> leftoverTalks;
+        private List<List<Talk>> eveningSessions;
+        private List<Talk> remainingTalks;
+
+        @Setup(Level.Trial)
+        public void findSessions(SchedulerBenchmark benchmark) {
+            GreedySchedulingEngine greedySchedulingEngine = new GreedySchedulingEngine();
+            Set<Talk> sessionTalks = Collections.newSetFromMap(new IdentityHashMap<Talk, Boolean>());
+            morningSessions = greedySchedulingEngine.findPossibleSessions(benchmark.talks, benchmark.totalPossibleDays, true);
+            List<Talk> afternoonTalks = withoutSessionTalks(benchmark.talks, morningSessions, sessionTalks);
+            foundEveningSessions = greedySchedulingEngine.findPossibleSessions(afternoonTalks, benchmark.totalPossibleDays, false);
+            leftoverTalks = withoutSessionTalks(afternoonTalks, foundEveningSessions, sessionTalks);
+        }
+
+        @Setup(Level.Invocation)
+        public void copyTalks() {
+            remainingTalks = new ArrayList<Talk>(leftoverTalks);
+            eveningSessions = new ArrayList<List<Talk>>(foundEveningSessions.size());
+            for (List<Talk> session : foundEveningSessions) {
+                eveningSessions.add(new ArrayList<Talk>(session));
+            }
+        }
+
+        private static List<Talk> withoutSessionTalks(List<Talk> talks, List<List<Talk>> sessions, Set<Talk> sessionTalks) {
+            for (List<Talk> session : sessions) {
+                sessionTalks.addAll(session);
+            }
+            List<Talk> remaining = new ArrayList<Talk>(talks.size());
+            for (Talk talk : talks) {
+                if (!sessionTalks.contains(talk)) {
+                    remaining.add(talk);
+                }
+            }
+            return remaining;
+        }
+    }
+
+    @Benchmark
+    public List<Talk> validateAndCreateTalkList() throws TalkException {
+        return conferenceManager.validateAndCreateTalkList(talkLines);
+    }
+
+    @Benchmark
+    public List<List<Talk>> findPossibleSessions() {
+        return conferenceManager.findPossibleSessions(talks, totalPossibleDays, true);
+    }
+
+    @Benchmark
+    public List<Talk> prepareScheduledTalkList(GreedyState greedyState) {
+        return ConferenceManagerHelper.prepareScheduledTalkList(greedyState.remainingTalks, greedyState.eveningSessions);
+    }
+
+    /**
+     * The scheduled talks list is lazy, so every track is read to lay it out.
+     */
+    @Benchmark
+    public void getScheduledTalksList(Blackhole blackhole) {
+        for (List<Talk> track : conferenceManager.getScheduledTalksList(sessionPlan.getMorningSessions(), sessionPlan.getEveningSessions())) {
+            blackhole.consume(track);
+        }
+    }
+
+    @Benchmark
+    public Object scheduleConferenceTalks() {
+        try {
+            return conferenceManager.scheduleConferenceTalks(talkLines);
+        } catch (Exception e) {
+            // Infeasible talk sets are part of the workload, the time to reject them counts.
+            return e;
+        }
+    }
+}
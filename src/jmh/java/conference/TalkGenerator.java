@@ -0,0 +1,100 @@
+package conference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic talk lines for benchmarks, with a configurable duration distribution.
+ * <p/>
+ * A distribution is either a preset name or a spec of duration:weight pairs,
+ * for example "5:1,30:7,45:6,60:5". Lines are reproducible for a given seed.
+ */
+public final class TalkGenerator {
+
+    /**
+     * Mix of the README test input, 60min 5 times, 45min 6 times, 30min 7 times and one lightning talk.
+     */
+    public static final String README_MIX = "readme";
+    public static final String LIGHTNING_HEAVY = "lightning-heavy";
+    public static final String SIXTY_HEAVY = "sixty-heavy";
+
+    private static final long SEED = 20140925L;
+    private static final int LIGHTNING_TIME = 5;
+
+    private final int[] durations;
+    private final int[] cumulativeWeights;
+    private final Random random = new Random(SEED);
+
+    /**
+     * Constructor for TalkGenerator.
+     *
+     * @param distribution preset name or duration:weight spec
+     */
+    public TalkGenerator(String distribution) {
+        String spec = toSpec(distribution);
+        String[] entries = spec.split(",");
+        durations = new int[entries.length];
+        cumulativeWeights = new int[entries.length];
+        int totalWeight = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].trim().split(":");
+            durations[i] = Integer.parseInt(entry[0]);
+            totalWeight += Integer.parseInt(entry[1]);
+            cumulativeWeights[i] = totalWeight;
+        }
+    }
+
+    private static String toSpec(String distribution) {
+        if (README_MIX.equals(distribution)) {
+            return "5:1,30:7,45:6,60:5";
+        } else if (LIGHTNING_HEAVY.equals(distribution)) {
+            return "5:10,30:4,45:3,60:3";
+        } else if (SIXTY_HEAVY.equals(distribution)) {
+            return "5:1,30:2,45:2,60:12";
+        }
+        return distribution;
+    }
+
+    /**
+     * @param count
+     * @return count talk lines, "title duration"
+     */
+    public List<String> talkLines(int count) {
+        List<String> talkLines = new ArrayList<String>(count);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            line.setLength(0);
+            line.append("Talk ");
+            appendLetters(line, i);
+            int duration = nextDuration();
+            if (duration == LIGHTNING_TIME) {
+                line.append(" lightning");
+            } else {
+                line.append(' ').append(duration).append("min");
+            }
+            talkLines.add(line.toString());
+        }
+        return talkLines;
+    }
+
+    private int nextDuration() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return durations[i];
+            }
+        }
+        return durations[durations.length - 1];
+    }
+
+    /**
+     * Talk titles have no numbers, so the index is written in letters.
+     */
+    private static void appendLetters(StringBuilder line, int index) {
+        do {
+            line.append((char) ('a' + index % 26));
+            index /= 26;
+        } while (index > 0);
+    }
+}
@@ -0,0 +1,91 @@
+package conference;
+
+import model.Talk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the backward scanning TalkParser with the substring and Integer.parseInt path it replaced.
+ * Run with -prof gc to compare allocation per talk line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TalkParserBenchmark {
+
+    private static final String MIN_SUFFIX = "min";
+    private static final String LIGHTNING_SUFFIX = "lightning";
+    private static final String BLANK = " ";
+
+    private final String[] lines = {
+            "Writing Fast Tests Against Enterprise Rails 60min",
+            "Overdoing it in Python 45min",
+            "Rails for Python Developers lightning",
+            "Ruby on Rails: Why We Should Move On 60min",
+            "Clojure Ate Scala (on my project) 45min",
+            "Programming in the Boondocks of Seattle 30min",
+            "Lua for the Masses 2lightning",
+            "User Interface CSS in Rails Apps 30min"
+    };
+
+    @Benchmark
+    public void backwardScan(Blackhole blackhole) throws TalkException {
+        for (String line : lines) {
+            blackhole.consume(TalkParser.parseTalk(line));
+        }
+    }
+
+    @Benchmark
+    public void substringParse(Blackhole blackhole) throws TalkException {
+        for (String line : lines) {
+            blackhole.consume(substringParseTalk(line));
+        }
+    }
+
+    /**
+     * Talk parsing as validateAndCreateTalkList and convertTime did it before TalkParser.
+     */
+    private static Talk substringParseTalk(String talk) throws TalkException {
+        int lastSpaceIndex = talk.lastIndexOf(BLANK);
+        if (lastSpaceIndex == -1) {
+            throw new TalkException("Invalid talk, " + talk + ". Talk time must be specify.");
+        }
+        String name = talk.substring(0, lastSpaceIndex);
+        if (name == null || "".equals(name.trim())) {
+            throw new TalkException("Invalid talk name, " + talk);
+        }
+        String timeStr = talk.substring(lastSpaceIndex + 1);
+        if (!timeStr.endsWith(MIN_SUFFIX) && !timeStr.endsWith(LIGHTNING_SUFFIX)) {
+            throw new TalkException("Invalid talk time, " + talk + ". Time must be in min or in lightning");
+        }
+        int time = 0;
+        try {
+            if (timeStr.endsWith(MIN_SUFFIX)) {
+                time = Integer.parseInt(timeStr.substring(0, timeStr.indexOf(MIN_SUFFIX)));
+            } else if (timeStr.endsWith(LIGHTNING_SUFFIX)) {
+                String lightningTime = timeStr.substring(0, timeStr.indexOf(LIGHTNING_SUFFIX));
+                if ("".equals(lightningTime)) {
+                    time = 5;
+                } else {
+                    time = Integer.parseInt(lightningTime) * 5;
+                }
+            }
+        } catch (NumberFormatException nfe) {
+            throw new TalkException("Unable to parse time " + timeStr + " for talk " + talk);
+        }
+        return new Talk(talk, name, time);
+    }
+}
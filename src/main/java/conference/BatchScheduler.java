@@ -0,0 +1,273 @@
+package conference;
+
+import model.Talk;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedule every talk file of a directory as a read, schedule, write pipeline.
+ * <p/>
+ * One reader streams the directory and loads files, a configurable number of workers parse,
+ * schedule and render them, and one writer stores each schedule as name.schedule.txt in the
+ * output directory. Stages are connected by bounded queues, so a slow stage holds back the
+ * others instead of filling the heap. A failing file is counted and reported, the batch goes on,
+ * whatever the worker caught. A stage which fails itself cancels the others, so no stage is left
+ * blocked on a queue nobody takes from or puts into.
+ */
+public class BatchScheduler {
+
+    private static final String SCHEDULE_SUFFIX = ".schedule.txt";
+
+    private final Path inputDirectory;
+    private final Path outputDirectory;
+    private final int workerCount;
+    private final SchedulingEngine schedulingEngine;
+
+    /**
+     * Constructor for BatchScheduler.
+     *
+     * @param inputDirectory   directory with one talk file per event
+     * @param outputDirectory  directory for the schedules
+     * @param workerCount      number of parse and schedule workers
+     * @param schedulingEngine engine shared by the workers, must be safe to call from several threads
+     */
+    public BatchScheduler(Path inputDirectory, Path outputDirectory, int workerCount, SchedulingEngine schedulingEngine) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Worker count must be at least 1, was " + workerCount);
+        }
+        this.inputDirectory = inputDirectory;
+        this.outputDirectory = outputDirectory;
+        this.workerCount = workerCount;
+        this.schedulingEngine = schedulingEngine;
+    }
+
+    /**
+     * Run the pipeline over all regular files of the input directory.
+     *
+     * @return summary of the batch
+     * @throws IOException if the input directory can not be read
+     * @throws InterruptedException
+     */
+    public BatchSummary run() throws IOException, InterruptedException {
+        if (!Files.isDirectory(inputDirectory)) {
+            throw new IOException(inputDirectory + " (No such directory)");
+        }
+        Files.createDirectories(outputDirectory);
+
+        final BlockingQueue<Job> readQueue = new ArrayBlockingQueue<Job>(workerCount * 2);
+        final BlockingQueue<Job> writeQueue = new ArrayBlockingQueue<Job>(workerCount * 2);
+        final BatchSummary summary = new BatchSummary();
+        final AtomicInteger runningWorkers = new AtomicInteger(workerCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(workerCount + 2);
+        CompletionService<Void> stages = new ExecutorCompletionService<Void>(executorService);
+        long startTime = System.nanoTime();
+        try {
+            stages.submit(new Stage() {
+                @Override
+                void execute() throws Exception {
+                    read(readQueue);
+                }
+            });
+            for (int i = 0; i < workerCount; i++) {
+                stages.submit(new Stage() {
+                    @Override
+                    void execute() throws Exception {
+                        schedule(readQueue, writeQueue);
+                        // The last worker tells the writer to stop.
+                        if (runningWorkers.decrementAndGet() == 0) {
+                            writeQueue.put(Job.END);
+                        }
+                    }
+                });
+            }
+            stages.submit(new Stage() {
+                @Override
+                void execute() throws Exception {
+                    write(writeQueue, summary);
+                }
+            });
+
+            // Stages are awaited as they finish, the first one which failed interrupts the others in finally.
+            for (int stage = 0; stage < workerCount + 2; stage++) {
+                await(stages.take());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        summary.elapsedNanos = System.nanoTime() - startTime;
+        return summary;
+    }
+
+    /**
+     * Stream the directory and load each file, then tell every worker to stop.
+     */
+    private void read(BlockingQueue<Job> readQueue) throws IOException, InterruptedException {
+        DirectoryStream<Path> directoryStream = Files.newDirectoryStream(inputDirectory);
+        try {
+            for (Path file : directoryStream) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                Job job = new Job(file);
+                try {
+                    job.talkList = Files.readAllLines(file, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    job.error = e.getMessage();
+                }
+                readQueue.put(job);
+            }
+        } finally {
+            directoryStream.close();
+            for (int i = 0; i < workerCount; i++) {
+                readQueue.put(Job.END);
+            }
+        }
+    }
+
+    private void schedule(BlockingQueue<Job> readQueue, BlockingQueue<Job> writeQueue) throws InterruptedException {
+        ConferenceManager conferenceManager = new ConferenceManager(null, false, schedulingEngine);
+        Job job = readQueue.take();
+        while (job != Job.END) {
+            if (job.error == null) {
+                try {
+                    List<Talk> talks = conferenceManager.validateAndCreateTalkList(job.talkList);
+                    StringWriter writer = new StringWriter();
+                    new TextScheduleRenderer(writer).render(conferenceManager.getSchedule(talks));
+                    job.talkCount = talks.size();
+                    job.schedule = writer.toString();
+                } catch (TalkException e) {
+                    job.error = e.getMessage();
+                } catch (IOException e) {
+                    job.error = e.getMessage();
+                } catch (Throwable e) {
+                    // Even an Error only fails this file, the worker goes on taking jobs.
+                    job.error = String.valueOf(e);
+                }
+            }
+            job.talkList = null;
+            writeQueue.put(job);
+            job = readQueue.take();
+        }
+    }
+
+    private void write(BlockingQueue<Job> writeQueue, BatchSummary summary) throws InterruptedException {
+        Job job = writeQueue.take();
+        while (job != Job.END) {
+            if (job.error == null) {
+                Path output = outputDirectory.resolve(job.file.getFileName() + SCHEDULE_SUFFIX);
+                try {
+                    Files.write(output, job.schedule.getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    job.error = e.getMessage();
+                }
+            }
+            if (job.error == null) {
+                summary.scheduledFiles++;
+                summary.scheduledTalks += job.talkCount;
+            } else {
+                summary.errors.add(job.file.getFileName() + ": " + job.error);
+            }
+            job = writeQueue.take();
+        }
+    }
+
+    private static void await(Future<?> future) throws InterruptedException, IOException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * One file on its way through the pipeline.
+     */
+    private static final class Job {
+
+        private static final Job END = new Job(null);
+
+        private final Path file;
+        private List<String> talkList;
+        private String schedule;
+        private String error;
+        private int talkCount;
+
+        Job(Path file) {
+            this.file = file;
+        }
+    }
+
+    private abstract static class Stage implements Callable<Void> {
+
+        @Override
+        public Void call() throws Exception {
+            execute();
+            return null;
+        }
+
+        abstract void execute() throws Exception;
+    }
+
+    /**
+     * Throughput and errors of a batch run.
+     */
+    public static final class BatchSummary {
+
+        private int scheduledFiles;
+        private long scheduledTalks;
+        private long elapsedNanos;
+        private final List<String> errors = new ArrayList<String>();
+
+        public int getScheduledFiles() {
+            return scheduledFiles;
+        }
+
+        public long getScheduledTalks() {
+            return scheduledTalks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Print files and talks per second and every failed file.
+         *
+         * @param printStream
+         */
+        public void print(PrintStream printStream) {
+            double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            printStream.println(String.format("Scheduled %d files (%d talks) in %.3f s, %.1f files/s, %.1f talks/s, %d failed",
+                    scheduledFiles, scheduledTalks, seconds, scheduledFiles / seconds, scheduledTalks / seconds, errors.size()));
+            for (String error : errors) {
+                printStream.println("  " + error);
+            }
+        }
+    }
+}
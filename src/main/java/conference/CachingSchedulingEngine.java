@@ -0,0 +1,268 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SchedulingEngine which caches the packings of another engine.
+ * <p/>
+ * Talk lists with the same multiset of durations share one packing, so the cache key is the
+ * sorted duration histogram and a packing is stored as the durations of each session slot.
+ * On a hit the slots are filled with the talks of the given list, without any packing work.
+ * The cache is bounded by entry count and by weight, the number of stored slots, and evicts
+ * the least recently or the least frequently used packing.
+ */
+public class CachingSchedulingEngine implements SchedulingEngine {
+
+    /**
+     * Which packing is dropped when the cache is full.
+     */
+    public enum EvictionPolicy {
+        LRU, LFU
+    }
+
+    private final SchedulingEngine schedulingEngine;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final EvictionPolicy evictionPolicy;
+    private final LinkedHashMap<DurationHistogram, Packing> packings =
+            new LinkedHashMap<DurationHistogram, Packing>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor for CachingSchedulingEngine with LRU eviction and no weight bound.
+     *
+     * @param schedulingEngine engine used on cache misses
+     * @param maxEntries
+     */
+    public CachingSchedulingEngine(SchedulingEngine schedulingEngine, int maxEntries) {
+        this(schedulingEngine, maxEntries, Long.MAX_VALUE, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Constructor for CachingSchedulingEngine.
+     *
+     * @param schedulingEngine engine used on cache misses
+     * @param maxEntries
+     * @param maxWeight        maximum count of talk slots of all cached packings
+     * @param evictionPolicy
+     */
+    public CachingSchedulingEngine(SchedulingEngine schedulingEngine, int maxEntries, long maxWeight,
+                                   EvictionPolicy evictionPolicy) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.schedulingEngine = schedulingEngine;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    @Override
+    public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+        DurationHistogram histogram = DurationHistogram.of(talks);
+        Packing packing;
+        synchronized (this) {
+            packing = packings.get(histogram);
+            if (packing != null) {
+                packing.uses++;
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        if (packing != null) {
+            return packing.bind(talks);
+        }
+        SessionPlan sessionPlan = schedulingEngine.planSessions(talks);
+        put(histogram, new Packing(sessionPlan, talks.size()));
+        return sessionPlan;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return hits of all lookups, 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return packings.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    private synchronized void put(DurationHistogram histogram, Packing packing) {
+        if (packing.weight > maxWeight) {
+            return;
+        }
+        Packing previous = packings.put(histogram, packing);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += packing.weight;
+        while (packings.size() > maxEntries || weight > maxWeight) {
+            evict(histogram);
+        }
+    }
+
+    /**
+     * Remove one packing other than the one just stored, iteration order of the map is least recently used first.
+     */
+    private void evict(DurationHistogram stored) {
+        DurationHistogram victim = null;
+        long victimUses = Long.MAX_VALUE;
+        for (Map.Entry<DurationHistogram, Packing> entry : packings.entrySet()) {
+            if (entry.getKey().equals(stored)) {
+                continue;
+            }
+            if (evictionPolicy == EvictionPolicy.LRU) {
+                victim = entry.getKey();
+                break;
+            }
+            if (entry.getValue().uses < victimUses) {
+                victim = entry.getKey();
+                victimUses = entry.getValue().uses;
+            }
+        }
+        Packing removed = packings.remove(victim);
+        weight -= removed.weight;
+        evictions++;
+    }
+
+    /**
+     * Sorted durations with their counts, as duration, count pairs.
+     */
+    private static final class DurationHistogram {
+
+        private final int[] durationCounts;
+        private final int hash;
+
+        private DurationHistogram(int[] durationCounts) {
+            this.durationCounts = durationCounts;
+            this.hash = Arrays.hashCode(durationCounts);
+        }
+
+        static DurationHistogram of(List<Talk> talks) {
+            int[] durations = new int[talks.size()];
+            for (int i = 0; i < durations.length; i++) {
+                durations[i] = talks.get(i).getTimeDuration();
+            }
+            Arrays.sort(durations);
+            int[] durationCounts = new int[durations.length * 2];
+            int length = 0;
+            for (int i = 0; i < durations.length; i++) {
+                if (length > 0 && durationCounts[length - 2] == durations[i]) {
+                    durationCounts[length - 1]++;
+                } else {
+                    durationCounts[length++] = durations[i];
+                    durationCounts[length++] = 1;
+                }
+            }
+            return new DurationHistogram(Arrays.copyOf(durationCounts, length));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DurationHistogram && hash == ((DurationHistogram) o).hash
+                    && Arrays.equals(durationCounts, ((DurationHistogram) o).durationCounts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Packing decision of a SessionPlan, the talk durations of each session.
+     */
+    private static final class Packing {
+
+        private final int[][][] slots;
+        private final ConferenceProfile conferenceProfile;
+        private final int weight;
+        private long uses;
+
+        Packing(SessionPlan sessionPlan, int weight) {
+            this.slots = new int[sessionPlan.getSessionsPerDay()][][];
+            for (int position = 0; position < slots.length; position++) {
+                slots[position] = toSlots(sessionPlan.getSessions(position));
+            }
+            this.conferenceProfile = sessionPlan.getConferenceProfile();
+            this.weight = weight;
+        }
+
+        /**
+         * Fill the slots with the talks, each talk takes a slot of its duration.
+         */
+        SessionPlan bind(List<Talk> talks) {
+            Map<Integer, ArrayDeque<Talk>> talksByDuration = new HashMap<Integer, ArrayDeque<Talk>>();
+            for (Talk talk : talks) {
+                ArrayDeque<Talk> sameDuration = talksByDuration.get(talk.getTimeDuration());
+                if (sameDuration == null) {
+                    sameDuration = new ArrayDeque<Talk>();
+                    talksByDuration.put(talk.getTimeDuration(), sameDuration);
+                }
+                sameDuration.add(talk);
+            }
+            List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>(slots.length);
+            for (int[][] positionSlots : slots) {
+                sessions.add(bind(positionSlots, talksByDuration));
+            }
+            return new SessionPlan(sessions, conferenceProfile);
+        }
+
+        private static List<List<Talk>> bind(int[][] slots, Map<Integer, ArrayDeque<Talk>> talksByDuration) {
+            List<List<Talk>> sessions = new ArrayList<List<Talk>>(slots.length);
+            for (int[] sessionSlots : slots) {
+                List<Talk> session = new ArrayList<Talk>(sessionSlots.length);
+                for (int duration : sessionSlots) {
+                    session.add(talksByDuration.get(duration).poll());
+                }
+                sessions.add(session);
+            }
+            return sessions;
+        }
+
+        private static int[][] toSlots(List<List<Talk>> sessions) {
+            int[][] slots = new int[sessions.size()][];
+            for (int i = 0; i < slots.length; i++) {
+                List<Talk> session = sessions.get(i);
+                slots[i] = new int[session.size()];
+                Iterator<Talk> iterator = session.iterator();
+                for (int j = 0; j < slots[i].length; j++) {
+                    slots[i][j] = iterator.next().getTimeDuration();
+                }
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package conference;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation of a scheduling run, long loops check the interrupt flag of their thread
+ * every few thousand steps and give up with a CancellationException.
+ */
+final class Cancellation {
+
+    // Steps between two checks, a power of two minus one.
+    static final int CHECK_MASK = (1 << 12) - 1;
+
+    private Cancellation() {
+    }
+
+    /**
+     * @throws CancellationException if the current thread is interrupted, the flag is kept
+     */
+    static void check() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Scheduling was cancelled");
+        }
+    }
+}
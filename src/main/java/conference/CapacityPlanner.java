@@ -0,0 +1,209 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Schedule;
+import model.Talk;
+import model.Track;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plan a conference of several days with several rooms running at the same time.
+ * <p/>
+ * Every track of the plan is one day in one room, so the venue has days * rooms track slots and
+ * the talks are scheduled in one pass with at most that many tracks. The tracks are then given
+ * to the days longest first, each to the day with the least talk time which still has a free room,
+ * so every day gets about the same number of rooms and the same talk time. Room slots without a
+ * track and free minutes of the used sessions are reported as unused capacity.
+ */
+public class CapacityPlanner {
+
+    private final int days;
+    private final int rooms;
+    private final SlotTable slotTable;
+    private final SchedulingEngine schedulingEngine;
+
+    /**
+     * Constructor for CapacityPlanner, talks are scheduled with the constraint engine.
+     *
+     * @param conferenceProfile layout of each day, its track bounds are limited to the room slots
+     * @param days
+     * @param rooms
+     */
+    public CapacityPlanner(ConferenceProfile conferenceProfile, int days, int rooms) {
+        if (days < 1 || rooms < 1) {
+            throw new IllegalArgumentException("Invalid venue of " + days + " days and " + rooms + " rooms");
+        }
+        int roomSlots = (int) Math.min(Integer.MAX_VALUE, (long) days * rooms);
+        ConferenceProfile venueProfile = conferenceProfile.withTracks(Math.min(conferenceProfile.getMinTracks(), roomSlots),
+                Math.min(conferenceProfile.getMaxTracks(), roomSlots));
+        this.days = days;
+        this.rooms = rooms;
+        this.slotTable = SlotTable.compile(venueProfile);
+        this.schedulingEngine = new ConstraintSchedulingEngine(venueProfile);
+    }
+
+    /**
+     * Schedule the talks into the room slots of the venue.
+     *
+     * @param talks
+     * @return
+     * @throws TalkException if the talks do not fit into the venue
+     */
+    public CapacityPlan plan(List<Talk> talks) throws TalkException {
+        int totalTime = ConferenceManagerHelper.getTotalTalksTime(talks);
+        int neededTracks = slotTable.getMinTracks(totalTime);
+        if (neededTracks > slotTable.getConferenceProfile().getMaxTracks()) {
+            throw new TalkException("Unable to schedule all task for conferencing, " + totalTime + " min of talks need at least "
+                    + neededTracks + " room days, the venue has " + days + " days with " + rooms + " rooms");
+        }
+        SessionPlan sessionPlan = schedulingEngine.planSessions(talks);
+        List<Track> tracks = new ScheduleView(sessionPlan);
+
+        // Longest tracks first, each to the day with the least talk time and a free room.
+        int trackCount = tracks.size();
+        long[] tracksByTime = new long[trackCount];
+        int[] trackTimes = new int[trackCount];
+        for (int track = 0; track < trackCount; track++) {
+            int trackTime = 0;
+            for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+                trackTime += ConferenceManagerHelper.getTotalTalksTime(sessionPlan.getSessions(position).get(track));
+            }
+            trackTimes[track] = trackTime;
+            tracksByTime[track] = ((long) -trackTime << 32) | track;
+        }
+        Arrays.sort(tracksByTime);
+        int[] dayTimes = new int[days];
+        int[] dayRooms = new int[days];
+        int[][] roomTracks = new int[days][rooms];
+        for (int[] dayTracks : roomTracks) {
+            Arrays.fill(dayTracks, -1);
+        }
+        for (long key : tracksByTime) {
+            int track = (int) key;
+            int bestDay = -1;
+            for (int day = 0; day < days; day++) {
+                if (dayRooms[day] < rooms && (bestDay == -1 || dayRooms[day] < dayRooms[bestDay]
+                        || (dayRooms[day] == dayRooms[bestDay] && dayTimes[day] < dayTimes[bestDay]))) {
+                    bestDay = day;
+                }
+            }
+            roomTracks[bestDay][dayRooms[bestDay]++] = track;
+            dayTimes[bestDay] += trackTimes[track];
+        }
+
+        int unusedMinutes = 0;
+        for (int track = 0; track < trackCount; track++) {
+            for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+                unusedMinutes += slotTable.getMaxTime(position)
+                        - ConferenceManagerHelper.getTotalTalksTime(sessionPlan.getSessions(position).get(track));
+            }
+        }
+        return new CapacityPlan(tracks, roomTracks, dayTimes, unusedMinutes);
+    }
+
+    /**
+     * Tracks of each day by room, with the unused capacity of the venue.
+     */
+    public static final class CapacityPlan {
+
+        private final List<Track> tracks;
+        private final int[][] roomTracks;
+        private final int[] dayTimes;
+        private final int unusedMinutes;
+
+        CapacityPlan(List<Track> tracks, int[][] roomTracks, int[] dayTimes, int unusedMinutes) {
+            this.tracks = tracks;
+            this.roomTracks = roomTracks;
+            this.dayTimes = dayTimes;
+            this.unusedMinutes = unusedMinutes;
+        }
+
+        public int getDays() {
+            return roomTracks.length;
+        }
+
+        public int getRooms() {
+            return roomTracks[0].length;
+        }
+
+        /**
+         * @param day  day index, starting with 0
+         * @param room room index, starting with 0
+         * @return track of the room on that day, numbered by room, or null if the room is not used.
+         */
+        public Track getTrack(int day, int room) {
+            int track = roomTracks[day][room];
+            if (track == -1) {
+                return null;
+            }
+            return new Track(room + 1, tracks.get(track).getSlots());
+        }
+
+        /**
+         * @param day day index, starting with 0
+         * @return schedule of the used rooms of the day, track numbers are room numbers.
+         */
+        public Schedule getSchedule(int day) {
+            List<Track> dayTracks = new ArrayList<Track>();
+            for (int room = 0; room < getRooms(); room++) {
+                Track track = getTrack(day, room);
+                if (track != null) {
+                    dayTracks.add(track);
+                }
+            }
+            return new Schedule(dayTracks);
+        }
+
+        /**
+         * @param day day index, starting with 0
+         * @return talk time of all rooms of the day.
+         */
+        public int getTalkTime(int day) {
+            return dayTimes[day];
+        }
+
+        /**
+         * @return room slots of all days without a track.
+         */
+        public int getUnusedRoomDays() {
+            int unused = 0;
+            for (int[] dayTracks : roomTracks) {
+                for (int track : dayTracks) {
+                    if (track == -1) {
+                        unused++;
+                    }
+                }
+            }
+            return unused;
+        }
+
+        /**
+         * @return minutes the sessions of the used rooms could still take.
+         */
+        public int getUnusedMinutes() {
+            return unusedMinutes;
+        }
+
+        /**
+         * Print used rooms and talk time per day and the unused capacity.
+         *
+         * @param printStream
+         */
+        public void print(PrintStream printStream) {
+            for (int day = 0; day < getDays(); day++) {
+                int usedRooms = 0;
+                for (int track : roomTracks[day]) {
+                    if (track != -1) {
+                        usedRooms++;
+                    }
+                }
+                printStream.println(String.format("Day %d: %d of %d rooms, %d min of talks", day + 1, usedRooms, getRooms(), dayTimes[day]));
+            }
+            printStream.println(String.format("Unused capacity: %d room days, %d session minutes", getUnusedRoomDays(), unusedMinutes));
+        }
+    }
+}
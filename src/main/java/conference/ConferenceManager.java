@@ -0,0 +1,283 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Schedule;
+import model.ScheduleSlot;
+import model.Talk;
+import model.TalkStore;
+
+import java.io.*;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ConferenceManager {
+
+    private static final Logger LOGGER = Logger.getLogger(ConferenceManager.class.getName());
+
+    private String fileName;
+    private boolean sorted;
+    private SchedulingEngine schedulingEngine;
+    private boolean memoryMapped;
+    private ScheduleRenderer scheduleRenderer = TextScheduleRenderer.console();
+
+    /**
+     * @param fileName
+     * @param sorted
+     * Constructor for ConferenceManager, talks are packed with the exact engine.
+     */
+    public ConferenceManager(String fileName, boolean sorted) {
+        this(fileName, sorted, new ExactSchedulingEngine());
+    }
+
+    /**
+     * @param fileName
+     * @param sorted
+     * @param schedulingEngine
+     * Constructor for ConferenceManager.
+     */
+    public ConferenceManager(String fileName, boolean sorted, SchedulingEngine schedulingEngine) {
+        this.fileName = fileName;
+        this.sorted = sorted;
+        this.schedulingEngine = schedulingEngine;
+    }
+
+    /**
+     * Output stage for scheduled conferences, text on the console by default.
+     * Use ScheduleRenderer.NONE to schedule without any output.
+     *
+     * @param scheduleRenderer
+     */
+    public void setScheduleRenderer(ScheduleRenderer scheduleRenderer) {
+        this.scheduleRenderer = scheduleRenderer;
+    }
+
+    /**
+     * Read the talk file through a memory-mapped channel and parse talks in one pass,
+     * instead of loading all lines first. Meant for very large talk files. Unless sorted, an engine
+     * which implements TalkStoreSchedulingEngine plans straight from the TalkStore of the reader.
+     *
+     * @param memoryMapped
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    /**
+     * to create and schedule conference.
+     * *
+     *
+     * @throws TalkException
+     */
+    public List<List<Talk>> scheduleConference() throws Exception {
+        if (memoryMapped) {
+            if (!sorted && schedulingEngine instanceof TalkStoreSchedulingEngine) {
+                return getScheduleConferenceTrack(new MappedTalkFileReader().readTalkStore(fileName));
+            }
+            return getScheduleConferenceTrack(orderTalks(new MappedTalkFileReader().readTalks(fileName)));
+        }
+        List<String> talkList = getTalkListFromFile(fileName);
+        return scheduleConferenceTalks(talkList);
+    }
+
+    /**
+     * public method to create and schedule conference.
+     *
+     * @param talkList
+     * @throws TalkException
+     */
+    public List<List<Talk>> scheduleConferenceTalks(List<String> talkList) throws Exception {
+        List<Talk> talksList = validateAndCreateTalkList(talkList);
+        return getScheduleConferenceTrack(orderTalks(talksList));
+    }
+
+    /**
+     * In sorted mode longest talks come first, the greedy scan then packs first-fit or best-fit decreasing.
+     *
+     * @param talksList
+     * @return
+     */
+    private List<Talk> orderTalks(List<Talk> talksList) {
+        return sorted ? ConferenceManagerHelper.sortByDurationDescending(talksList) : talksList;
+    }
+
+    /**
+     * Load talk list from input file.
+     *
+     * @param fileName
+     * @return
+     * @throws TalkException
+     */
+    protected List<String> getTalkListFromFile(String fileName) throws Exception {
+        long start = SchedulerMetrics.start();
+        List<String> talkList = new ArrayList<String>();
+        DataInputStream dataInputStream = null;
+        try {
+            FileInputStream fileInputStream = new FileInputStream(fileName);
+            dataInputStream = new DataInputStream(fileInputStream);
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(dataInputStream));
+            String strLine = bufferedReader.readLine();
+            while (strLine != null) {
+                talkList.add(strLine);
+                strLine = bufferedReader.readLine();
+            }
+        } finally {
+            if (dataInputStream != null) {
+                try {
+                    dataInputStream.close();
+                } catch (IOException ioe) {
+                    LOGGER.log(Level.INFO, ioe.getMessage());
+                }
+            }
+        }
+
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.READ_FILE, start, talkList.size());
+        return talkList;
+    }
+
+    /**
+     * Validate talk list, check the time for talk and initialize Talk Object.
+     *
+     * @param talkList
+     * @throws Exception
+     */
+    protected List<Talk> validateAndCreateTalkList(List<String> talkList) throws TalkException {
+        if (talkList == null) {
+            throw new TalkException("There is not any Talk in List");
+        }
+
+        long start = SchedulerMetrics.start();
+        List<Talk> validTalkList = new ArrayList<Talk>();
+        for (String talk : talkList) {
+            validTalkList.add(TalkParser.parseTalk(talk));
+        }
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.VALIDATE, start, validTalkList.size());
+        return validTalkList;
+    }
+
+    /**
+     * change method private to protected for unit test
+     * Schedule Conference tracks for morning and evening session and render the schedule.
+     *
+     * @param talksList
+     * @throws Exception
+     */
+    protected List<List<Talk>> getScheduleConferenceTrack(List<Talk> talksList) throws Exception {
+        Schedule schedule = getSchedule(talksList);
+        long start = SchedulerMetrics.start();
+        scheduleRenderer.render(schedule);
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.RENDER, start, talksList.size());
+        return toScheduledTalksList(schedule);
+    }
+
+    /**
+     * Schedule Conference tracks from a TalkStore and render the schedule,
+     * the engine must implement TalkStoreSchedulingEngine.
+     *
+     * @param talkStore
+     * @throws Exception
+     */
+    protected List<List<Talk>> getScheduleConferenceTrack(TalkStore talkStore) throws Exception {
+        long start = SchedulerMetrics.start();
+        SessionPlan sessionPlan = ((TalkStoreSchedulingEngine) schedulingEngine).planSessions(talkStore);
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.PLAN_SESSIONS, start, talkStore.size());
+        Schedule schedule = createSchedule(sessionPlan);
+
+        start = SchedulerMetrics.start();
+        scheduleRenderer.render(schedule);
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.RENDER, start, talkStore.size());
+        return toScheduledTalksList(schedule);
+    }
+
+    /**
+     * Schedule Conference tracks for morning and evening session, without any output.
+     *
+     * @param talksList
+     * @return
+     * @throws TalkException
+     */
+    protected Schedule getSchedule(List<Talk> talksList) throws TalkException {
+        long start = SchedulerMetrics.start();
+        SessionPlan sessionPlan = schedulingEngine.planSessions(talksList);
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.PLAN_SESSIONS, start, talksList.size());
+
+        // Schedule the day event from the sessions of the plan.
+        return createSchedule(sessionPlan);
+    }
+
+    /**
+     * method changed to private to protected for unit tests
+     * Find possible combination for the session with the greedy scan.
+     *
+     * @param talksListForOperation
+     * @param totalPossibleDays
+     * @param morningSession
+     * @return
+     */
+    protected List<List<Talk>> findPossibleSessions(List<Talk> talksListForOperation, int totalPossibleDays, boolean morningSession) {
+        return new GreedySchedulingEngine().findPossibleSessions(talksListForOperation, totalPossibleDays, morningSession);
+    }
+
+    /**
+     * method changed to private to protected for unit tests
+     * Get the scheduled talks of each track, with lunch and networking event.
+     * Each track is laid out when it is read.
+     *
+     * @param morningSessions
+     * @param eveningSessions
+     */
+    protected List<List<Talk>> getScheduledTalksList(List<List<Talk>> morningSessions, List<List<Talk>> eveningSessions) {
+        return toScheduledTalksList(createSchedule(morningSessions, eveningSessions));
+    }
+
+    /**
+     * Create the schedule of all tracks from morning and evening session of the default profile.
+     *
+     * @param morningSessions
+     * @param eveningSessions
+     * @return
+     */
+    protected Schedule createSchedule(List<List<Talk>> morningSessions, List<List<Talk>> eveningSessions) {
+        return createSchedule(new SessionPlan(morningSessions, eveningSessions));
+    }
+
+    /**
+     * Create the schedule of all tracks with the layout of the plan's conference profile,
+     * the tracks are laid out by a ScheduleView when they are read.
+     *
+     * @param sessionPlan
+     * @return
+     */
+    protected Schedule createSchedule(SessionPlan sessionPlan) {
+        return Schedule.view(new ScheduleView(sessionPlan));
+    }
+
+    /**
+     * Talks of each track in schedule order, each track is only laid out when it is asked for.
+     * The start times are kept in the schedule slots.
+     *
+     * @param schedule
+     * @return
+     */
+    private List<List<Talk>> toScheduledTalksList(final Schedule schedule) {
+        return new AbstractList<List<Talk>>() {
+            @Override
+            public List<Talk> get(int index) {
+                List<ScheduleSlot> slots = schedule.getTracks().get(index).getSlots();
+                List<Talk> talkList = new ArrayList<Talk>(slots.size());
+                for (ScheduleSlot slot : slots) {
+                    talkList.add(slot.getTalk());
+                }
+                return talkList;
+            }
+
+            @Override
+            public int size() {
+                return schedule.getTracks().size();
+            }
+        };
+    }
+
+}
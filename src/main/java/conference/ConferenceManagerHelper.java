@@ -0,0 +1,251 @@
+package conference;
+
+import model.Talk;
+import model.TalkStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public final class ConferenceManagerHelper {
+
+    private static final int MAX_COUNTING_RANGE = 1 << 16;
+    private static final Comparator<Talk> DURATION_DESCENDING = new Comparator<Talk>() {
+        @Override
+        public int compare(Talk first, Talk second) {
+            return Integer.compare(second.getTimeDuration(), first.getTimeDuration());
+        }
+    };
+
+    /**
+     * change method private to protected for unit test
+     *
+     * check if the operation list is not empty,
+     * then try to fill all the remaining talks in evening session of the default profile.
+     *
+     * @param talks
+     * @param eveningSessionList
+     * @return
+     */
+    protected static List<Talk> prepareScheduledTalkList(List<Talk> talks, List<List<Talk>> eveningSessionList) {
+        return prepareScheduledTalkList(talks, eveningSessionList, defaultFillTime());
+    }
+
+    /**
+     * check if the operation list is not empty,
+     * then try to fill all the remaining talks in the sessions.
+     *
+     * @param talks
+     * @param eveningSessionList
+     * @param maxSessionTime
+     * @return
+     */
+    protected static List<Talk> prepareScheduledTalkList(List<Talk> talks, List<List<Talk>> eveningSessionList, int maxSessionTime) {
+        long start = SchedulerMetrics.start();
+        int talkCount = talks.size();
+        if (!talks.isEmpty()) {
+            List<Talk> scheduledTalkList = new ArrayList<Talk>();
+            for (List<Talk> talkList : eveningSessionList) {
+                int totalTime = getTotalTalksTime(talkList);
+                for (Talk talk : talks) {
+                    int talkTime = talk.getTimeDuration();
+
+                    if (talkTime + totalTime <= maxSessionTime) {
+                        talkList.add(talk);
+                        scheduledTalkList.add(talk);
+                        totalTime += talkTime;
+                    }
+                }
+
+                talks.removeAll(scheduledTalkList);
+                if (talks.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.PREPARE, start, talkCount);
+        return talks;
+    }
+
+    /**
+     * method changed to private to protected for unit tests
+     * To get total time of talks of the given list.
+     *
+     * @param talksList
+     * @return
+     */
+    protected static int getTotalTalksTime(List<Talk> talksList) {
+        if (talksList == null || talksList.isEmpty()) {
+            return 0;
+        }
+        int totalTime = 0;
+        for (Talk talk : talksList) {
+            totalTime += talk.getTimeDuration();
+        }
+        return totalTime;
+    }
+
+    /**
+     * Fill the talks which are not scheduled in the store into the evening sessions of the default profile.
+     *
+     * @param talkStore
+     * @param eveningSessionList talk indices of each evening session
+     * @return indices of the talks which are still not scheduled
+     */
+    protected static int[] prepareScheduledTalkList(TalkStore talkStore, List<int[]> eveningSessionList) {
+        return prepareScheduledTalkList(talkStore, eveningSessionList, defaultFillTime());
+    }
+
+    /**
+     * Fill the talks which are not scheduled in the store into the sessions,
+     * sessions which get more talks are replaced in the list.
+     *
+     * @param talkStore
+     * @param eveningSessionList talk indices of each session
+     * @param maxSessionTime
+     * @return indices of the talks which are still not scheduled
+     */
+    protected static int[] prepareScheduledTalkList(TalkStore talkStore, List<int[]> eveningSessionList, int maxSessionTime) {
+        long start = SchedulerMetrics.start();
+        int talkCount = talkStore.size();
+        for (int index = 0; index < eveningSessionList.size() && talkStore.unscheduledCount() > 0; index++) {
+            int[] session = eveningSessionList.get(index);
+            int sessionSize = session.length;
+            int totalTime = getTotalTalksTime(talkStore, session);
+            for (int talk = talkStore.nextUnscheduled(0); talk < talkCount; talk = talkStore.nextUnscheduled(talk + 1)) {
+                int talkTime = talkStore.getDuration(talk);
+                if (talkTime + totalTime <= maxSessionTime) {
+                    if (sessionSize == session.length) {
+                        session = Arrays.copyOf(session, sessionSize * 2 + 1);
+                    }
+                    session[sessionSize++] = talk;
+                    talkStore.setScheduled(talk, true);
+                    totalTime += talkTime;
+                }
+            }
+            eveningSessionList.set(index, Arrays.copyOf(session, sessionSize));
+        }
+
+        int[] revisedTalks = new int[talkStore.unscheduledCount()];
+        int revisedCount = 0;
+        for (int talk = talkStore.nextUnscheduled(0); talk < talkCount; talk = talkStore.nextUnscheduled(talk + 1)) {
+            revisedTalks[revisedCount++] = talk;
+        }
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.PREPARE, start, talkCount);
+        return revisedTalks;
+    }
+
+    /**
+     * Fill the talks which are not scheduled in the store into the sessions, each talk into
+     * the session it leaves the least time in, sessions which get more talks are replaced in the list.
+     * With talks in decreasing duration order this is best-fit decreasing.
+     *
+     * @param talkStore
+     * @param eveningSessionList talk indices of each session
+     * @param maxSessionTime
+     * @return indices of the talks which are still not scheduled
+     */
+    protected static int[] prepareBestFitTalkList(TalkStore talkStore, List<int[]> eveningSessionList, int maxSessionTime) {
+        long start = SchedulerMetrics.start();
+        int talkCount = talkStore.size();
+        int sessionCount = eveningSessionList.size();
+        int[][] sessions = eveningSessionList.toArray(new int[sessionCount][]);
+        int[] sessionSizes = new int[sessionCount];
+        int[] sessionTimes = new int[sessionCount];
+        for (int index = 0; index < sessionCount; index++) {
+            sessionSizes[index] = sessions[index].length;
+            sessionTimes[index] = getTotalTalksTime(talkStore, sessions[index]);
+        }
+        for (int talk = talkStore.nextUnscheduled(0); talk < talkCount; talk = talkStore.nextUnscheduled(talk + 1)) {
+            int talkTime = talkStore.getDuration(talk);
+            int bestSession = -1;
+            for (int index = 0; index < sessionCount; index++) {
+                if (sessionTimes[index] + talkTime <= maxSessionTime
+                        && (bestSession == -1 || sessionTimes[index] > sessionTimes[bestSession])) {
+                    bestSession = index;
+                }
+            }
+            if (bestSession == -1) {
+                continue;
+            }
+            if (sessionSizes[bestSession] == sessions[bestSession].length) {
+                sessions[bestSession] = Arrays.copyOf(sessions[bestSession], sessionSizes[bestSession] * 2 + 1);
+            }
+            sessions[bestSession][sessionSizes[bestSession]++] = talk;
+            sessionTimes[bestSession] += talkTime;
+            talkStore.setScheduled(talk, true);
+        }
+        for (int index = 0; index < sessionCount; index++) {
+            eveningSessionList.set(index, Arrays.copyOf(sessions[index], sessionSizes[index]));
+        }
+
+        int[] revisedTalks = new int[talkStore.unscheduledCount()];
+        int revisedCount = 0;
+        for (int talk = talkStore.nextUnscheduled(0); talk < talkCount; talk = talkStore.nextUnscheduled(talk + 1)) {
+            revisedTalks[revisedCount++] = talk;
+        }
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.PREPARE, start, talkCount);
+        return revisedTalks;
+    }
+
+    /**
+     * Sort talks by decreasing duration, talks of the same duration keep their order.
+     * Durations are a small range of minutes, so this is a counting sort in linear time,
+     * only a range much wider than the talk count falls back to a comparison sort.
+     *
+     * @param talks
+     * @return sorted copy of the talks
+     */
+    protected static List<Talk> sortByDurationDescending(List<Talk> talks) {
+        List<Talk> sortedTalks = new ArrayList<Talk>(talks.size());
+        if (talks.isEmpty()) {
+            return sortedTalks;
+        }
+        int minDuration = Integer.MAX_VALUE;
+        int maxDuration = Integer.MIN_VALUE;
+        for (Talk talk : talks) {
+            minDuration = Math.min(minDuration, talk.getTimeDuration());
+            maxDuration = Math.max(maxDuration, talk.getTimeDuration());
+        }
+        long range = (long) maxDuration - minDuration + 1;
+        if (range > MAX_COUNTING_RANGE && range > talks.size() * 4L) {
+            sortedTalks.addAll(talks);
+            Collections.sort(sortedTalks, DURATION_DESCENDING);
+            return sortedTalks;
+        }
+        int[] starts = new int[(int) range + 1];
+        for (Talk talk : talks) {
+            starts[maxDuration - talk.getTimeDuration() + 1]++;
+        }
+        for (int bucket = 1; bucket < starts.length; bucket++) {
+            starts[bucket] += starts[bucket - 1];
+        }
+        Talk[] sorted = new Talk[talks.size()];
+        for (Talk talk : talks) {
+            sorted[starts[maxDuration - talk.getTimeDuration()]++] = talk;
+        }
+        sortedTalks.addAll(Arrays.asList(sorted));
+        return sortedTalks;
+    }
+
+    private static int defaultFillTime() {
+        return SlotTable.DEFAULT.getMaxTime(SlotTable.DEFAULT.getFillPosition());
+    }
+
+    /**
+     * To get total time of the given talks of the store.
+     *
+     * @param talkStore
+     * @param talks talk indices
+     * @return
+     */
+    protected static int getTotalTalksTime(TalkStore talkStore, int[] talks) {
+        int totalTime = 0;
+        for (int talk : talks) {
+            totalTime += talkStore.getDuration(talk);
+        }
+        return totalTime;
+    }
+}
@@ -0,0 +1,226 @@
+package conference;
+
+import model.ConferenceProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+public class ConferenceTrackManagement {
+
+    private static final Logger LOGGER = Logger.getLogger(ConferenceTrackManagement.class.getName());
+    //This source path variable rewrite for your computer absolute file path project root directory
+    private static final String SRC_PATH = "/Users/turgaycan/Documents/MyProjects/";
+    private static final String FILE_DIR = SRC_PATH + "ConferenceTrackManagement/src/main/resources/";
+
+    private static final String SERVE_OPTION = "--serve";
+    private static final String BATCH_OPTION = "--batch";
+    private static final String PROFILE_OPTION = "--profile";
+    private static final String PLAN_OPTION = "--plan";
+    private static final String PORTFOLIO_OPTION = "--portfolio";
+    private static final String PARALLEL_OPTION = "--parallel";
+    private static final String SCHEDULE_DIR = "schedules";
+    private static final int DEFAULT_PORT = 8080;
+    private static final int CACHED_PACKINGS = 1024;
+    private static final long IMPROVE_MILLIS = 200;
+    private static final long PORTFOLIO_MILLIS = 2000;
+    private static final int PORTFOLIO_SHUFFLES = 8;
+
+    /**
+     * Main method to execute program.
+     * With --serve [port] a schedule server is started on localhost instead.
+     * With --batch inputDir [outputDir] [workers] all files of inputDir are scheduled into outputDir,
+     * by default inputDir/schedules with one worker per processor.
+     * With --plan days rooms file the talks of the file are planned into the rooms of a multi-day venue.
+     * With --portfolio file [threads] [seed] the talks of the file are scheduled by a portfolio of strategies
+     * on threads, by default one per processor, shuffled orders are seeded from seed, by default 0.
+     * A leading --profile file reads the conference day layout from a properties file, see ConferenceProfile.
+     * Then --parallel [threads] packs partitions of large talk pools on threads, by default one per processor,
+     * for the default run, --serve and --batch.
+     *
+     * @param args
+     */
+    public static void main(String[] args) throws Exception{
+        ConferenceProfile conferenceProfile = ConferenceProfile.DEFAULT;
+        if (args.length > 1 && PROFILE_OPTION.equals(args[0])) {
+            conferenceProfile = readProfile(Paths.get(args[1]));
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        ForkJoinPool forkJoinPool = null;
+        if (args.length > 0 && PARALLEL_OPTION.equals(args[0])) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            int optionLength = 1;
+            if (args.length > 1 && args[1].matches("\\d+")) {
+                threads = Integer.parseInt(args[1]);
+                optionLength = 2;
+            }
+            forkJoinPool = new ForkJoinPool(threads);
+            args = Arrays.copyOfRange(args, optionLength, args.length);
+        }
+        SchedulingEngine exactEngine = exactEngine(conferenceProfile, forkJoinPool);
+        if (args.length > 0 && SERVE_OPTION.equals(args[0])) {
+            // The pool stays with the server.
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            new ScheduleServer(port, cachingEngine(conferenceProfile, exactEngine)).start();
+            return;
+        }
+        try {
+            if (args.length > 1 && BATCH_OPTION.equals(args[0])) {
+                Path inputDirectory = Paths.get(args[1]);
+                Path outputDirectory = args.length > 2 ? Paths.get(args[2]) : inputDirectory.resolve(SCHEDULE_DIR);
+                int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+                new BatchScheduler(inputDirectory, outputDirectory, workers, cachingEngine(conferenceProfile, exactEngine)).run().print(System.out);
+                return;
+            }
+            if (args.length > 3 && PLAN_OPTION.equals(args[0])) {
+                planCapacity(args[3], new CapacityPlanner(conferenceProfile, Integer.parseInt(args[1]), Integer.parseInt(args[2])));
+                return;
+            }
+            if (args.length > 1 && PORTFOLIO_OPTION.equals(args[0])) {
+                int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+                long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+                schedulePortfolio(args[1], conferenceProfile, threads, seed);
+                return;
+            }
+            File[] files = new File(FILE_DIR).listFiles();
+            if (files == null) {
+                LOGGER.log(Level.SEVERE, FILE_DIR + " is not a directory");
+                return;
+            }
+            for (File file : files) {
+                executeTrackManagement(file.getAbsolutePath(), conferenceProfile, exactEngine);
+            }
+        } finally {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Exact engine of the profile, which packs partitions of the talks on the pool if there is one.
+     *
+     * @param conferenceProfile
+     * @param forkJoinPool      pool of --parallel, or null
+     * @return
+     */
+    protected static SchedulingEngine exactEngine(ConferenceProfile conferenceProfile, ForkJoinPool forkJoinPool) {
+        SchedulingEngine exactEngine = new ExactSchedulingEngine(conferenceProfile);
+        return forkJoinPool == null ? exactEngine : new ParallelSchedulingEngine(forkJoinPool, exactEngine);
+    }
+
+    /**
+     * Engine for many talk files, packings of talks without constraints are cached.
+     * Constrained talks bypass the cache, which only knows durations.
+     */
+    private static SchedulingEngine cachingEngine(ConferenceProfile conferenceProfile, SchedulingEngine exactEngine) {
+        return new ConstraintSchedulingEngine(conferenceProfile,
+                new CachingSchedulingEngine(exactEngine, CACHED_PACKINGS));
+    }
+
+    /**
+     * Read a conference profile from a properties file.
+     *
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    protected static ConferenceProfile readProfile(Path path) throws IOException {
+        Properties properties = new Properties();
+        Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        try {
+            properties.load(reader);
+        } finally {
+            reader.close();
+        }
+        return ConferenceProfile.fromProperties(properties);
+    }
+
+    /**
+     * Print the schedule of every day of the venue and its unused capacity.
+     *
+     * @param fileName
+     * @param capacityPlanner
+     * @throws Exception
+     */
+    protected static void planCapacity(String fileName, CapacityPlanner capacityPlanner) throws Exception {
+        CapacityPlanner.CapacityPlan capacityPlan = capacityPlanner.plan(new MappedTalkFileReader().readTalks(fileName));
+        TextScheduleRenderer scheduleRenderer = TextScheduleRenderer.console();
+        for (int day = 0; day < capacityPlan.getDays(); day++) {
+            System.out.println("Day " + (day + 1) + ", tracks by room:");
+            scheduleRenderer.render(capacityPlan.getSchedule(day));
+        }
+        capacityPlan.print(System.out);
+    }
+
+    /**
+     * Schedule the talk file with the best plan a portfolio of strategies finds within PORTFOLIO_MILLIS,
+     * the winning strategy and its seed are logged.
+     *
+     * @param fileName
+     * @param conferenceProfile
+     * @param threads
+     * @param seed
+     * @throws Exception
+     */
+    protected static void schedulePortfolio(String fileName, ConferenceProfile conferenceProfile, int threads, long seed) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            SchedulingEngine schedulingEngine = new ConstraintSchedulingEngine(conferenceProfile,
+                    new PortfolioSchedulingEngine(conferenceProfile, executorService,
+                            PortfolioSchedulingEngine.defaultStrategies(seed, PORTFOLIO_SHUFFLES),
+                            PortfolioSchedulingEngine.Mode.BEST, PORTFOLIO_MILLIS, TimeUnit.MILLISECONDS));
+            new ConferenceManager(fileName, false, schedulingEngine).scheduleConference();
+        } catch (TalkException ite) {
+            LOGGER.log(Level.SEVERE, ite.getMessage());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    protected static void executeTrackManagement(String fileName) throws Exception {
+        executeTrackManagement(fileName, ConferenceProfile.DEFAULT);
+    }
+
+    protected static void executeTrackManagement(String fileName, ConferenceProfile conferenceProfile) throws Exception {
+        executeTrackManagement(fileName, conferenceProfile, new ExactSchedulingEngine(conferenceProfile));
+    }
+
+    protected static void executeTrackManagement(String fileName, ConferenceProfile conferenceProfile,
+                                                 SchedulingEngine exactEngine) throws Exception {
+        // The improver moves talks freely, so constrained talks are only placed by the constraint engine.
+        SchedulingEngine schedulingEngine = new ConstraintSchedulingEngine(conferenceProfile,
+                new ImprovingSchedulingEngine(exactEngine, new ScheduleImprover(), IMPROVE_MILLIS, TimeUnit.MILLISECONDS));
+        ConferenceManager conferenceManager = new ConferenceManager(fileName, false, schedulingEngine);
+        try {
+
+            System.out.println("\n\n\n***********************\n " +
+                    "SORTED IN FILE \n***********************\n\n");
+
+            //Read from file sort
+            conferenceManager.scheduleConference();
+
+            System.out.println("\n\n\n***********************\n" +
+                    " to show SORTED TALK DURATION talks list - >" +
+                    " true vale is given to ConferenceManager constructor in ConferenceTrackManagement Main Class " +
+                    "\n ***********************\n\n");
+
+        } catch (TalkException ite) {
+            LOGGER.log(Level.SEVERE, ite.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,525 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+import model.TalkConstraint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scheduling engine which honours the TalkConstraint of talks: allowed sessions of the day,
+ * pinned start times and speakers who can not be in two tracks at once.
+ * <p/>
+ * Lists without constrained talks go to the unconstrained engine unchanged. Otherwise the
+ * constrained talks are placed first, by a search over a domain bit set per talk with one bit
+ * per session. The talk with the fewest sessions left is placed next, into the emptiest session
+ * first, and placing a talk clears the overlapping sessions of other tracks from the domains of
+ * the same speaker's talks, so a dead end shows up as an empty domain before it is searched.
+ * Tracks without a placed talk are interchangeable, only the first of them is tried. The time
+ * the placed talks take is then reserved, and the remaining talks are packed around them by the
+ * exact search. A pinned talk opens its session, which has to start at the pinned minute.
+ * Placing and packing for all track counts share the time limit of the exact search.
+ */
+public class ConstraintSchedulingEngine implements SchedulingEngine {
+
+    // Search nodes for placing the constrained talks for one track count.
+    private static final long PLACEMENT_BUDGET = 1 << 20;
+    // Placements whose remaining talks are packed before the next track count is tried.
+    private static final int MAX_PACKED_PLACEMENTS = 64;
+    private static final int UNPLACED = -1;
+
+    private final SlotTable slotTable;
+    private final FeasibilityCheck feasibilityCheck;
+    private final ExactSchedulingEngine packingEngine;
+    private final SchedulingEngine unconstrainedEngine;
+
+    /**
+     * Constructor for ConstraintSchedulingEngine with the default conference profile.
+     */
+    public ConstraintSchedulingEngine() {
+        this(ConferenceProfile.DEFAULT);
+    }
+
+    /**
+     * Constructor for ConstraintSchedulingEngine, lists without constraints are packed with the exact engine.
+     *
+     * @param conferenceProfile
+     */
+    public ConstraintSchedulingEngine(ConferenceProfile conferenceProfile) {
+        this(conferenceProfile, new ExactSchedulingEngine(conferenceProfile));
+    }
+
+    /**
+     * Constructor for ConstraintSchedulingEngine.
+     *
+     * @param conferenceProfile
+     * @param unconstrainedEngine engine for lists without constrained talks, with the same profile
+     */
+    public ConstraintSchedulingEngine(ConferenceProfile conferenceProfile, SchedulingEngine unconstrainedEngine) {
+        this.slotTable = SlotTable.compile(conferenceProfile);
+        this.feasibilityCheck = new FeasibilityCheck(conferenceProfile);
+        this.packingEngine = new ExactSchedulingEngine(conferenceProfile);
+        this.unconstrainedEngine = unconstrainedEngine;
+    }
+
+    @Override
+    public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+        if (talks == null || talks.isEmpty()) {
+            return unconstrainedEngine.planSessions(talks);
+        }
+        List<Talk> constrainedTalks = new ArrayList<Talk>();
+        for (Talk talk : talks) {
+            if (talk.getConstraint() != null) {
+                constrainedTalks.add(talk);
+            }
+        }
+        if (constrainedTalks.isEmpty()) {
+            return unconstrainedEngine.planSessions(talks);
+        }
+
+        feasibilityCheck.verify(talks);
+
+        // Group the other talks by duration, longest first, as the exact engine does.
+        Map<Integer, Deque<Talk>> talksByDuration = new TreeMap<Integer, Deque<Talk>>(Collections.<Integer>reverseOrder());
+        int totalTime = 0;
+        for (Talk talk : talks) {
+            int talkTime = talk.getTimeDuration();
+            totalTime += talkTime;
+            if (talk.getConstraint() != null) {
+                checkAllowedPositions(talk);
+                continue;
+            }
+            Deque<Talk> sameDuration = talksByDuration.get(talkTime);
+            if (sameDuration == null) {
+                sameDuration = new ArrayDeque<Talk>();
+                talksByDuration.put(talkTime, sameDuration);
+            }
+            sameDuration.add(talk);
+        }
+        checkSpeakerTime(constrainedTalks);
+        Deque<Talk> zeroDurationTalks = talksByDuration.remove(0);
+        int[] durations = new int[talksByDuration.size()];
+        int[] counts = new int[durations.length];
+        int index = 0;
+        for (Map.Entry<Integer, Deque<Talk>> entry : talksByDuration.entrySet()) {
+            durations[index] = entry.getKey();
+            counts[index] = entry.getValue().size();
+            index++;
+        }
+
+        int minTracks = slotTable.getMinTracks(totalTime);
+        int maxTracks = slotTable.getMaxTracks(totalTime);
+        int preferredTracks = slotTable.getPreferredTracks(totalTime);
+        long deadline = packingEngine.deadline();
+        List<List<Talk>> numberedSessions = null;
+        int tracks = 0;
+        try {
+            for (int offset = 0; numberedSessions == null && offset <= maxTracks - minTracks; offset++) {
+                for (int sign = 1; numberedSessions == null && sign >= -1; sign -= 2) {
+                    tracks = preferredTracks + sign * offset;
+                    if (tracks >= minTracks && tracks <= maxTracks && (offset != 0 || sign == 1)) {
+                        Placement placement = new Placement(constrainedTalks, tracks, durations, counts, deadline);
+                        numberedSessions = placement.solve(talksByDuration);
+                        SchedulerMetrics.countSearch(placement.nodes, placement.packedPlacements);
+                    }
+                }
+            }
+        } catch (TimeoutException e) {
+            throw new TalkException("Unable to schedule all task for conferencing, no packing meeting the talk constraints found within "
+                    + ExactSchedulingEngine.DEFAULT_TIME_LIMIT_MILLIS + " ms");
+        }
+        if (numberedSessions == null) {
+            throw new TalkException("Unable to schedule all task for conferencing, no packing meets the talk constraints for "
+                    + minTracks + " to " + maxTracks + " tracks");
+        }
+        if (zeroDurationTalks != null) {
+            numberedSessions.get(slotTable.getFillPosition() * tracks).addAll(zeroDurationTalks);
+        }
+        return SessionPlan.fromNumberedSessions(numberedSessions, tracks, slotTable.getConferenceProfile());
+    }
+
+    /**
+     * Fail early for a talk which no session of the day can take.
+     */
+    private void checkAllowedPositions(Talk talk) throws TalkException {
+        for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+            if (allows(talk, position)) {
+                return;
+            }
+        }
+        throw new TalkException("Unable to schedule talk " + talk.getTitle() + ", no session of the day meets its constraints");
+    }
+
+    /**
+     * A speaker can not talk longer than the sessions of one day take.
+     */
+    private void checkSpeakerTime(List<Talk> constrainedTalks) throws TalkException {
+        Map<String, Integer> speakerTimes = new HashMap<String, Integer>();
+        for (Talk talk : constrainedTalks) {
+            String speaker = talk.getConstraint().getSpeaker();
+            if (speaker == null) {
+                continue;
+            }
+            Integer speakerTime = speakerTimes.get(speaker);
+            int time = (speakerTime == null ? 0 : speakerTime) + talk.getTimeDuration();
+            if (time > slotTable.getDayMaxTime()) {
+                throw new TalkException("Unable to schedule talks of speaker " + speaker + ", more than "
+                        + slotTable.getDayMaxTime() + " min of talks a day");
+            }
+            speakerTimes.put(speaker, time);
+        }
+    }
+
+    private boolean allows(Talk talk, int position) {
+        TalkConstraint constraint = talk.getConstraint();
+        return constraint.allowsPosition(position)
+                && talk.getTimeDuration() <= slotTable.getMaxTime(position)
+                && (!constraint.isPinned() || slotTable.getStartMinute(position) == constraint.getPinnedMinute());
+    }
+
+    /**
+     * Placement of the constrained talks for a fixed number of tracks, sessions are numbered as in the SlotTable.
+     * Iterative with an undo trail of domain words, so the depth does not depend on the thread stack size.
+     */
+    private final class Placement {
+
+        private final Talk[] talks;
+        private final int tracks;
+        private final int sessionCount;
+        private final int words;
+        private final int[] freeDurations;
+        private final int[] freeCounts;
+        private final long deadline;
+
+        private final long[][] domains;
+        private final boolean[] pinned;
+        private final int[][] sameSpeaker;
+        private final int[] placements;
+        private final int[] sessionTimes;
+        private final boolean[] pinnedSessions;
+        private final int[] trackPlacements;
+
+        private int[] trailTalks = new int[64];
+        private int[] trailWords = new int[64];
+        private long[] trailValues = new long[64];
+        private int trailSize;
+
+        private final int[] frameTalks;
+        private final int[][] frameCandidates;
+        private final int[] frameNext;
+        private final int[] frameMarks;
+
+        private int[][] packing;
+        private long nodes;
+        private int packedPlacements;
+
+        Placement(List<Talk> constrainedTalks, int tracks, int[] freeDurations, int[] freeCounts, long deadline) {
+            int n = constrainedTalks.size();
+            this.talks = constrainedTalks.toArray(new Talk[n]);
+            this.tracks = tracks;
+            this.sessionCount = tracks * slotTable.getSessionsPerDay();
+            this.words = (sessionCount + 63) >> 6;
+            this.freeDurations = freeDurations;
+            this.freeCounts = freeCounts;
+            this.deadline = deadline;
+            this.domains = new long[n][words];
+            this.pinned = new boolean[n];
+            this.sameSpeaker = new int[n][];
+            this.placements = new int[n];
+            this.sessionTimes = new int[sessionCount];
+            this.pinnedSessions = new boolean[sessionCount];
+            this.trackPlacements = new int[tracks];
+            this.frameTalks = new int[n + 1];
+            this.frameCandidates = new int[n + 1][];
+            this.frameNext = new int[n + 1];
+            this.frameMarks = new int[n + 1];
+
+            Map<String, List<Integer>> talksBySpeaker = new HashMap<String, List<Integer>>();
+            for (int talk = 0; talk < n; talk++) {
+                placements[talk] = UNPLACED;
+                pinned[talk] = talks[talk].getConstraint().isPinned();
+                for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+                    if (allows(talks[talk], position)) {
+                        for (int session = position * tracks; session < (position + 1) * tracks; session++) {
+                            domains[talk][session >> 6] |= 1L << session;
+                        }
+                    }
+                }
+                String speaker = talks[talk].getConstraint().getSpeaker();
+                if (speaker != null) {
+                    List<Integer> speakerTalks = talksBySpeaker.get(speaker);
+                    if (speakerTalks == null) {
+                        speakerTalks = new ArrayList<Integer>();
+                        talksBySpeaker.put(speaker, speakerTalks);
+                    }
+                    speakerTalks.add(talk);
+                }
+            }
+            for (List<Integer> speakerTalks : talksBySpeaker.values()) {
+                if (speakerTalks.size() < 2) {
+                    continue;
+                }
+                int[] group = new int[speakerTalks.size()];
+                for (int i = 0; i < group.length; i++) {
+                    group[i] = speakerTalks.get(i);
+                }
+                for (int talk : group) {
+                    sameSpeaker[talk] = group;
+                }
+            }
+        }
+
+        /**
+         * @return talks of each session, or null if no placement was found within the budget.
+         * @throws TimeoutException if the deadline passed
+         */
+        List<List<Talk>> solve(Map<Integer, Deque<Talk>> talksByDuration) throws TimeoutException {
+            int n = talks.length;
+            int depth = 0;
+            frameTalks[0] = UNPLACED;
+            while (depth >= 0) {
+                if (depth == n) {
+                    if (pack()) {
+                        return toSessions(talksByDuration);
+                    }
+                    if (++packedPlacements >= MAX_PACKED_PLACEMENTS) {
+                        return null;
+                    }
+                    depth--;
+                    continue;
+                }
+                if (++nodes > PLACEMENT_BUDGET) {
+                    return null;
+                }
+                if ((nodes & Cancellation.CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+                    throw new TimeoutException("No placement for " + tracks + " tracks found in time");
+                }
+                if (frameTalks[depth] == UNPLACED) {
+                    int talk = mostConstrainedTalk();
+                    if (talk == UNPLACED) {
+                        depth--;
+                        continue;
+                    }
+                    frameTalks[depth] = talk;
+                    frameCandidates[depth] = candidates(talk);
+                    frameNext[depth] = 0;
+                    frameMarks[depth] = trailSize;
+                } else {
+                    unplace(frameTalks[depth], frameMarks[depth]);
+                }
+                if (frameNext[depth] == frameCandidates[depth].length) {
+                    frameTalks[depth] = UNPLACED;
+                    depth--;
+                    continue;
+                }
+                if (place(frameTalks[depth], frameCandidates[depth][frameNext[depth]++])) {
+                    depth++;
+                    frameTalks[depth] = UNPLACED;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return unplaced talk with the fewest sessions left in its domain, UNPLACED if a domain is empty.
+         */
+        private int mostConstrainedTalk() {
+            int bestTalk = UNPLACED;
+            int bestCount = Integer.MAX_VALUE;
+            for (int talk = 0; talk < talks.length; talk++) {
+                if (placements[talk] != UNPLACED) {
+                    continue;
+                }
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    count += Long.bitCount(domains[talk][w]);
+                }
+                if (count == 0) {
+                    return UNPLACED;
+                }
+                if (count < bestCount || (count == bestCount
+                        && talks[talk].getTimeDuration() > talks[bestTalk].getTimeDuration())) {
+                    bestTalk = talk;
+                    bestCount = count;
+                }
+            }
+            return bestTalk;
+        }
+
+        /**
+         * Sessions of the domain the talk still fits into, emptiest first, only the first of the empty tracks.
+         */
+        private int[] candidates(int talk) {
+            int firstEmptyTrack = tracks;
+            for (int track = 0; track < tracks; track++) {
+                if (trackPlacements[track] == 0) {
+                    firstEmptyTrack = track;
+                    break;
+                }
+            }
+            int duration = talks[talk].getTimeDuration();
+            long[] keys = new long[sessionCount];
+            int size = 0;
+            for (int w = 0; w < words; w++) {
+                long bits = domains[talk][w];
+                while (bits != 0) {
+                    int session = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int track = session % tracks;
+                    if (trackPlacements[track] == 0 && track != firstEmptyTrack) {
+                        continue;
+                    }
+                    if (sessionTimes[session] + duration > slotTable.getMaxTime(session / tracks)
+                            || (pinned[talk] && pinnedSessions[session])) {
+                        continue;
+                    }
+                    keys[size++] = ((long) sessionTimes[session] << 32) | session;
+                }
+            }
+            Arrays.sort(keys, 0, size);
+            int[] candidates = new int[size];
+            for (int i = 0; i < size; i++) {
+                candidates[i] = (int) keys[i];
+            }
+            return candidates;
+        }
+
+        /**
+         * Put the talk into the session and clear the sessions which may overlap it in other tracks
+         * from the domains of the same speaker's unplaced talks.
+         *
+         * @return false if the speaker's unplaced talks no longer fit into the sessions left to them.
+         */
+        private boolean place(int talk, int session) {
+            placements[talk] = session;
+            sessionTimes[session] += talks[talk].getTimeDuration();
+            pinnedSessions[session] |= pinned[talk];
+            int track = session % tracks;
+            trackPlacements[track]++;
+            if (sameSpeaker[talk] == null) {
+                return true;
+            }
+            long[] overlapping = new long[words];
+            int positions = slotTable.getOverlappingPositions(session / tracks);
+            for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+                if ((positions & (1 << position)) == 0) {
+                    continue;
+                }
+                for (int other = position * tracks; other < (position + 1) * tracks; other++) {
+                    if (other % tracks != track) {
+                        overlapping[other >> 6] |= 1L << other;
+                    }
+                }
+            }
+            long[] speakerSessions = new long[words];
+            int speakerTime = 0;
+            for (int other : sameSpeaker[talk]) {
+                if (placements[other] != UNPLACED) {
+                    continue;
+                }
+                speakerTime += talks[other].getTimeDuration();
+                for (int w = 0; w < words; w++) {
+                    long value = domains[other][w];
+                    if ((value & overlapping[w]) != 0) {
+                        pushTrail(other, w, value);
+                        value &= ~overlapping[w];
+                        domains[other][w] = value;
+                    }
+                    speakerSessions[w] |= value;
+                }
+            }
+            return speakerTime == 0 || speakerTime <= speakerCapacity(speakerSessions);
+        }
+
+        /**
+         * Upper bound of the talk time a speaker still has in the sessions, the most free time
+         * of one session per position, as the other sessions of a position run at the same time.
+         */
+        private int speakerCapacity(long[] speakerSessions) {
+            int capacity = 0;
+            for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+                int positionCapacity = 0;
+                for (int session = position * tracks; session < (position + 1) * tracks; session++) {
+                    if ((speakerSessions[session >> 6] & (1L << session)) != 0) {
+                        positionCapacity = Math.max(positionCapacity, slotTable.getMaxTime(position) - sessionTimes[session]);
+                    }
+                }
+                capacity += positionCapacity;
+            }
+            return capacity;
+        }
+
+        private void unplace(int talk, int mark) {
+            int session = placements[talk];
+            placements[talk] = UNPLACED;
+            sessionTimes[session] -= talks[talk].getTimeDuration();
+            if (pinned[talk]) {
+                pinnedSessions[session] = false;
+            }
+            trackPlacements[session % tracks]--;
+            while (trailSize > mark) {
+                trailSize--;
+                domains[trailTalks[trailSize]][trailWords[trailSize]] = trailValues[trailSize];
+            }
+        }
+
+        private void pushTrail(int talk, int word, long value) {
+            if (trailSize == trailTalks.length) {
+                trailTalks = Arrays.copyOf(trailTalks, trailSize * 2);
+                trailWords = Arrays.copyOf(trailWords, trailSize * 2);
+                trailValues = Arrays.copyOf(trailValues, trailSize * 2);
+            }
+            trailTalks[trailSize] = talk;
+            trailWords[trailSize] = word;
+            trailValues[trailSize] = value;
+            trailSize++;
+        }
+
+        /**
+         * Pack the other talks into the time the placed talks leave in each session.
+         */
+        private boolean pack() throws TimeoutException {
+            if (System.nanoTime() - deadline > 0) {
+                throw new TimeoutException("No packing for " + tracks + " tracks found in time");
+            }
+            packing = packingEngine.solve(freeDurations, freeCounts, tracks, sessionTimes.clone(), deadline);
+            return packing != null;
+        }
+
+        private List<List<Talk>> toSessions(Map<Integer, Deque<Talk>> talksByDuration) {
+            List<List<Talk>> sessions = new ArrayList<List<Talk>>(sessionCount);
+            for (int session = 0; session < sessionCount; session++) {
+                sessions.add(new ArrayList<Talk>());
+            }
+            // A pinned talk opens its session.
+            for (int talk = 0; talk < talks.length; talk++) {
+                if (pinned[talk]) {
+                    sessions.get(placements[talk]).add(talks[talk]);
+                }
+            }
+            for (int talk = 0; talk < talks.length; talk++) {
+                if (!pinned[talk]) {
+                    sessions.get(placements[talk]).add(talks[talk]);
+                }
+            }
+            for (int session = 0; session < sessionCount; session++) {
+                for (int i = 0; i < freeDurations.length; i++) {
+                    Deque<Talk> sameDuration = talksByDuration.get(freeDurations[i]);
+                    for (int k = 0; k < packing[session][i]; k++) {
+                        sessions.get(session).add(sameDuration.poll());
+                    }
+                }
+            }
+            return sessions;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package conference;
+
+import model.TalkStore;
+
+import java.util.Arrays;
+
+/**
+ * Index of the unscheduled talks of a TalkStore, bucketed by duration.
+ * <p/>
+ * Each bucket keeps the talk indices of one duration in ascending order, removed talks are
+ * skipped with a path-compressed next pointer. Finding the first talk after a position which
+ * fits into the remaining session time costs one lookup per distinct duration instead of a
+ * scan over all talks, and the talk counts per duration form the duration histogram.
+ */
+public class DurationIndex {
+
+    private final int[] durations;
+    private final int[][] buckets;
+    private final int[][] nextAlive;
+    private final int[] counts;
+    private final int[] bucketOf;
+    private final int[] positionOf;
+
+    /**
+     * Constructor for DurationIndex, indexes the talks which are not scheduled in the store.
+     *
+     * @param talkStore
+     */
+    public DurationIndex(TalkStore talkStore) {
+        int talkCount = talkStore.size();
+        int[] sortedDurations = new int[talkStore.unscheduledCount()];
+        int unscheduled = 0;
+        for (int talk = talkStore.nextUnscheduled(0); talk < talkCount; talk = talkStore.nextUnscheduled(talk + 1)) {
+            sortedDurations[unscheduled++] = talkStore.getDuration(talk);
+        }
+        Arrays.sort(sortedDurations);
+        int distinct = 0;
+        for (int i = 0; i < sortedDurations.length; i++) {
+            if (i == 0 || sortedDurations[i] != sortedDurations[i - 1]) {
+                sortedDurations[distinct++] = sortedDurations[i];
+            }
+        }
+        durations = Arrays.copyOf(sortedDurations, distinct);
+        counts = new int[distinct];
+        bucketOf = new int[talkCount];
+        positionOf = new int[talkCount];
+        Arrays.fill(bucketOf, -1);
+        for (int talk = talkStore.nextUnscheduled(0); talk < talkCount; talk = talkStore.nextUnscheduled(talk + 1)) {
+            int bucket = Arrays.binarySearch(durations, talkStore.getDuration(talk));
+            bucketOf[talk] = bucket;
+            positionOf[talk] = counts[bucket]++;
+        }
+        buckets = new int[distinct][];
+        nextAlive = new int[distinct][];
+        for (int bucket = 0; bucket < distinct; bucket++) {
+            buckets[bucket] = new int[counts[bucket]];
+            nextAlive[bucket] = new int[counts[bucket] + 1];
+            for (int position = 0; position <= counts[bucket]; position++) {
+                nextAlive[bucket][position] = position;
+            }
+        }
+        for (int talk = 0; talk < talkCount; talk++) {
+            if (bucketOf[talk] != -1) {
+                buckets[bucketOf[talk]][positionOf[talk]] = talk;
+            }
+        }
+    }
+
+    /**
+     * Find the first talk at or after from which is at most maxDuration minutes long.
+     *
+     * @param from
+     * @param maxDuration
+     * @return talk index, or -1 if there is none.
+     */
+    public int nextFitting(int from, int maxDuration) {
+        int found = -1;
+        for (int bucket = 0; bucket < durations.length && durations[bucket] <= maxDuration; bucket++) {
+            int[] talks = buckets[bucket];
+            int position = lowerBound(talks, from);
+            position = findAlive(nextAlive[bucket], position);
+            if (position < talks.length && (found == -1 || talks[position] < found)) {
+                found = talks[position];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Remove a scheduled talk from the index.
+     *
+     * @param talk
+     */
+    public void remove(int talk) {
+        int bucket = bucketOf[talk];
+        if (bucket == -1) {
+            return;
+        }
+        nextAlive[bucket][positionOf[talk]] = positionOf[talk] + 1;
+        counts[bucket]--;
+        bucketOf[talk] = -1;
+    }
+
+    /**
+     * @param duration
+     * @return count of indexed talks with this duration.
+     */
+    public int count(int duration) {
+        int bucket = Arrays.binarySearch(durations, duration);
+        return bucket < 0 ? 0 : counts[bucket];
+    }
+
+    /**
+     * @return distinct durations of the indexed talks in ascending order, also of buckets which are empty by now.
+     */
+    public int[] getDurations() {
+        return durations.clone();
+    }
+
+    private static int lowerBound(int[] talks, int from) {
+        int low = 0;
+        int high = talks.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (talks[middle] < from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Follow the next pointers to the first position which is not removed, halving the paths on the way.
+     */
+    private static int findAlive(int[] next, int position) {
+        while (next[position] != position) {
+            next[position] = next[next[position]];
+            position = next[position];
+        }
+        return position;
+    }
+}
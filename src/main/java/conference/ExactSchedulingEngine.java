@@ -0,0 +1,713 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+import model.TalkStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scheduling engine that searches for an exact packing of the talks.
+ * <p/>
+ * Talks are grouped by duration, so a session is a count per distinct duration and
+ * talks of the same length are never tried against each other. Each session is filled
+ * by a branch-and-bound over these counts, pruned with subset-sum reachability bitsets,
+ * and failed states are remembered so identical sub-problems are never searched twice.
+ * Before a session is filled, the remaining talks are checked against the capacity of the
+ * remaining sessions per duration and against the PackingRelaxation, and sessions with the same
+ * window only take compositions in descending order, so permutations of a packing are not searched.
+ * The search restarts with another value ordering and a larger budget when it gets stuck,
+ * the remembered failures are kept between restarts. A search which runs out of orderings
+ * without a budget has seen every state, so an infeasible track count is proven, not guessed.
+ * All track counts share one time limit, when it runs out the talks are planned by the greedy
+ * engine with best fit instead, and if that fails too, a SchedulingTimeoutException says that no
+ * packing was found in time rather than that none exists. Talk sets which fail the FeasibilityCheck
+ * never reach the search, and an interrupted thread stops the search with a CancellationException.
+ */
+public class ExactSchedulingEngine implements TalkStoreSchedulingEngine {
+
+    static final long DEFAULT_TIME_LIMIT_MILLIS = 500;
+
+    private static final long INITIAL_BUDGET = 1 << 12;
+    private static final long MAX_BUDGET = 1L << 40;
+
+    private static final int SOLVED = 0;
+    private static final int INFEASIBLE = 1;
+    private static final int OUT_OF_BUDGET = 2;
+    private static final int TIMED_OUT = 3;
+
+    private final SlotTable slotTable;
+    private final FeasibilityCheck feasibilityCheck;
+    private final long timeLimitNanos;
+    private final TalkStoreSchedulingEngine fallbackEngine;
+
+    /**
+     * Constructor for ExactSchedulingEngine with the default conference profile.
+     */
+    public ExactSchedulingEngine() {
+        this(ConferenceProfile.DEFAULT);
+    }
+
+    /**
+     * Constructor for ExactSchedulingEngine.
+     *
+     * @param conferenceProfile
+     */
+    public ExactSchedulingEngine(ConferenceProfile conferenceProfile) {
+        this(conferenceProfile, DEFAULT_TIME_LIMIT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructor for ExactSchedulingEngine.
+     *
+     * @param conferenceProfile
+     * @param timeLimit         time the search may take for all track counts together
+     * @param unit
+     */
+    public ExactSchedulingEngine(ConferenceProfile conferenceProfile, long timeLimit, TimeUnit unit) {
+        this.slotTable = SlotTable.compile(conferenceProfile);
+        this.feasibilityCheck = new FeasibilityCheck(conferenceProfile);
+        this.timeLimitNanos = unit.toNanos(timeLimit);
+        this.fallbackEngine = new GreedySchedulingEngine(conferenceProfile, FitStrategy.BEST_FIT);
+    }
+
+    @Override
+    public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+        if (talks == null || talks.isEmpty()) {
+            return SessionPlan.fromNumberedSessions(new ArrayList<List<Talk>>(), 0, slotTable.getConferenceProfile());
+        }
+        feasibilityCheck.verify(talks);
+        int[] talkDurations = new int[talks.size()];
+        int talk = 0;
+        for (Talk sessionTalk : talks) {
+            talkDurations[talk++] = sessionTalk.getTimeDuration();
+        }
+        SessionPlan sessionPlan = planSessions(talkDurations, talks instanceof RandomAccess ? talks : new ArrayList<Talk>(talks));
+        return sessionPlan != null ? sessionPlan : planWithFallback(talks);
+    }
+
+    /**
+     * Same as planSessions for a list, the search runs on the durations of the store and
+     * a Talk object is only created for each talk of the planned sessions.
+     */
+    @Override
+    public SessionPlan planSessions(TalkStore talkStore) throws TalkException {
+        if (talkStore.size() == 0) {
+            return SessionPlan.fromNumberedSessions(new ArrayList<List<Talk>>(), 0, slotTable.getConferenceProfile());
+        }
+        feasibilityCheck.verify(talkStore);
+        int[] talkDurations = new int[talkStore.size()];
+        for (int talk = 0; talk < talkDurations.length; talk++) {
+            talkDurations[talk] = talkStore.getDuration(talk);
+        }
+        SessionPlan sessionPlan = planSessions(talkDurations, talkStore.asList());
+        return sessionPlan != null ? sessionPlan : planWithFallback(talkStore);
+    }
+
+    /**
+     * @param talkDurations duration of each talk
+     * @param talks         the talks by index, used for the planned sessions
+     * @return planned sessions, or null if the search ran out of time
+     */
+    private SessionPlan planSessions(int[] talkDurations, List<Talk> talks) throws TalkException {
+        // Group talk indices by duration, longest first, keeping input order inside a duration.
+        // Each group holds its talk count and its position among the groups.
+        Map<Integer, int[]> groups = new TreeMap<Integer, int[]>(Collections.<Integer>reverseOrder());
+        int totalTime = 0;
+        for (int talkTime : talkDurations) {
+            int[] group = groups.get(talkTime);
+            if (group == null) {
+                group = new int[2];
+                groups.put(talkTime, group);
+            }
+            group[0]++;
+            totalTime += talkTime;
+        }
+        int[] groupStarts = new int[groups.size() + 1];
+        int index = 0;
+        for (int[] group : groups.values()) {
+            group[1] = index;
+            groupStarts[index + 1] = groupStarts[index] + group[0];
+            index++;
+        }
+        int[] talkOrder = new int[talkDurations.length];
+        int[] groupEnds = Arrays.copyOf(groupStarts, groups.size());
+        for (int talk = 0; talk < talkDurations.length; talk++) {
+            talkOrder[groupEnds[groups.get(talkDurations[talk])[1]]++] = talk;
+        }
+        // Zero duration talks are the last group and only join the fill session of the first track.
+        int[] zeroGroup = groups.remove(0);
+
+        int distinct = groups.size();
+        int[] durations = new int[distinct];
+        int[] counts = new int[distinct];
+        index = 0;
+        for (Map.Entry<Integer, int[]> entry : groups.entrySet()) {
+            durations[index] = entry.getKey();
+            counts[index] = entry.getValue()[0];
+            index++;
+        }
+
+        int minTracks = slotTable.getMinTracks(totalTime);
+        int maxTracks = slotTable.getMaxTracks(totalTime);
+
+        // Try the track count which leaves the most slack in the evening sessions first, then move outwards.
+        int preferredTracks = slotTable.getPreferredTracks(totalTime);
+        long deadline = deadline();
+        int[][] sessions = null;
+        int tracks = 0;
+        try {
+            for (int offset = 0; sessions == null && offset <= maxTracks - minTracks; offset++) {
+                for (int sign = 1; sessions == null && sign >= -1; sign -= 2) {
+                    tracks = preferredTracks + sign * offset;
+                    if (tracks >= minTracks && tracks <= maxTracks && (offset != 0 || sign == 1)) {
+                        sessions = solve(durations, counts, tracks, null, deadline);
+                    }
+                }
+            }
+        } catch (TimeoutException e) {
+            return null;
+        }
+        if (sessions == null) {
+            throw new TalkException("Unable to schedule all task for conferencing, no packing exists for "
+                    + minTracks + " to " + maxTracks + " tracks");
+        }
+
+        int[] next = Arrays.copyOf(groupStarts, distinct);
+        List<List<Talk>> numberedSessions = new ArrayList<List<Talk>>(sessions.length);
+        for (int[] session : sessions) {
+            List<Talk> sessionTalks = new ArrayList<Talk>();
+            for (int i = 0; i < distinct; i++) {
+                for (int k = 0; k < session[i]; k++) {
+                    sessionTalks.add(talks.get(talkOrder[next[i]++]));
+                }
+            }
+            numberedSessions.add(sessionTalks);
+        }
+        if (zeroGroup != null) {
+            List<Talk> fillSession = numberedSessions.get(slotTable.getFillPosition() * tracks);
+            for (int position = groupStarts[distinct]; position < talkOrder.length; position++) {
+                fillSession.add(talks.get(talkOrder[position]));
+            }
+        }
+        return SessionPlan.fromNumberedSessions(numberedSessions, tracks, slotTable.getConferenceProfile());
+    }
+
+    /**
+     * @return System.nanoTime() at which a search started now has to give up.
+     */
+    long deadline() {
+        return System.nanoTime() + timeLimitNanos;
+    }
+
+    /**
+     * Plan with the greedy engine after the search ran out of time.
+     */
+    private SessionPlan planWithFallback(List<Talk> talks) throws TalkException {
+        try {
+            return fallbackEngine.planSessions(talks);
+        } catch (TalkException e) {
+            throw noPackingInTime();
+        }
+    }
+
+    private SessionPlan planWithFallback(TalkStore talkStore) throws TalkException {
+        try {
+            return fallbackEngine.planSessions(talkStore);
+        } catch (TalkException e) {
+            throw noPackingInTime();
+        }
+    }
+
+    private SchedulingTimeoutException noPackingInTime() {
+        return new SchedulingTimeoutException("Unable to schedule all task for conferencing, no packing found within "
+                + TimeUnit.NANOSECONDS.toMillis(timeLimitNanos) + " ms");
+    }
+
+    /**
+     * Alternate between longest-first and balanced orderings with a growing budget until
+     * one of them finds a packing or proves there is none, or the deadline has passed.
+     *
+     * @param durations distinct talk durations, longest first
+     * @param counts    talk count per duration
+     * @param tracks
+     * @param reserved  talk time already taken in each session, or null if all sessions are empty
+     * @param deadline  System.nanoTime() after which the search gives up
+     * @return talk count per duration for each session, or null if there is no packing.
+     * @throws TimeoutException if the deadline passed before a packing was found or ruled out
+     */
+    int[][] solve(int[] durations, int[] counts, int tracks, int[] reserved, long deadline) throws TimeoutException {
+        Set<State> failedStates = new HashSet<State>();
+        SessionBounds sessionBounds = new SessionBounds(slotTable, tracks, reserved, durations, counts);
+        for (long budget = INITIAL_BUDGET; ; budget = Math.min(budget << 2, MAX_BUDGET)) {
+            for (boolean balanced : new boolean[]{false, true}) {
+                Search search = new Search(sessionBounds, durations, counts, failedStates, balanced, budget, deadline);
+                int result = search.run();
+                SchedulerMetrics.countSearch(search.combinations, search.backtracks);
+                if (result == SOLVED) {
+                    return search.sessions();
+                } else if (result == INFEASIBLE) {
+                    return null;
+                } else if (result == TIMED_OUT || System.nanoTime() - deadline > 0) {
+                    throw new TimeoutException("No packing for " + tracks + " tracks found in time");
+                }
+            }
+        }
+    }
+
+    /**
+     * Talk time window of each session and of all sessions after it, less the reserved time.
+     * <p/>
+     * For every duration index i, capacityAfter[i][s] is the most talks of duration index i or less,
+     * so at least as long as durations[i], which sessions s and after can hold, and needAfter[i][s]
+     * the fewest talks of duration durations[i] which sessions s and after must take to reach their
+     * minimum time, even with an unlimited supply of every other duration. Sessions with the same
+     * window as the previous session are interchangeable with it, so they only take compositions
+     * which are not greater than the previous one, comparing the counts longest duration first.
+     */
+    private static final class SessionBounds {
+
+        private static final int UNREACHABLE = 1 << 20;
+
+        private final int[] minTimes;
+        private final int[] maxTimes;
+        private final int[] minTimesAfter;
+        private final int[] maxTimesAfter;
+        private final int[][] capacityAfter;
+        private final int[][] needAfter;
+        private final boolean[] sameWindowAsPrevious;
+        private final PackingRelaxation relaxation;
+
+        SessionBounds(SlotTable slotTable, int tracks, int[] reserved, int[] durations, int[] counts) {
+            int sessionCount = tracks * slotTable.getSessionsPerDay();
+            int n = durations.length;
+            minTimes = new int[sessionCount];
+            maxTimes = new int[sessionCount];
+            minTimesAfter = new int[sessionCount];
+            maxTimesAfter = new int[sessionCount];
+            capacityAfter = new int[n][sessionCount + 1];
+            needAfter = new int[n][sessionCount + 1];
+            sameWindowAsPrevious = new boolean[sessionCount];
+            Map<Long, int[]> needs = new HashMap<Long, int[]>();
+            for (int session = sessionCount - 1; session >= 0; session--) {
+                int position = session / tracks;
+                int reservedTime = reserved == null ? 0 : reserved[session];
+                minTimes[session] = Math.max(0, slotTable.getMinTime(position) - reservedTime);
+                maxTimes[session] = slotTable.getMaxTime(position) - reservedTime;
+                if (session + 1 < sessionCount) {
+                    minTimesAfter[session] = minTimesAfter[session + 1] + minTimes[session + 1];
+                    maxTimesAfter[session] = maxTimesAfter[session + 1] + maxTimes[session + 1];
+                    sameWindowAsPrevious[session + 1] = minTimes[session] == minTimes[session + 1]
+                            && maxTimes[session] == maxTimes[session + 1];
+                }
+                long window = (long) minTimes[session] << 32 | (maxTimes[session] & 0xffffffffL);
+                int[] need = needs.get(window);
+                if (need == null) {
+                    need = minimumTalks(durations, counts, minTimes[session], maxTimes[session]);
+                    needs.put(window, need);
+                }
+                for (int i = 0; i < n; i++) {
+                    capacityAfter[i][session] = capacityAfter[i][session + 1] + Math.max(0, maxTimes[session]) / durations[i];
+                    needAfter[i][session] = Math.min(UNREACHABLE, needAfter[i][session + 1] + need[i]);
+                }
+            }
+            relaxation = PackingRelaxation.create(durations, counts, minTimes, maxTimes);
+        }
+
+        /**
+         * @return false if the remaining talks can not fit the sessions from session on, checking the
+         * PackingRelaxation last as it is the most expensive bound.
+         */
+        boolean fits(int session, int[] remaining) {
+            int longTalks = 0;
+            for (int i = 0; i < remaining.length; i++) {
+                longTalks += remaining[i];
+                if (longTalks > capacityAfter[i][session] || remaining[i] < needAfter[i][session]) {
+                    return false;
+                }
+            }
+            return relaxation == null || relaxation.isFeasible(session, remaining);
+        }
+
+        /**
+         * Fewest talks of each duration in any sum of talks between minTime and maxTime.
+         */
+        private static int[] minimumTalks(int[] durations, int[] counts, int minTime, int maxTime) {
+            int n = durations.length;
+            int[] need = new int[n];
+            if (maxTime < 0) {
+                Arrays.fill(need, UNREACHABLE);
+                return need;
+            }
+            int[] fewest = new int[maxTime + 1];
+            for (int i = 0; i < n; i++) {
+                Arrays.fill(fewest, UNREACHABLE);
+                fewest[0] = 0;
+                for (int sum = 1; sum <= maxTime; sum++) {
+                    for (int j = 0; j < n; j++) {
+                        if (counts[j] > 0 && durations[j] <= sum) {
+                            int value = fewest[sum - durations[j]] + (j == i ? 1 : 0);
+                            if (value < fewest[sum]) {
+                                fewest[sum] = value;
+                            }
+                        }
+                    }
+                }
+                need[i] = UNREACHABLE;
+                for (int sum = minTime; sum <= maxTime; sum++) {
+                    need[i] = Math.min(need[i], fewest[sum]);
+                }
+            }
+            return need;
+        }
+    }
+
+    /**
+     * Search for a fixed number of tracks, sessions are numbered as in the SlotTable.
+     * Iterative, so the depth of the search does not depend on the thread stack size.
+     */
+    private static final class Search {
+
+        private final SessionBounds sessionBounds;
+        private final int[] durations;
+        private final int[] remaining;
+        private final Set<State> failedStates;
+        private final boolean balanced;
+        private final SessionCursor[] cursors;
+        private final long deadline;
+        private long budget;
+        private long steps;
+        private boolean timedOut;
+        private int remainingTime;
+        private long combinations;
+        private long backtracks;
+
+        Search(SessionBounds sessionBounds, int[] durations, int[] counts, Set<State> failedStates, boolean balanced,
+               long budget, long deadline) {
+            this.sessionBounds = sessionBounds;
+            this.durations = durations;
+            this.remaining = counts.clone();
+            this.failedStates = failedStates;
+            this.balanced = balanced;
+            this.budget = budget;
+            this.deadline = deadline;
+            this.cursors = new SessionCursor[sessionBounds.minTimes.length];
+            for (int i = 0; i < durations.length; i++) {
+                remainingTime += durations[i] * counts[i];
+            }
+        }
+
+        int run() {
+            int session = 0;
+            while (session < cursors.length) {
+                if (!tick()) {
+                    return timedOut ? TIMED_OUT : OUT_OF_BUDGET;
+                }
+                if (cursors[session] == null) {
+                    cursors[session] = openCursor(session);
+                }
+                if (cursors[session] != null && cursors[session].next()) {
+                    combinations++;
+                    session++;
+                    continue;
+                }
+                if (budget <= 0) {
+                    return timedOut ? TIMED_OUT : OUT_OF_BUDGET;
+                }
+                if (cursors[session] != null) {
+                    failedStates.add(state(session));
+                    cursors[session] = null;
+                }
+                backtracks++;
+                session--;
+                if (session < 0) {
+                    return INFEASIBLE;
+                }
+            }
+            return SOLVED;
+        }
+
+        /**
+         * Count a search step, checking for interrupts and the deadline now and then.
+         *
+         * @return false if the budget is used up or the deadline has passed.
+         */
+        private boolean tick() {
+            if ((steps++ & Cancellation.CHECK_MASK) == 0) {
+                Cancellation.check();
+                if (System.nanoTime() - deadline > 0) {
+                    timedOut = true;
+                    budget = 0;
+                }
+            }
+            return --budget >= 0;
+        }
+
+        int[][] sessions() {
+            int[][] sessions = new int[cursors.length][];
+            for (int i = 0; i < cursors.length; i++) {
+                sessions[i] = cursors[i].take.clone();
+            }
+            return sessions;
+        }
+
+        /**
+         * Bound the window for this session from the remaining time, return null if it can not be filled.
+         */
+        private SessionCursor openCursor(int session) {
+            int low = Math.max(sessionBounds.minTimes[session], remainingTime - sessionBounds.maxTimesAfter[session]);
+            int high = Math.min(sessionBounds.maxTimes[session], remainingTime - sessionBounds.minTimesAfter[session]);
+            if (low > high) {
+                return null;
+            }
+            State state = state(session);
+            if (failedStates.contains(state)) {
+                return null;
+            }
+            long[][] reach;
+            if (!sessionBounds.fits(session, remaining) || !hasBitInRange((reach = reachability(high))[0], low, high)) {
+                failedStates.add(state);
+                return null;
+            }
+            return new SessionCursor(low, high, reach, cursors.length - session, bound(session));
+        }
+
+        /**
+         * @return the composition of the previous session if this session must not take a greater one, null otherwise.
+         */
+        private int[] bound(int session) {
+            return sessionBounds.sameWindowAsPrevious[session] ? cursors[session - 1].take : null;
+        }
+
+        private State state(int session) {
+            return new State(session, remaining, bound(session));
+        }
+
+        /**
+         * reach[i] has bit s set if s minutes can be made of the remaining talks with duration index i or more.
+         */
+        private long[][] reachability(int high) {
+            int n = durations.length;
+            int words = (high >> 6) + 1;
+            long[][] reach = new long[n + 1][];
+            reach[n] = new long[words];
+            reach[n][0] = 1L;
+            for (int i = n - 1; i >= 0; i--) {
+                long[] shifted = reach[i + 1].clone();
+                long[] result = reach[i + 1].clone();
+                int maxTake = Math.min(remaining[i], high / durations[i]);
+                for (int k = 0; k < maxTake; k++) {
+                    shiftLeft(shifted, durations[i]);
+                    for (int w = 0; w < words; w++) {
+                        result[w] |= shifted[w];
+                    }
+                }
+                reach[i] = result;
+            }
+            return reach;
+        }
+
+        /**
+         * Enumerates talk counts per duration whose sum falls in [low, high] and which are not greater
+         * than the bound. Longest-first takes as many long talks as fit, balanced starts from an even
+         * share of the remaining talks per session.
+         */
+        private final class SessionCursor {
+
+            private final int low;
+            private final int high;
+            private final long[][] reach;
+            private final int[] take;
+            private final int[] share;
+            private final int[] maxTake;
+            private final int[] step;
+            private final int[] sumBefore;
+            private final int[] bound;
+            private final boolean[] tight;
+            private boolean started;
+            private boolean applied;
+
+            SessionCursor(int low, int high, long[][] reach, int sessionsLeft, int[] bound) {
+                int n = durations.length;
+                this.low = low;
+                this.high = high;
+                this.reach = reach;
+                this.take = new int[n];
+                this.share = new int[n];
+                this.maxTake = new int[n];
+                this.step = new int[n];
+                this.sumBefore = new int[n];
+                this.bound = bound;
+                this.tight = new boolean[n];
+                for (int i = 0; i < n; i++) {
+                    share[i] = balanced ? (remaining[i] + sessionsLeft / 2) / sessionsLeft : Integer.MAX_VALUE;
+                }
+            }
+
+            /**
+             * Move to the next session composition and take its talks from the remaining counts.
+             *
+             * @return false if there is no further composition.
+             */
+            boolean next() {
+                int n = durations.length;
+                int level;
+                if (applied) {
+                    for (int i = 0; i < n; i++) {
+                        remaining[i] += take[i];
+                        remainingTime += take[i] * durations[i];
+                    }
+                    applied = false;
+                }
+                if (!started) {
+                    started = true;
+                    if (n == 0) {
+                        // Only talks of other sessions are left, openCursor checked that an empty session fits.
+                        return true;
+                    }
+                    level = 0;
+                    openLevel(0, 0);
+                } else {
+                    level = n - 1;
+                }
+
+                while (level >= 0) {
+                    if (!tick()) {
+                        return false;
+                    }
+                    if (!nextValue(level)) {
+                        level--;
+                        continue;
+                    }
+                    int sum = sumBefore[level] + take[level] * durations[level];
+                    if (!hasBitInRange(reach[level + 1], low - sum, high - sum)) {
+                        continue;
+                    }
+                    if (level == n - 1) {
+                        for (int i = 0; i < n; i++) {
+                            remaining[i] -= take[i];
+                            remainingTime -= take[i] * durations[i];
+                        }
+                        applied = true;
+                        return true;
+                    }
+                    level++;
+                    openLevel(level, sum);
+                }
+                return false;
+            }
+
+            private void openLevel(int level, int sum) {
+                sumBefore[level] = sum;
+                maxTake[level] = Math.min(remaining[level], (high - sum) / durations[level]);
+                // While every longer duration takes as many talks as the bound, this one may not take more.
+                tight[level] = bound != null && (level == 0 || tight[level - 1] && take[level - 1] == bound[level - 1]);
+                if (tight[level]) {
+                    maxTake[level] = Math.min(maxTake[level], bound[level]);
+                }
+                step[level] = 0;
+            }
+
+            /**
+             * Walk share, share + 1, share - 1, share + 2, ... within [0, maxTake].
+             */
+            private boolean nextValue(int level) {
+                int center = Math.min(share[level], maxTake[level]);
+                while (true) {
+                    int s = step[level]++;
+                    int offset = (s + 1) / 2;
+                    if (offset > Math.max(center, maxTake[level] - center)) {
+                        return false;
+                    }
+                    int value = (s & 1) == 1 ? center + offset : center - offset;
+                    if (value >= 0 && value <= maxTake[level]) {
+                        take[level] = value;
+                        return true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void shiftLeft(long[] bits, int shift) {
+        int wordShift = shift >> 6;
+        int bitShift = shift & 63;
+        for (int w = bits.length - 1; w >= 0; w--) {
+            int source = w - wordShift;
+            long value = 0L;
+            if (source >= 0) {
+                value = bits[source] << bitShift;
+                if (bitShift != 0 && source > 0) {
+                    value |= bits[source - 1] >>> (64 - bitShift);
+                }
+            }
+            bits[w] = value;
+        }
+    }
+
+    private static boolean hasBitInRange(long[] bits, int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(to, bits.length * 64 - 1);
+        if (from > to) {
+            return false;
+        }
+        int fromWord = from >> 6;
+        int toWord = to >> 6;
+        for (int w = fromWord; w <= toWord; w++) {
+            long mask = -1L;
+            if (w == fromWord) {
+                mask &= -1L << (from & 63);
+            }
+            if (w == toWord) {
+                mask &= -1L >>> (63 - (to & 63));
+            }
+            if ((bits[w] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remaining talk counts and composition bound at the start of a session, used to remember failed sub-problems.
+     */
+    private static final class State {
+
+        private final int session;
+        private final int[] counts;
+        private final int[] bound;
+        private final int hash;
+
+        State(int session, int[] counts, int[] bound) {
+            this.session = session;
+            this.counts = counts.clone();
+            this.bound = bound == null ? null : bound.clone();
+            this.hash = 31 * (31 * session + Arrays.hashCode(counts)) + Arrays.hashCode(bound);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof State)) {
+                return false;
+            }
+            State state = (State) obj;
+            return session == state.session && Arrays.equals(counts, state.counts) && Arrays.equals(bound, state.bound);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
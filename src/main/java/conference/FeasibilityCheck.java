@@ -0,0 +1,257 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+import model.TalkStore;
+
+import java.util.List;
+
+/**
+ * Cheap test whether a talk set can be scheduled at all, run before the search of an engine.
+ * <p/>
+ * Only the duration histogram is looked at: a talk longer than every session, a total time
+ * which does not fit into a whole number of tracks, and a session of the day whose window no
+ * sum of talk durations reaches, like the exact 180 min morning of the default profile. The
+ * reachable sums up to the longest session are one bitset, built in one pass per distinct
+ * duration, so the check costs O(talks + distinct durations * longest session). A talk set which
+ * passes may still have no schedule, one which fails never has one.
+ */
+public class FeasibilityCheck {
+
+    /**
+     * Why a talk set can not be scheduled.
+     */
+    public enum Reason {
+        FEASIBLE, TALK_TOO_LONG, NO_WHOLE_TRACKS, SESSION_UNREACHABLE
+    }
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final SlotTable slotTable;
+
+    /**
+     * Constructor for FeasibilityCheck with the default conference profile.
+     */
+    public FeasibilityCheck() {
+        this(ConferenceProfile.DEFAULT);
+    }
+
+    /**
+     * Constructor for FeasibilityCheck.
+     *
+     * @param conferenceProfile
+     */
+    public FeasibilityCheck(ConferenceProfile conferenceProfile) {
+        this.slotTable = SlotTable.compile(conferenceProfile);
+    }
+
+    /**
+     * @param talks
+     * @return Result.FEASIBLE, or the first reason found why the talks can not be scheduled.
+     */
+    public Result check(List<Talk> talks) {
+        if (talks == null || talks.isEmpty()) {
+            return Result.FEASIBLE;
+        }
+        long start = SchedulerMetrics.start();
+        try {
+            int longestSession = slotTable.getLongestSession();
+            int[] histogram = new int[longestSession + 1];
+            int totalTime = 0;
+            for (Talk talk : talks) {
+                int talkTime = talk.getTimeDuration();
+                if (talkTime > longestSession) {
+                    return talkTooLong(talk.getTitle(), talkTime);
+                }
+                if (talkTime > 0) {
+                    histogram[talkTime]++;
+                }
+                totalTime += talkTime;
+            }
+            return check(histogram, totalTime);
+        } finally {
+            SchedulerMetrics.stop(SchedulerMetrics.Stage.PRE_CHECK, start, talks.size());
+        }
+    }
+
+    /**
+     * @param talkStore
+     * @return Result.FEASIBLE, or the first reason found why the talks of the store can not be scheduled.
+     */
+    public Result check(TalkStore talkStore) {
+        if (talkStore == null || talkStore.size() == 0) {
+            return Result.FEASIBLE;
+        }
+        long start = SchedulerMetrics.start();
+        try {
+            int longestSession = slotTable.getLongestSession();
+            int[] histogram = new int[longestSession + 1];
+            int totalTime = 0;
+            for (int talk = 0; talk < talkStore.size(); talk++) {
+                int talkTime = talkStore.getDuration(talk);
+                if (talkTime > longestSession) {
+                    return talkTooLong(talkStore.getTitle(talk), talkTime);
+                }
+                if (talkTime > 0) {
+                    histogram[talkTime]++;
+                }
+                totalTime += talkTime;
+            }
+            return check(histogram, totalTime);
+        } finally {
+            SchedulerMetrics.stop(SchedulerMetrics.Stage.PRE_CHECK, start, talkStore.size());
+        }
+    }
+
+    private Result talkTooLong(String title, int talkTime) {
+        return new Result(Reason.TALK_TOO_LONG, talkTime, "Unable to schedule talk " + title
+                + ", longer than " + slotTable.getLongestSession() + " min session");
+    }
+
+    private Result check(int[] histogram, int totalTime) {
+        int distinct = 0;
+        for (int duration = 1; duration < histogram.length; duration++) {
+            if (histogram[duration] != 0) {
+                distinct++;
+            }
+        }
+        int[] durations = new int[distinct];
+        int[] counts = new int[distinct];
+        int index = 0;
+        for (int duration = 1; duration < histogram.length; duration++) {
+            if (histogram[duration] != 0) {
+                durations[index] = duration;
+                counts[index++] = histogram[duration];
+            }
+        }
+        return check(durations, counts, totalTime);
+    }
+
+    /**
+     * Check a duration histogram, the durations are positive and at most the longest session.
+     *
+     * @param durations distinct talk durations
+     * @param counts    talk count per duration
+     * @param totalTime
+     * @return
+     */
+    protected Result check(int[] durations, int[] counts, int totalTime) {
+        int minTracks = slotTable.getMinTracks(totalTime);
+        int maxTracks = slotTable.getMaxTracks(totalTime);
+        if (minTracks > maxTracks) {
+            return new Result(Reason.NO_WHOLE_TRACKS, totalTime, "Unable to schedule all task for conferencing, total time "
+                    + totalTime + " min does not fit into whole tracks");
+        }
+        long[] reachable = reachableSums(durations, counts, slotTable.getLongestSession());
+        for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+            if (!hasBitInRange(reachable, slotTable.getMinTime(position), slotTable.getMaxTime(position))) {
+                return new Result(Reason.SESSION_UNREACHABLE, position, "Unable to schedule all task for conferencing, no talks add up to "
+                        + window(position) + " min for session " + (position + 1) + " of the day");
+            }
+        }
+        return Result.FEASIBLE;
+    }
+
+    /**
+     * Verify the talks before they are scheduled.
+     *
+     * @param talks
+     * @throws InfeasibleTalksException if the check fails
+     */
+    public void verify(List<Talk> talks) throws InfeasibleTalksException {
+        Result result = check(talks);
+        if (!result.isFeasible()) {
+            throw new InfeasibleTalksException(result);
+        }
+    }
+
+    /**
+     * Verify the talks of a store before they are scheduled.
+     *
+     * @param talkStore
+     * @throws InfeasibleTalksException if the check fails
+     */
+    public void verify(TalkStore talkStore) throws InfeasibleTalksException {
+        Result result = check(talkStore);
+        if (!result.isFeasible()) {
+            throw new InfeasibleTalksException(result);
+        }
+    }
+
+    private String window(int position) {
+        return slotTable.isFixed(position) ? String.valueOf(slotTable.getMinTime(position))
+                : slotTable.getMinTime(position) + " to " + slotTable.getMaxTime(position);
+    }
+
+    /**
+     * Bounded subset sum, bit s is set if s minutes can be made of the talks. For each duration
+     * used[s] counts the talks of that duration the sum s needs on top of the sums reachable before,
+     * so a sum is only extended while talks of the duration are left.
+     */
+    static long[] reachableSums(int[] durations, int[] counts, int window) {
+        long[] reachable = new long[(window >> 6) + 1];
+        reachable[0] = 1L;
+        int[] used = new int[window + 1];
+        for (int i = 0; i < durations.length; i++) {
+            int duration = durations[i];
+            for (int sum = 0; sum <= window; sum++) {
+                if ((reachable[sum >> 6] & (1L << sum)) != 0) {
+                    used[sum] = 0;
+                } else if (sum >= duration && used[sum - duration] < counts[i]) {
+                    used[sum] = used[sum - duration] + 1;
+                    reachable[sum >> 6] |= 1L << sum;
+                } else {
+                    used[sum] = UNREACHABLE;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private static boolean hasBitInRange(long[] bits, int from, int to) {
+        to = Math.min(to, bits.length * 64 - 1);
+        for (int bit = Math.max(0, from); bit <= to; bit++) {
+            if ((bits[bit >> 6] & (1L << bit)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Outcome of a check, with the duration, total time or session position the reason refers to.
+     */
+    public static final class Result {
+
+        public static final Result FEASIBLE = new Result(Reason.FEASIBLE, 0, "Talks may be scheduled");
+
+        private final Reason reason;
+        private final int value;
+        private final String message;
+
+        Result(Reason reason, int value, String message) {
+            this.reason = reason;
+            this.value = value;
+            this.message = message;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        /**
+         * @return talk duration for TALK_TOO_LONG, total time for NO_WHOLE_TRACKS, session position for SESSION_UNREACHABLE.
+         */
+        public int getValue() {
+            return value;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isFeasible() {
+            return reason == Reason.FEASIBLE;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package conference;
+
+/**
+ * How GreedySchedulingEngine puts the talks left over by the session scan into the last sessions.
+ * Together with talks sorted by decreasing duration these are first-fit and best-fit decreasing.
+ */
+public enum FitStrategy {
+
+    /**
+     * Fill the sessions one after another, every talk goes into the first session it fits into.
+     */
+    FIRST_FIT,
+
+    /**
+     * Every talk goes into the session it leaves the least time in.
+     */
+    BEST_FIT
+}
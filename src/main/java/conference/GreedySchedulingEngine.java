@@ -0,0 +1,216 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+import model.TalkStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scheduling engine that fills the sessions with a left-to-right scan per start index.
+ * Fast, but it may give up on talk sets that could actually be scheduled.
+ * An interrupted thread stops the scan with a CancellationException.
+ */
+public class GreedySchedulingEngine implements TalkStoreSchedulingEngine {
+
+    private final SlotTable slotTable;
+    private final FitStrategy fitStrategy;
+    private final FeasibilityCheck feasibilityCheck;
+
+    /**
+     * Constructor for GreedySchedulingEngine with the default conference profile.
+     */
+    public GreedySchedulingEngine() {
+        this(ConferenceProfile.DEFAULT);
+    }
+
+    /**
+     * Constructor for GreedySchedulingEngine, left over talks are filled in first fit.
+     *
+     * @param conferenceProfile
+     */
+    public GreedySchedulingEngine(ConferenceProfile conferenceProfile) {
+        this(conferenceProfile, FitStrategy.FIRST_FIT);
+    }
+
+    /**
+     * Constructor for GreedySchedulingEngine.
+     *
+     * @param conferenceProfile
+     * @param fitStrategy       how left over talks are filled into the last sessions
+     */
+    public GreedySchedulingEngine(ConferenceProfile conferenceProfile, FitStrategy fitStrategy) {
+        this.slotTable = SlotTable.compile(conferenceProfile);
+        this.fitStrategy = fitStrategy;
+        this.feasibilityCheck = new FeasibilityCheck(conferenceProfile);
+    }
+
+    /**
+     * Schedule the sessions of the day one after another, remaining talks are filled into the last sessions.
+     * Talk sets which fail the FeasibilityCheck are rejected before the scan.
+     *
+     * @param talksList
+     * @return
+     * @throws TalkException
+     */
+    @Override
+    public SessionPlan planSessions(List<Talk> talksList) throws TalkException {
+        feasibilityCheck.verify(talksList);
+        return planSessions(TalkStore.fromTalks(talksList), talksList);
+    }
+
+    /**
+     * Same as planSessions for a list, the scan runs on the store as it is and
+     * a Talk object is only created for each scheduled talk.
+     *
+     * @param talkStore
+     * @return
+     * @throws TalkException
+     */
+    @Override
+    public SessionPlan planSessions(TalkStore talkStore) throws TalkException {
+        feasibilityCheck.verify(talkStore);
+        talkStore.clearScheduled();
+        return planSessions(talkStore, talkStore.asList());
+    }
+
+    /**
+     * @param talkStore talks to scan
+     * @param talksList the talks of the store by index, used for the planned sessions
+     */
+    private SessionPlan planSessions(TalkStore talkStore, List<Talk> talksList) throws TalkException {
+        int totalPossibleDays = slotTable.getMaxTracks(talkStore.getTotalDuration());
+
+        // Find possible combinations of talks for each session of the day,
+        // scheduled talks are marked in the store so there is nothing to remove.
+        List<List<int[]>> sessionLists = new ArrayList<List<int[]>>();
+        for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+            sessionLists.add(findPossibleSessions(talkStore, totalPossibleDays,
+                    slotTable.getMinTime(position), slotTable.getMaxTime(position)));
+        }
+
+        //prepare scheduled talks list
+        int fillPosition = slotTable.getFillPosition();
+        int[] revisedTalks = fitStrategy == FitStrategy.BEST_FIT
+                ? ConferenceManagerHelper.prepareBestFitTalkList(talkStore, sessionLists.get(fillPosition), slotTable.getMaxTime(fillPosition))
+                : ConferenceManagerHelper.prepareScheduledTalkList(talkStore, sessionLists.get(fillPosition), slotTable.getMaxTime(fillPosition));
+        // If there are still talks left, or a session is missing in a track, the conference can not be scheduled with the provided data.
+        int tracks = sessionLists.get(0).size();
+        boolean completeTracks = tracks >= slotTable.getConferenceProfile().getMinTracks() || talkStore.size() == 0;
+        for (List<int[]> sessionList : sessionLists) {
+            completeTracks &= sessionList.size() == tracks;
+        }
+        if (revisedTalks.length != 0 || !completeTracks) {
+            throw new TalkException("Unable to schedule all task for conferencing");
+        }
+        List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>();
+        for (List<int[]> sessionList : sessionLists) {
+            sessions.add(toTalkLists(sessionList, talksList));
+        }
+        return new SessionPlan(sessions, slotTable.getConferenceProfile());
+    }
+
+    private static List<List<Talk>> toTalkLists(List<int[]> sessions, List<Talk> talksList) {
+        List<List<Talk>> talkLists = new ArrayList<List<Talk>>(sessions.size());
+        for (int[] session : sessions) {
+            List<Talk> talkList = new ArrayList<Talk>(session.length);
+            for (int talk : session) {
+                talkList.add(talksList.get(talk));
+            }
+            talkLists.add(talkList);
+        }
+        return talkLists;
+    }
+
+    /**
+     * Find possible combination for the morning or evening session on a TalkStore, same rules as for a list of talks.
+     *
+     * @param talkStore
+     * @param totalPossibleDays
+     * @param morningSession
+     * @return talk indices of each session
+     */
+    protected List<int[]> findPossibleSessions(TalkStore talkStore, int totalPossibleDays, boolean morningSession) {
+        int position = morningSession ? 0 : slotTable.getFillPosition();
+        return findPossibleSessions(talkStore, totalPossibleDays, slotTable.getMinTime(position), slotTable.getMaxTime(position));
+    }
+
+    /**
+     * Find possible combination for a session with the given window on a TalkStore.
+     * A session with equal bounds is complete as soon as its time is reached.
+     * Talks of the found sessions are marked scheduled in the store. The talks which fit into
+     * the rest of a session are looked up in a DurationIndex, so building a session costs a lookup
+     * per distinct duration and talk instead of a scan over all remaining talks.
+     *
+     * @param talkStore
+     * @param totalPossibleDays
+     * @param minSessionTime
+     * @param maxSessionTime
+     * @return talk indices of each session
+     */
+    protected List<int[]> findPossibleSessions(TalkStore talkStore, int totalPossibleDays, int minSessionTime, int maxSessionTime) {
+        long start = SchedulerMetrics.start();
+        int combinations = 0;
+        boolean fixedSession = minSessionTime == maxSessionTime;
+        int sessionTime = maxSessionTime;
+        int talkCount = talkStore.size();
+        DurationIndex durationIndex = new DurationIndex(talkStore);
+
+        List<int[]> possibleCombinations = new ArrayList<int[]>();
+        int[] possibleCombination = new int[talkCount];
+
+        // A start index at a scheduled talk gives the same combination as the next unscheduled talk, so skip them.
+        for (int count = talkStore.nextUnscheduled(0); count < talkCount; count = talkStore.nextUnscheduled(count + 1)) {
+            if ((++combinations & Cancellation.CHECK_MASK) == 0) {
+                Cancellation.check();
+            }
+            int totalTime = 0;
+            int combinationSize = 0;
+
+            int talk = durationIndex.nextFitting(count, sessionTime);
+            while (talk != -1) {
+                possibleCombination[combinationSize++] = talk;
+                totalTime += talkStore.getDuration(talk);
+                if (fixedSession && totalTime == minSessionTime) {
+                    break;
+                }
+                talk = durationIndex.nextFitting(talk + 1, sessionTime - totalTime);
+            }
+
+            boolean validSession = (totalTime >= minSessionTime && totalTime <= sessionTime);
+            if (validSession) {
+                int[] session = Arrays.copyOf(possibleCombination, combinationSize);
+                for (int sessionTalk : session) {
+                    talkStore.setScheduled(sessionTalk, true);
+                    durationIndex.remove(sessionTalk);
+                }
+                possibleCombinations.add(session);
+                if (possibleCombinations.size() == totalPossibleDays) {
+                    break;
+                }
+            }
+        }
+
+        SchedulerMetrics.countSearch(combinations, 0);
+        SchedulerMetrics.stop(SchedulerMetrics.Stage.FIND_SESSIONS, start, talkCount);
+        return possibleCombinations;
+    }
+
+    /**
+     * Find possible combination for the session.
+     * If morning session then each session must have total time 3 hr.
+     * if evening session then each session must have total time greater then 3 hr.
+     * Every talk of the list is a candidate, the talks are not changed.
+     *
+     * @param talksListForOperation
+     * @param totalPossibleDays
+     * @param morningSession
+     * @return
+     */
+    protected List<List<Talk>> findPossibleSessions(List<Talk> talksListForOperation, int totalPossibleDays, boolean morningSession) {
+        TalkStore talkStore = TalkStore.fromTalks(talksListForOperation);
+        return toTalkLists(findPossibleSessions(talkStore, totalPossibleDays, morningSession), talksListForOperation);
+    }
+}
@@ -0,0 +1,38 @@
+package conference;
+
+import model.Talk;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SchedulingEngine which improves the plan of another engine with a ScheduleImprover,
+ * each call gets the same time budget.
+ */
+public class ImprovingSchedulingEngine implements SchedulingEngine {
+
+    private final SchedulingEngine schedulingEngine;
+    private final ScheduleImprover scheduleImprover;
+    private final long timeBudgetNanos;
+
+    /**
+     * Constructor for ImprovingSchedulingEngine.
+     *
+     * @param schedulingEngine engine for the initial plan
+     * @param scheduleImprover
+     * @param timeBudget       time for the improvement after the initial plan
+     * @param unit
+     */
+    public ImprovingSchedulingEngine(SchedulingEngine schedulingEngine, ScheduleImprover scheduleImprover,
+                                     long timeBudget, TimeUnit unit) {
+        this.schedulingEngine = schedulingEngine;
+        this.scheduleImprover = scheduleImprover;
+        this.timeBudgetNanos = unit.toNanos(timeBudget);
+    }
+
+    @Override
+    public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+        SessionPlan sessionPlan = schedulingEngine.planSessions(talks);
+        return scheduleImprover.improve(sessionPlan, System.nanoTime() + timeBudgetNanos);
+    }
+}
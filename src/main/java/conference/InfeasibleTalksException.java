@@ -0,0 +1,20 @@
+package conference;
+
+/**
+ * Talks rejected by the FeasibilityCheck before any search, with the structured reason.
+ */
+public class InfeasibleTalksException extends TalkException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FeasibilityCheck.Result result;
+
+    public InfeasibleTalksException(FeasibilityCheck.Result result) {
+        super(result.getMessage());
+        this.result = result;
+    }
+
+    public FeasibilityCheck.Result getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+package conference;
+
+import model.Talk;
+import model.TalkStore;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load talks from a UTF-8 file through a memory-mapped FileChannel.
+ * <p/>
+ * Each line is decoded straight from the mapped region into one reusable char buffer
+ * and parsed into a Talk, so there is no intermediate list of lines and the extra
+ * memory does not grow with the file size. Large files are mapped region by region.
+ * Reading and parsing are one pass, so the parse time of each line is summed up as VALIDATE
+ * and the rest of the pass is READ_FILE in the SchedulerMetrics.
+ */
+public class MappedTalkFileReader {
+
+    private static final int REGION_SIZE = 64 * 1024 * 1024;
+    private static final int INITIAL_LINE_SIZE = 256;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final int regionSize;
+
+    /**
+     * Constructor for MappedTalkFileReader.
+     */
+    public MappedTalkFileReader() {
+        this(REGION_SIZE);
+    }
+
+    /**
+     * Constructor for MappedTalkFileReader.
+     *
+     * @param regionSize maximum number of bytes mapped at once.
+     */
+    public MappedTalkFileReader(int regionSize) {
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Read and parse all talks of the file.
+     *
+     * @param fileName
+     * @return
+     * @throws IOException
+     * @throws TalkException
+     */
+    public List<Talk> readTalks(String fileName) throws IOException, TalkException {
+        final List<Talk> talks = new ArrayList<Talk>();
+        readLines(fileName, new LineHandler() {
+            @Override
+            void parse(String line) throws TalkException {
+                talks.add(TalkParser.parseTalk(line));
+            }
+        });
+        return talks;
+    }
+
+    /**
+     * Read and parse all talks of the file into a TalkStore, no Talk object is created.
+     *
+     * @param fileName
+     * @return
+     * @throws IOException
+     * @throws TalkException
+     */
+    public TalkStore readTalkStore(String fileName) throws IOException, TalkException {
+        final TalkStore talkStore = new TalkStore();
+        readLines(fileName, new LineHandler() {
+            @Override
+            void parse(String line) throws TalkException {
+                TalkParser.parseTalk(line, talkStore);
+            }
+        });
+        return talkStore;
+    }
+
+    private void readLines(String fileName, LineHandler lineHandler) throws IOException, TalkException {
+        long start = SchedulerMetrics.start();
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer line = CharBuffer.allocate(INITIAL_LINE_SIZE);
+
+        RandomAccessFile file = new RandomAccessFile(fileName, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long fileSize = channel.size();
+            long regionStart = 0;
+            while (regionStart < fileSize) {
+                long size = Math.min(regionSize, fileSize - regionStart);
+                boolean lastRegion = regionStart + size == fileSize;
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, size);
+
+                int lineStart = 0;
+                for (int position = 0; position < size; position++) {
+                    if (region.get(position) == LINE_FEED) {
+                        line = parseLine(region, lineStart, position, decoder, line, lineHandler);
+                        lineStart = position + 1;
+                    }
+                }
+                if (lastRegion && lineStart < size) {
+                    line = parseLine(region, lineStart, (int) size, decoder, line, lineHandler);
+                    lineStart = (int) size;
+                } else if (lineStart == 0 && !lastRegion) {
+                    throw new TalkException("Invalid talk file " + fileName + ", line is longer than " + regionSize + " bytes");
+                }
+                regionStart += lastRegion ? size : lineStart;
+            }
+        } finally {
+            file.close();
+        }
+        SchedulerMetrics.record(SchedulerMetrics.Stage.READ_FILE,
+                SchedulerMetrics.elapsed(start) - lineHandler.parseNanos, lineHandler.talkCount);
+        SchedulerMetrics.record(SchedulerMetrics.Stage.VALIDATE, lineHandler.parseNanos, lineHandler.talkCount);
+    }
+
+    /**
+     * Decode bytes [start, end) of the region, without the line separator, and hand the line over.
+     *
+     * @return the line buffer, grown if the line did not fit.
+     */
+    private CharBuffer parseLine(ByteBuffer region, int start, int end, CharsetDecoder decoder,
+                                 CharBuffer line, LineHandler lineHandler) throws TalkException, CharacterCodingException {
+        if (end > start && region.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        ByteBuffer bytes = region.duplicate();
+        bytes.limit(end);
+        bytes.position(start);
+
+        decoder.reset();
+        line.clear();
+        CoderResult result = decoder.decode(bytes, line, true);
+        while (result.isOverflow()) {
+            CharBuffer larger = CharBuffer.allocate(line.capacity() * 2);
+            line.flip();
+            larger.put(line);
+            line = larger;
+            result = decoder.decode(bytes, line, true);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        decoder.flush(line);
+        line.flip();
+        lineHandler.handle(line.toString());
+        return line;
+    }
+
+    private abstract static class LineHandler {
+
+        private long parseNanos;
+        private int talkCount;
+
+        final void handle(String line) throws TalkException {
+            long start = SchedulerMetrics.start();
+            parse(line);
+            parseNanos += SchedulerMetrics.elapsed(start);
+            talkCount++;
+        }
+
+        abstract void parse(String line) throws TalkException;
+    }
+}
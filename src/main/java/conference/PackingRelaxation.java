@@ -0,0 +1,216 @@
+package conference;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linear relaxation of the session packing of the exact search.
+ * <p/>
+ * Sessions with the same talk time window form a class, and a composition is a talk count per
+ * duration whose sum falls in the window. The remaining talks can only be packed into the remaining
+ * sessions if some non-negative, possibly fractional, number of sessions per composition adds up to
+ * the remaining count of every duration and to the session count of every class. This is checked
+ * with the first phase of the simplex method, so a sequence of sessions which can never add up, like
+ * too few 100 min talks left for the 200 min evenings still to fill, is cut off as soon as it starts
+ * instead of at the last session. Only built when the compositions of every class can be listed.
+ */
+final class PackingRelaxation {
+
+    static final int MAX_CLASSES = 16;
+    static final int MAX_COMPOSITIONS = 256;
+
+    private static final double EPSILON = 1e-9;
+    private static final double INFEASIBLE = 1e-6;
+
+    private final int durationCount;
+    private final int[][][] compositions;
+    // Sessions of each class from a session on, classes.length entries per session.
+    private final int[] classSessionsAfter;
+
+    private PackingRelaxation(int durationCount, int[][][] compositions, int[] classSessionsAfter) {
+        this.durationCount = durationCount;
+        this.compositions = compositions;
+        this.classSessionsAfter = classSessionsAfter;
+    }
+
+    /**
+     * @param durations distinct talk durations
+     * @param counts    talk count per duration
+     * @param minTimes  least talk time of each session
+     * @param maxTimes  most talk time of each session
+     * @return the relaxation, or null if there are too many windows or compositions to list.
+     */
+    static PackingRelaxation create(int[] durations, int[] counts, int[] minTimes, int[] maxTimes) {
+        int sessionCount = minTimes.length;
+        Map<Long, Integer> classes = new LinkedHashMap<Long, Integer>();
+        int[] sessionClasses = new int[sessionCount];
+        for (int session = 0; session < sessionCount; session++) {
+            long window = (long) minTimes[session] << 32 | (maxTimes[session] & 0xffffffffL);
+            Integer windowClass = classes.get(window);
+            if (windowClass == null) {
+                if (classes.size() == MAX_CLASSES) {
+                    return null;
+                }
+                windowClass = classes.size();
+                classes.put(window, windowClass);
+            }
+            sessionClasses[session] = windowClass;
+        }
+
+        int[][][] compositions = new int[classes.size()][][];
+        for (Map.Entry<Long, Integer> entry : classes.entrySet()) {
+            int minTime = (int) (entry.getKey() >> 32);
+            int maxTime = (int) entry.getKey().longValue();
+            List<int[]> windowCompositions = new ArrayList<int[]>();
+            if (!listCompositions(durations, counts, minTime, maxTime, 0, 0, new int[durations.length], windowCompositions)) {
+                return null;
+            }
+            compositions[entry.getValue()] = windowCompositions.toArray(new int[windowCompositions.size()][]);
+        }
+
+        int classCount = classes.size();
+        int[] classSessionsAfter = new int[(sessionCount + 1) * classCount];
+        for (int session = sessionCount - 1; session >= 0; session--) {
+            System.arraycopy(classSessionsAfter, (session + 1) * classCount, classSessionsAfter, session * classCount, classCount);
+            classSessionsAfter[session * classCount + sessionClasses[session]]++;
+        }
+        return new PackingRelaxation(durations.length, compositions, classSessionsAfter);
+    }
+
+    /**
+     * @return false if there are more compositions than MAX_COMPOSITIONS.
+     */
+    private static boolean listCompositions(int[] durations, int[] counts, int minTime, int maxTime,
+                                            int level, int sum, int[] take, List<int[]> result) {
+        if (level == durations.length) {
+            if (sum >= minTime && sum <= maxTime) {
+                result.add(take.clone());
+            }
+            return result.size() <= MAX_COMPOSITIONS;
+        }
+        int maxTake = maxTime < sum ? -1 : Math.min(counts[level], (maxTime - sum) / durations[level]);
+        for (int k = maxTake; k >= 0; k--) {
+            take[level] = k;
+            if (!listCompositions(durations, counts, minTime, maxTime, level + 1, sum + k * durations[level], take, result)) {
+                return false;
+            }
+        }
+        take[level] = 0;
+        return true;
+    }
+
+    /**
+     * @param session   first session still to fill
+     * @param remaining talk count per duration still to pack
+     * @return false if the remaining talks can not be packed into the sessions from session on, even fractionally.
+     */
+    boolean isFeasible(int session, int[] remaining) {
+        int classCount = compositions.length;
+        int offset = session * classCount;
+        int columns = 0;
+        int rows = durationCount;
+        for (int windowClass = 0; windowClass < classCount; windowClass++) {
+            if (classSessionsAfter[offset + windowClass] > 0) {
+                if (compositions[windowClass].length == 0) {
+                    return false;
+                }
+                columns += compositions[windowClass].length;
+                rows++;
+            }
+        }
+
+        // Row per duration, then per class, column per composition, last column the right hand side.
+        double[][] tableau = new double[rows][columns + 1];
+        int row = durationCount;
+        int column = 0;
+        for (int windowClass = 0; windowClass < classCount; windowClass++) {
+            int classSessions = classSessionsAfter[offset + windowClass];
+            if (classSessions == 0) {
+                continue;
+            }
+            for (int[] composition : compositions[windowClass]) {
+                for (int i = 0; i < durationCount; i++) {
+                    tableau[i][column] = composition[i];
+                }
+                tableau[row][column] = 1;
+                column++;
+            }
+            tableau[row][columns] = classSessions;
+            row++;
+        }
+        for (int i = 0; i < durationCount; i++) {
+            tableau[i][columns] = remaining[i];
+        }
+        return minimizeArtificials(tableau, rows, columns) <= INFEASIBLE;
+    }
+
+    /**
+     * First phase of the simplex method with an artificial variable per row and Bland's rule.
+     *
+     * @return the least sum of the artificial variables, 0 if the rows have a non-negative solution.
+     */
+    private static double minimizeArtificials(double[][] tableau, int rows, int columns) {
+        int[] basis = new int[rows];
+        double[] objective = new double[columns + 1];
+        for (int row = 0; row < rows; row++) {
+            basis[row] = columns + row;
+            for (int column = 0; column <= columns; column++) {
+                objective[column] -= tableau[row][column];
+            }
+        }
+        int maxPivots = 50 * (rows + columns);
+        for (int pivots = 0; pivots < maxPivots; pivots++) {
+            int entering = -1;
+            for (int column = 0; column < columns; column++) {
+                if (objective[column] < -EPSILON) {
+                    entering = column;
+                    break;
+                }
+            }
+            if (entering < 0) {
+                return -objective[columns];
+            }
+            int leaving = -1;
+            double bestRatio = 0;
+            for (int row = 0; row < rows; row++) {
+                if (tableau[row][entering] > EPSILON) {
+                    double ratio = tableau[row][columns] / tableau[row][entering];
+                    if (leaving < 0 || ratio < bestRatio - EPSILON
+                            || ratio <= bestRatio + EPSILON && basis[row] < basis[leaving]) {
+                        leaving = row;
+                        bestRatio = ratio;
+                    }
+                }
+            }
+            if (leaving < 0) {
+                // Unbounded can not happen for a sum of non-negative artificials, give up without a cut.
+                return 0;
+            }
+            pivot(tableau, objective, leaving, entering, columns);
+            basis[leaving] = entering;
+        }
+        return 0;
+    }
+
+    private static void pivot(double[][] tableau, double[] objective, int leaving, int entering, int columns) {
+        double[] pivotRow = tableau[leaving];
+        double pivot = pivotRow[entering];
+        for (int column = 0; column <= columns; column++) {
+            pivotRow[column] /= pivot;
+        }
+        for (double[] row : tableau) {
+            if (row != pivotRow && row[entering] != 0) {
+                eliminate(row, pivotRow, row[entering], columns);
+            }
+        }
+        eliminate(objective, pivotRow, objective[entering], columns);
+    }
+
+    private static void eliminate(double[] row, double[] pivotRow, double factor, int columns) {
+        for (int column = 0; column <= columns; column++) {
+            row[column] -= factor * pivotRow[column];
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package conference;
+
+import model.Talk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scheduling engine that schedules independent parts of the talk pool in parallel.
+ * <p/>
+ * Talks are dealt to partitions by duration, so every partition gets about the same mix
+ * of talk lengths, and each partition is packed into its own tracks by the partition engine
+ * on a ForkJoinPool. Partitions are disjoint, so the plan of every packed partition is kept
+ * as it is and no talk needs to be claimed. Talks of partitions which could not be packed
+ * are packed together again, and if that fails too the whole pool is packed by the partition
+ * engine alone, so a schedule is found whenever the sequential engine finds one.
+ * ConferenceTrackManagement uses it with the --parallel option, ParallelSchedulingBenchmark
+ * compares it with the partition engine alone.
+ */
+public class ParallelSchedulingEngine implements SchedulingEngine {
+
+    // Rough talk time of a track, only used to decide whether partitions are worth it.
+    private static final int ESTIMATED_TRACK_TIME = 390;
+    private static final int MIN_TRACKS_PER_PARTITION = 8;
+    // Longer talks share the last bucket when they are dealt to partitions.
+    private static final int MAX_DEALT_DURATION = 240;
+
+    private final ForkJoinPool forkJoinPool;
+    private final SchedulingEngine partitionEngine;
+
+    /**
+     * Constructor for ParallelSchedulingEngine, exact engine on the common pool.
+     */
+    public ParallelSchedulingEngine() {
+        this(ForkJoinPool.commonPool(), new ExactSchedulingEngine());
+    }
+
+    /**
+     * Constructor for ParallelSchedulingEngine.
+     *
+     * @param forkJoinPool    pool to schedule the partitions on
+     * @param partitionEngine engine used for each partition, must be safe to call from several threads
+     */
+    public ParallelSchedulingEngine(ForkJoinPool forkJoinPool, SchedulingEngine partitionEngine) {
+        this.forkJoinPool = forkJoinPool;
+        this.partitionEngine = partitionEngine;
+    }
+
+    @Override
+    public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+        if (talks == null || talks.isEmpty()) {
+            return partitionEngine.planSessions(talks);
+        }
+        int estimatedTracks = ConferenceManagerHelper.getTotalTalksTime(talks) / ESTIMATED_TRACK_TIME;
+        int partitionCount = Math.min(forkJoinPool.getParallelism(), estimatedTracks / MIN_TRACKS_PER_PARTITION);
+        if (partitionCount <= 1) {
+            return partitionEngine.planSessions(talks);
+        }
+
+        int[][] partitions = dealPartitions(talks, partitionCount);
+        SessionPlan[] partitionPlans = new SessionPlan[partitionCount];
+        forkJoinPool.invoke(new PartitionTask(talks, partitions, partitionPlans, 0, partitionCount));
+
+        List<SessionPlan> committedPlans = new ArrayList<SessionPlan>();
+        List<Talk> unscheduledTalks = new ArrayList<Talk>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            SessionPlan partitionPlan = partitionPlans[partition];
+            if (partitionPlan != null) {
+                committedPlans.add(partitionPlan);
+            } else {
+                for (int talk : partitions[partition]) {
+                    unscheduledTalks.add(talks.get(talk));
+                }
+            }
+        }
+
+        if (!unscheduledTalks.isEmpty()) {
+            SessionPlan remainingPlan;
+            try {
+                remainingPlan = partitionEngine.planSessions(unscheduledTalks);
+            } catch (TalkException e) {
+                return partitionEngine.planSessions(talks);
+            }
+            committedPlans.add(remainingPlan);
+        }
+        SessionPlan sessionPlan = merge(committedPlans);
+        // Partitions only know their own track count, the whole plan may exceed the tracks of the profile.
+        if (sessionPlan.getTrackCount() > sessionPlan.getConferenceProfile().getMaxTracks()) {
+            return partitionEngine.planSessions(talks);
+        }
+        return sessionPlan;
+    }
+
+    /**
+     * Put the tracks of all plans into one plan.
+     */
+    private static SessionPlan merge(List<SessionPlan> plans) {
+        SessionPlan firstPlan = plans.get(0);
+        List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>();
+        for (int position = 0; position < firstPlan.getSessionsPerDay(); position++) {
+            List<List<Talk>> positionSessions = new ArrayList<List<Talk>>();
+            for (SessionPlan plan : plans) {
+                positionSessions.addAll(plan.getSessions(position));
+            }
+            sessions.add(positionSessions);
+        }
+        return new SessionPlan(sessions, firstPlan.getConferenceProfile());
+    }
+
+    /**
+     * Deal talk indices to partitions in duration order, back and forth, so partitions get the same mix.
+     */
+    private static int[][] dealPartitions(List<Talk> talks, int partitionCount) {
+        int[] durationCounts = new int[MAX_DEALT_DURATION + 2];
+        for (Talk talk : talks) {
+            durationCounts[bucket(talk)]++;
+        }
+        int[] durationStarts = new int[durationCounts.length];
+        for (int bucket = 1; bucket < durationCounts.length; bucket++) {
+            durationStarts[bucket] = durationStarts[bucket - 1] + durationCounts[bucket - 1];
+        }
+        int[] byDuration = new int[talks.size()];
+        for (int i = 0; i < talks.size(); i++) {
+            byDuration[durationStarts[bucket(talks.get(i))]++] = i;
+        }
+
+        int[][] partitions = new int[partitionCount][];
+        int[] partitionSizes = new int[partitionCount];
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions[partition] = new int[talks.size() / partitionCount + 1];
+        }
+        for (int i = 0; i < byDuration.length; i++) {
+            int round = i / partitionCount;
+            int position = i % partitionCount;
+            int partition = (round & 1) == 0 ? position : partitionCount - 1 - position;
+            partitions[partition][partitionSizes[partition]++] = byDuration[i];
+        }
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions[partition] = Arrays.copyOf(partitions[partition], partitionSizes[partition]);
+        }
+        return partitions;
+    }
+
+    private static int bucket(Talk talk) {
+        return Math.max(0, Math.min(talk.getTimeDuration(), MAX_DEALT_DURATION + 1));
+    }
+
+    /**
+     * Pack partitions [from, to), split in halves until one partition is left.
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Talk> talks;
+        private final int[][] partitions;
+        private final SessionPlan[] partitionPlans;
+        private final int from;
+        private final int to;
+
+        PartitionTask(List<Talk> talks, int[][] partitions, SessionPlan[] partitionPlans, int from, int to) {
+            this.talks = talks;
+            this.partitions = partitions;
+            this.partitionPlans = partitionPlans;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PartitionTask(talks, partitions, partitionPlans, from, middle),
+                        new PartitionTask(talks, partitions, partitionPlans, middle, to));
+                return;
+            }
+            List<Talk> partitionTalks = new ArrayList<Talk>(partitions[from].length);
+            for (int talk : partitions[from]) {
+                partitionTalks.add(talks.get(talk));
+            }
+            try {
+                partitionPlans[from] = partitionEngine.planSessions(partitionTalks);
+            } catch (TalkException e) {
+                partitionPlans[from] = null;
+            }
+        }
+    }
+}
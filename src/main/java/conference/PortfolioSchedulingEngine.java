@@ -0,0 +1,337 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scheduling engine which runs a portfolio of strategies on an executor at the same time.
+ * <p/>
+ * Strategies are the greedy scan in input order, first-fit decreasing, the greedy scan on
+ * orders shuffled with explicit seeds, and the exact engine. With Mode.FIRST_VALID the first
+ * plan found wins, with Mode.BEST all strategies may run until the deadline and the plan with
+ * the fewest tracks and the most even track times wins, ties go to the earlier strategy. The
+ * other runs are cancelled by interrupting them, the engines check the interrupt flag while
+ * they search. An exact run which fails without running out of time proves that no plan exists
+ * and ends the portfolio at once, after a SchedulingTimeoutException the other strategies go on.
+ * The winning strategy is logged with its seed, and planSessions(talks, strategy) reproduces
+ * its plan exactly on the calling thread.
+ */
+public class PortfolioSchedulingEngine implements SchedulingEngine {
+
+    /**
+     * Which plan of the portfolio wins.
+     */
+    public enum Mode {
+        FIRST_VALID, BEST
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(PortfolioSchedulingEngine.class.getName());
+    // Seeds of the shuffled strategies are spread over the long range from the base seed.
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private final ExecutorService executorService;
+    private final List<Strategy> strategies;
+    private final Mode mode;
+    private final long deadlineNanos;
+    private final FeasibilityCheck feasibilityCheck;
+    private final GreedySchedulingEngine greedyEngine;
+    private final ExactSchedulingEngine exactEngine;
+
+    /**
+     * Constructor for PortfolioSchedulingEngine.
+     *
+     * @param conferenceProfile
+     * @param executorService   executor the strategies run on, it is not shut down by the engine
+     * @param strategies
+     * @param mode
+     * @param deadline          time a call may take at most
+     * @param unit
+     */
+    public PortfolioSchedulingEngine(ConferenceProfile conferenceProfile, ExecutorService executorService,
+                                     List<Strategy> strategies, Mode mode, long deadline, TimeUnit unit) {
+        this(conferenceProfile, executorService, strategies, mode, deadline, unit, new ExactSchedulingEngine(conferenceProfile));
+    }
+
+    /**
+     * Constructor for PortfolioSchedulingEngine with the exact engine of the EXACT strategy.
+     *
+     * @param conferenceProfile
+     * @param executorService
+     * @param strategies
+     * @param mode
+     * @param deadline
+     * @param unit
+     * @param exactEngine       engine for the conference profile
+     */
+    PortfolioSchedulingEngine(ConferenceProfile conferenceProfile, ExecutorService executorService,
+                              List<Strategy> strategies, Mode mode, long deadline, TimeUnit unit,
+                              ExactSchedulingEngine exactEngine) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("A portfolio needs at least one strategy");
+        }
+        this.executorService = executorService;
+        this.strategies = new ArrayList<Strategy>(strategies);
+        this.mode = mode;
+        this.deadlineNanos = unit.toNanos(deadline);
+        this.feasibilityCheck = new FeasibilityCheck(conferenceProfile);
+        this.greedyEngine = new GreedySchedulingEngine(conferenceProfile);
+        this.exactEngine = exactEngine;
+    }
+
+    /**
+     * Greedy, first-fit decreasing, the given number of shuffled orders and the exact engine.
+     *
+     * @param seed     base seed of the shuffled orders
+     * @param shuffles
+     * @return
+     */
+    public static List<Strategy> defaultStrategies(long seed, int shuffles) {
+        List<Strategy> strategies = new ArrayList<Strategy>();
+        strategies.add(Strategy.greedy());
+        strategies.add(Strategy.firstFitDecreasing());
+        for (int shuffle = 0; shuffle < shuffles; shuffle++) {
+            strategies.add(Strategy.shuffled(seed + shuffle * SEED_INCREMENT));
+        }
+        strategies.add(Strategy.exact());
+        return strategies;
+    }
+
+    public List<Strategy> getStrategies() {
+        return Collections.unmodifiableList(strategies);
+    }
+
+    @Override
+    public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+        return solve(talks).getSessionPlan();
+    }
+
+    /**
+     * Run all strategies and return the winning plan with its strategy.
+     *
+     * @param talks
+     * @return
+     * @throws TalkException if no strategy finds a plan within the deadline
+     */
+    public PortfolioResult solve(List<Talk> talks) throws TalkException {
+        if (talks == null || talks.isEmpty()) {
+            return new PortfolioResult(exactEngine.planSessions(talks), Strategy.exact());
+        }
+        long deadline = System.nanoTime() + deadlineNanos;
+        feasibilityCheck.verify(talks);
+        CompletionService<SessionPlan> completionService = new ExecutorCompletionService<SessionPlan>(executorService);
+        List<Future<SessionPlan>> futures = new ArrayList<Future<SessionPlan>>(strategies.size());
+        for (Strategy strategy : strategies) {
+            futures.add(completionService.submit(new StrategyRun(talks, strategy)));
+        }
+
+        SessionPlan bestPlan = null;
+        int bestStrategy = -1;
+        TalkException failure = null;
+        try {
+            for (int done = 0; done < futures.size(); done++) {
+                long remaining = deadline - System.nanoTime();
+                Future<SessionPlan> future = remaining > 0 ? completionService.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (future == null) {
+                    break;
+                }
+                int strategy = futures.indexOf(future);
+                try {
+                    SessionPlan sessionPlan = future.get();
+                    if (bestPlan == null || isBetter(sessionPlan, strategy, bestPlan, bestStrategy)) {
+                        bestPlan = sessionPlan;
+                        bestStrategy = strategy;
+                    }
+                    if (mode == Mode.FIRST_VALID) {
+                        break;
+                    }
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof TalkException)) {
+                        throw new IllegalStateException("Strategy " + strategies.get(strategy) + " failed", e.getCause());
+                    }
+                    boolean proven = strategies.get(strategy).getKind() == Strategy.Kind.EXACT
+                            && !(e.getCause() instanceof SchedulingTimeoutException);
+                    if (failure == null || proven) {
+                        failure = (TalkException) e.getCause();
+                    }
+                    if (proven) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TalkException("Scheduling was interrupted");
+        } finally {
+            for (Future<SessionPlan> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        if (bestPlan == null) {
+            if (failure != null) {
+                throw failure;
+            }
+            throw new TalkException("Unable to schedule all task for conferencing, no strategy found a plan within "
+                    + TimeUnit.NANOSECONDS.toMillis(deadlineNanos) + " ms");
+        }
+        LOGGER.log(Level.INFO, "Scheduled by " + strategies.get(bestStrategy));
+        return new PortfolioResult(bestPlan, strategies.get(bestStrategy));
+    }
+
+    /**
+     * Run one strategy on the calling thread, the same talks and strategy always give the same plan.
+     *
+     * @param talks
+     * @param strategy
+     * @return
+     * @throws TalkException
+     */
+    public SessionPlan planSessions(List<Talk> talks, Strategy strategy) throws TalkException {
+        switch (strategy.getKind()) {
+            case GREEDY:
+                return greedyEngine.planSessions(talks);
+            case FIRST_FIT_DECREASING:
+                return greedyEngine.planSessions(ConferenceManagerHelper.sortByDurationDescending(talks));
+            case SHUFFLED:
+                List<Talk> shuffledTalks = new ArrayList<Talk>(talks);
+                Collections.shuffle(shuffledTalks, new Random(strategy.getSeed()));
+                return greedyEngine.planSessions(shuffledTalks);
+            default:
+                return exactEngine.planSessions(talks);
+        }
+    }
+
+    /**
+     * Fewer tracks first, then the smaller difference between the longest and the shortest track.
+     */
+    private static boolean isBetter(SessionPlan plan, int strategy, SessionPlan bestPlan, int bestStrategy) {
+        if (plan.getTrackCount() != bestPlan.getTrackCount()) {
+            return plan.getTrackCount() < bestPlan.getTrackCount();
+        }
+        int spread = trackTimeSpread(plan);
+        int bestSpread = trackTimeSpread(bestPlan);
+        return spread < bestSpread || (spread == bestSpread && strategy < bestStrategy);
+    }
+
+    private static int trackTimeSpread(SessionPlan plan) {
+        int shortest = Integer.MAX_VALUE;
+        int longest = 0;
+        for (int track = 0; track < plan.getTrackCount(); track++) {
+            int trackTime = 0;
+            for (int position = 0; position < plan.getSessionsPerDay(); position++) {
+                trackTime += ConferenceManagerHelper.getTotalTalksTime(plan.getSessions(position).get(track));
+            }
+            shortest = Math.min(shortest, trackTime);
+            longest = Math.max(longest, trackTime);
+        }
+        return longest - shortest;
+    }
+
+    private final class StrategyRun implements Callable<SessionPlan> {
+
+        private final List<Talk> talks;
+        private final Strategy strategy;
+
+        StrategyRun(List<Talk> talks, Strategy strategy) {
+            this.talks = talks;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public SessionPlan call() throws TalkException {
+            // A run which starts after the portfolio is decided has nothing to do.
+            Cancellation.check();
+            return planSessions(talks, strategy);
+        }
+    }
+
+    /**
+     * One strategy of the portfolio, shuffled orders keep their seed.
+     */
+    public static final class Strategy {
+
+        public enum Kind {
+            GREEDY, FIRST_FIT_DECREASING, SHUFFLED, EXACT
+        }
+
+        private final Kind kind;
+        private final long seed;
+
+        private Strategy(Kind kind, long seed) {
+            this.kind = kind;
+            this.seed = seed;
+        }
+
+        public static Strategy greedy() {
+            return new Strategy(Kind.GREEDY, 0L);
+        }
+
+        public static Strategy firstFitDecreasing() {
+            return new Strategy(Kind.FIRST_FIT_DECREASING, 0L);
+        }
+
+        /**
+         * @param seed seed of the java.util.Random which shuffles the talks
+         * @return
+         */
+        public static Strategy shuffled(long seed) {
+            return new Strategy(Kind.SHUFFLED, seed);
+        }
+
+        public static Strategy exact() {
+            return new Strategy(Kind.EXACT, 0L);
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return seed of a shuffled order, 0 for the other strategies.
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        @Override
+        public String toString() {
+            return kind == Kind.SHUFFLED ? kind + " seed " + seed : kind.toString();
+        }
+    }
+
+    /**
+     * Winning plan of a portfolio run and the strategy which found it.
+     */
+    public static final class PortfolioResult {
+
+        private final SessionPlan sessionPlan;
+        private final Strategy strategy;
+
+        PortfolioResult(SessionPlan sessionPlan, Strategy strategy) {
+            this.sessionPlan = sessionPlan;
+            this.strategy = strategy;
+        }
+
+        public SessionPlan getSessionPlan() {
+            return sessionPlan;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+    }
+}
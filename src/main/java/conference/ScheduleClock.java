@@ -0,0 +1,74 @@
+package conference;
+
+/**
+ * Slot times of a conference day as minute offsets from midnight.
+ * <p/>
+ * Times are kept as int minutes while scheduling and only turned into "hh:mma " text
+ * for output, through a table of all 1,440 minutes of a day built once. The table is
+ * never changed, so it can be shared by any number of threads.
+ */
+public final class ScheduleClock {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MORNING_START = 9 * 60;
+    // Length of a formatted time with its trailing blank, "09:00AM ".
+    public static final int FORMATTED_LENGTH = 8;
+
+    private static final String[] FORMATTED_MINUTES = new String[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            int hour = minute / 60;
+            int hourOfHalfDay = hour % 12 == 0 ? 12 : hour % 12;
+            int minuteOfHour = minute % 60;
+            FORMATTED_MINUTES[minute] = twoDigits(hourOfHalfDay) + ":" + twoDigits(minuteOfHour)
+                    + (hour < 12 ? "AM" : "PM") + " ";
+        }
+    }
+
+    private ScheduleClock() {
+    }
+
+    /**
+     * Format a minute offset like SimpleDateFormat("hh:mma ") did, 540 is "09:00AM ".
+     * Offsets past midnight wrap to the next day.
+     *
+     * @param minute
+     * @return
+     */
+    public static String format(int minute) {
+        return FORMATTED_MINUTES[((minute % MINUTES_PER_DAY) + MINUTES_PER_DAY) % MINUTES_PER_DAY];
+    }
+
+    /**
+     * Parse the "hh:mma" time at the start of a line back into a minute of the day, "09:00AM" is 540.
+     *
+     * @param line
+     * @return
+     * @throws TalkException if the line does not start with a time
+     */
+    public static int parse(String line) throws TalkException {
+        if (line.length() < FORMATTED_LENGTH - 1 || line.charAt(2) != ':' || line.charAt(6) != 'M') {
+            throw new TalkException("Invalid schedule time, " + line);
+        }
+        int hour = digit(line, 0) * 10 + digit(line, 1);
+        int minuteOfHour = digit(line, 3) * 10 + digit(line, 4);
+        char halfDay = line.charAt(5);
+        if (hour < 1 || hour > 12 || minuteOfHour > 59 || (halfDay != 'A' && halfDay != 'P')) {
+            throw new TalkException("Invalid schedule time, " + line);
+        }
+        return (hour % 12 + (halfDay == 'P' ? 12 : 0)) * 60 + minuteOfHour;
+    }
+
+    private static int digit(String line, int index) throws TalkException {
+        int digit = line.charAt(index) - '0';
+        if (digit < 0 || digit > 9) {
+            throw new TalkException("Invalid schedule time, " + line);
+        }
+        return digit;
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : String.valueOf(value);
+    }
+}
@@ -0,0 +1,422 @@
+package conference;
+
+import model.Break;
+import model.Talk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Anytime local search which improves a SessionPlan until a deadline.
+ * <p/>
+ * The objective is, in this order, fewer tracks, a smaller spread between the earliest and the
+ * latest networking event and then a smaller sum of squared differences of the track times, which
+ * guides the search while the spread is still set by other tracks. A track is removed when all
+ * of its talks fit into the other tracks. Track times are evened out by moving a talk, swapping
+ * two talks or exchanging the tails of two sessions (2-opt) between a longer and a shorter track.
+ * At a local optimum a random swap kicks the search on, and the best plan seen is returned,
+ * so the result is never worse than the given plan.
+ */
+public class ScheduleImprover {
+
+    private static final int MAX_STALE_KICKS = 200;
+    private static final int KICK_ATTEMPTS = 50;
+
+    private final long seed;
+
+    /**
+     * Constructor for ScheduleImprover with a fixed seed.
+     */
+    public ScheduleImprover() {
+        this(0L);
+    }
+
+    /**
+     * Constructor for ScheduleImprover.
+     *
+     * @param seed seed of the random kicks, the same plan and seed give the same result if the deadline is not hit
+     */
+    public ScheduleImprover(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Improve the plan until the deadline passes or the search gives up.
+     *
+     * @param sessionPlan   valid plan, it is not changed
+     * @param deadlineNanos System.nanoTime() value to stop at
+     * @return the best plan found
+     */
+    public SessionPlan improve(SessionPlan sessionPlan, long deadlineNanos) {
+        if (sessionPlan.getTrackCount() == 0) {
+            return sessionPlan;
+        }
+        SlotTable slotTable = SlotTable.compile(sessionPlan.getConferenceProfile());
+        Layout current = new Layout(slotTable, sessionPlan);
+        Layout best = current.copy();
+        Random random = new Random(seed);
+        int staleKicks = 0;
+        while (System.nanoTime() < deadlineNanos && staleKicks < MAX_STALE_KICKS) {
+            if (current.removeTrack() || current.evenOut(deadlineNanos)) {
+                if (current.isBetterThan(best)) {
+                    best = current.copy();
+                    staleKicks = 0;
+                }
+                continue;
+            }
+            if (best.getSpread() == 0 && best.tracks.size() == current.tracks.size() && !current.canRemoveTracks()) {
+                break;
+            }
+            if (!current.kick(random)) {
+                break;
+            }
+            staleKicks++;
+        }
+        return best.toSessionPlan();
+    }
+
+    /**
+     * Mutable copy of a plan, talks and talk time of each session of each track.
+     */
+    private static final class Layout {
+
+        private final SlotTable slotTable;
+        private final List<List<List<Talk>>> tracks;
+        private final List<int[]> sessionTimes;
+        private final int fixedDayTime;
+
+        Layout(SlotTable slotTable, SessionPlan sessionPlan) {
+            this.slotTable = slotTable;
+            this.tracks = new ArrayList<List<List<Talk>>>();
+            this.sessionTimes = new ArrayList<int[]>();
+            int positions = slotTable.getSessionsPerDay();
+            for (int track = 0; track < sessionPlan.getTrackCount(); track++) {
+                List<List<Talk>> sessions = new ArrayList<List<Talk>>(positions);
+                int[] times = new int[positions];
+                for (int position = 0; position < positions; position++) {
+                    List<Talk> session = new ArrayList<Talk>(sessionPlan.getSessions(position).get(track));
+                    sessions.add(session);
+                    times[position] = ConferenceManagerHelper.getTotalTalksTime(session);
+                }
+                tracks.add(sessions);
+                sessionTimes.add(times);
+            }
+            int dayTime = slotTable.getConferenceProfile().getDayStart();
+            for (Break sessionBreak : slotTable.getConferenceProfile().getBreaks()) {
+                dayTime += sessionBreak.getDuration();
+            }
+            this.fixedDayTime = dayTime;
+        }
+
+        private Layout(Layout layout) {
+            this.slotTable = layout.slotTable;
+            this.fixedDayTime = layout.fixedDayTime;
+            this.tracks = new ArrayList<List<List<Talk>>>(layout.tracks.size());
+            this.sessionTimes = new ArrayList<int[]>(layout.tracks.size());
+            for (int track = 0; track < layout.tracks.size(); track++) {
+                List<List<Talk>> sessions = new ArrayList<List<Talk>>();
+                for (List<Talk> session : layout.tracks.get(track)) {
+                    sessions.add(new ArrayList<Talk>(session));
+                }
+                tracks.add(sessions);
+                sessionTimes.add(layout.sessionTimes.get(track).clone());
+            }
+        }
+
+        Layout copy() {
+            return new Layout(this);
+        }
+
+        SessionPlan toSessionPlan() {
+            List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>();
+            for (int position = 0; position < slotTable.getSessionsPerDay(); position++) {
+                List<List<Talk>> positionSessions = new ArrayList<List<Talk>>(tracks.size());
+                for (List<List<Talk>> track : tracks) {
+                    positionSessions.add(track.get(position));
+                }
+                sessions.add(positionSessions);
+            }
+            return new SessionPlan(sessions, slotTable.getConferenceProfile());
+        }
+
+        int getTrackTime(int track) {
+            int trackTime = 0;
+            for (int time : sessionTimes.get(track)) {
+                trackTime += time;
+            }
+            return trackTime;
+        }
+
+        int getNetworkingStart(int track) {
+            return Math.max(fixedDayTime + getTrackTime(track), slotTable.getConferenceProfile().getNetworkingStart());
+        }
+
+        int getSpread() {
+            int earliest = Integer.MAX_VALUE;
+            int latest = Integer.MIN_VALUE;
+            for (int track = 0; track < tracks.size(); track++) {
+                int networkingStart = getNetworkingStart(track);
+                earliest = Math.min(earliest, networkingStart);
+                latest = Math.max(latest, networkingStart);
+            }
+            return latest - earliest;
+        }
+
+        /**
+         * @return track count times the sum of squared deviations of the networking starts from their mean.
+         * Computed from the offsets to the earliest start, which are at most the spread, so the products
+         * only overflow for millions of tracks, and then with an ArithmeticException.
+         */
+        long getSquaredDeviation() {
+            int earliest = Integer.MAX_VALUE;
+            for (int track = 0; track < tracks.size(); track++) {
+                earliest = Math.min(earliest, getNetworkingStart(track));
+            }
+            long sum = 0;
+            long squares = 0;
+            for (int track = 0; track < tracks.size(); track++) {
+                long offset = getNetworkingStart(track) - earliest;
+                sum += offset;
+                squares += offset * offset;
+            }
+            return Math.subtractExact(Math.multiplyExact(squares, tracks.size()), Math.multiplyExact(sum, sum));
+        }
+
+        boolean isBetterThan(Layout other) {
+            if (tracks.size() != other.tracks.size()) {
+                return tracks.size() < other.tracks.size();
+            }
+            if (getSpread() != other.getSpread()) {
+                return getSpread() < other.getSpread();
+            }
+            // Same track count, so the deviations compare without normalising.
+            return getSquaredDeviation() < other.getSquaredDeviation();
+        }
+
+        boolean canRemoveTracks() {
+            return tracks.size() > slotTable.getConferenceProfile().getMinTracks();
+        }
+
+        /**
+         * Move all talks of the shortest track into the other tracks, longest talk first into the tightest session.
+         * The layout is changed in place, if a talk does not fit the inserted talks are taken out again
+         * and the removed track is put back.
+         */
+        boolean removeTrack() {
+            if (!canRemoveTracks()) {
+                return false;
+            }
+            int shortest = 0;
+            for (int track = 1; track < tracks.size(); track++) {
+                if (getTrackTime(track) < getTrackTime(shortest)) {
+                    shortest = track;
+                }
+            }
+            List<Talk> talks = new ArrayList<Talk>();
+            for (List<Talk> session : tracks.get(shortest)) {
+                talks.addAll(session);
+            }
+            sortByDurationDescending(talks);
+            List<List<Talk>> removedTrack = tracks.remove(shortest);
+            int[] removedTimes = sessionTimes.remove(shortest);
+            int positions = slotTable.getSessionsPerDay();
+            int[] insertedSessions = new int[talks.size()];
+            for (int inserted = 0; inserted < talks.size(); inserted++) {
+                int session = insertBestFit(talks.get(inserted));
+                if (session == -1) {
+                    // Inserted talks are the last of their sessions, take them out in reverse order.
+                    for (int undo = inserted - 1; undo >= 0; undo--) {
+                        int track = insertedSessions[undo] / positions;
+                        int position = insertedSessions[undo] % positions;
+                        List<Talk> sessionTalks = tracks.get(track).get(position);
+                        sessionTalks.remove(sessionTalks.size() - 1);
+                        sessionTimes.get(track)[position] -= talks.get(undo).getTimeDuration();
+                    }
+                    tracks.add(shortest, removedTrack);
+                    sessionTimes.add(shortest, removedTimes);
+                    return false;
+                }
+                insertedSessions[inserted] = session;
+            }
+            return true;
+        }
+
+        /**
+         * @return track * sessions per day + position of the session the talk went into, or -1 if it fits nowhere.
+         */
+        private int insertBestFit(Talk talk) {
+            int bestTrack = -1;
+            int bestPosition = -1;
+            int bestSlack = Integer.MAX_VALUE;
+            for (int track = 0; track < tracks.size(); track++) {
+                int[] times = sessionTimes.get(track);
+                for (int position = 0; position < times.length; position++) {
+                    int slack = slotTable.getMaxTime(position) - times[position] - talk.getTimeDuration();
+                    if (slack >= 0 && slack < bestSlack) {
+                        bestTrack = track;
+                        bestPosition = position;
+                        bestSlack = slack;
+                    }
+                }
+            }
+            if (bestTrack == -1) {
+                return -1;
+            }
+            tracks.get(bestTrack).get(bestPosition).add(talk);
+            sessionTimes.get(bestTrack)[bestPosition] += talk.getTimeDuration();
+            return bestTrack * slotTable.getSessionsPerDay() + bestPosition;
+        }
+
+        /**
+         * Apply the first move, swap or tail exchange which shifts time from a longer to a shorter track.
+         */
+        boolean evenOut(long deadlineNanos) {
+            int trackCount = tracks.size();
+            Integer[] order = new Integer[trackCount];
+            final int[] trackTimes = new int[trackCount];
+            for (int track = 0; track < trackCount; track++) {
+                order[track] = track;
+                trackTimes[track] = getTrackTime(track);
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer first, Integer second) {
+                    return trackTimes[second] - trackTimes[first];
+                }
+            });
+            for (int high = 0; high < trackCount; high++) {
+                for (int low = trackCount - 1; low > high; low--) {
+                    int longer = order[high];
+                    int shorter = order[low];
+                    int difference = trackTimes[longer] - trackTimes[shorter];
+                    if (difference <= 1) {
+                        break;
+                    }
+                    if (System.nanoTime() >= deadlineNanos) {
+                        return false;
+                    }
+                    if (shift(longer, shorter, difference)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Shift between 1 and difference - 1 minutes from the longer to the shorter track.
+         */
+        private boolean shift(int longer, int shorter, int difference) {
+            int[] longerTimes = sessionTimes.get(longer);
+            int[] shorterTimes = sessionTimes.get(shorter);
+            for (int from = 0; from < longerTimes.length; from++) {
+                for (int to = 0; to < shorterTimes.length; to++) {
+                    List<Talk> source = tracks.get(longer).get(from);
+                    List<Talk> target = tracks.get(shorter).get(to);
+                    // Exchange the tails source[i..] and target[j..], a single move or swap is a tail of length 0 or 1.
+                    int sourceTail = longerTimes[from];
+                    for (int i = 0; i <= source.size(); i++) {
+                        int targetTail = shorterTimes[to];
+                        for (int j = 0; j <= target.size(); j++) {
+                            int shifted = sourceTail - targetTail;
+                            if (shifted > 0 && shifted < difference
+                                    && fits(from, longerTimes[from] - shifted) && fits(to, shorterTimes[to] + shifted)) {
+                                exchangeTails(longer, from, i, shorter, to, j, shifted);
+                                return true;
+                            }
+                            if (j < target.size()) {
+                                targetTail -= target.get(j).getTimeDuration();
+                            }
+                        }
+                        if (i < source.size()) {
+                            sourceTail -= source.get(i).getTimeDuration();
+                        }
+                    }
+                    for (int i = 0; i < source.size(); i++) {
+                        int moved = source.get(i).getTimeDuration();
+                        if (moved > 0 && moved < difference && fits(from, longerTimes[from] - moved) && fits(to, shorterTimes[to] + moved)) {
+                            target.add(source.remove(i));
+                            longerTimes[from] -= moved;
+                            shorterTimes[to] += moved;
+                            return true;
+                        }
+                        for (int j = 0; j < target.size(); j++) {
+                            int shifted = moved - target.get(j).getTimeDuration();
+                            if (shifted > 0 && shifted < difference
+                                    && fits(from, longerTimes[from] - shifted) && fits(to, shorterTimes[to] + shifted)) {
+                                Talk swapped = target.set(j, source.get(i));
+                                source.set(i, swapped);
+                                longerTimes[from] -= shifted;
+                                shorterTimes[to] += shifted;
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void exchangeTails(int longer, int from, int i, int shorter, int to, int j, int shifted) {
+            List<Talk> source = tracks.get(longer).get(from);
+            List<Talk> target = tracks.get(shorter).get(to);
+            List<Talk> sourceTail = new ArrayList<Talk>(source.subList(i, source.size()));
+            List<Talk> targetTail = new ArrayList<Talk>(target.subList(j, target.size()));
+            source.subList(i, source.size()).clear();
+            target.subList(j, target.size()).clear();
+            source.addAll(targetTail);
+            target.addAll(sourceTail);
+            sessionTimes.get(longer)[from] -= shifted;
+            sessionTimes.get(shorter)[to] += shifted;
+        }
+
+        private boolean fits(int position, int time) {
+            return time >= slotTable.getMinTime(position) && time <= slotTable.getMaxTime(position);
+        }
+
+        /**
+         * Swap two random talks of two tracks, as long as all sessions stay in their windows.
+         */
+        boolean kick(Random random) {
+            if (tracks.size() < 2) {
+                return false;
+            }
+            for (int attempt = 0; attempt < KICK_ATTEMPTS; attempt++) {
+                int first = random.nextInt(tracks.size());
+                int second = random.nextInt(tracks.size());
+                int firstPosition = random.nextInt(slotTable.getSessionsPerDay());
+                int secondPosition = random.nextInt(slotTable.getSessionsPerDay());
+                List<Talk> firstSession = tracks.get(first).get(firstPosition);
+                List<Talk> secondSession = tracks.get(second).get(secondPosition);
+                if (first == second || firstSession.isEmpty() || secondSession.isEmpty()) {
+                    continue;
+                }
+                int i = random.nextInt(firstSession.size());
+                int j = random.nextInt(secondSession.size());
+                int shifted = firstSession.get(i).getTimeDuration() - secondSession.get(j).getTimeDuration();
+                if (shifted != 0 && fits(firstPosition, sessionTimes.get(first)[firstPosition] - shifted)
+                        && fits(secondPosition, sessionTimes.get(second)[secondPosition] + shifted)) {
+                    Talk swapped = secondSession.set(j, firstSession.get(i));
+                    firstSession.set(i, swapped);
+                    sessionTimes.get(first)[firstPosition] -= shifted;
+                    sessionTimes.get(second)[secondPosition] += shifted;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void sortByDurationDescending(List<Talk> talks) {
+            Collections.sort(talks, new Comparator<Talk>() {
+                @Override
+                public int compare(Talk first, Talk second) {
+                    return second.getTimeDuration() - first.getTimeDuration();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package conference;
+
+import model.Schedule;
+
+import java.io.IOException;
+
+/**
+ * Output stage of a conference schedule, separate from computing it.
+ */
+public interface ScheduleRenderer {
+
+    /**
+     * Renderer which produces no output.
+     */
+    ScheduleRenderer NONE = new ScheduleRenderer() {
+        @Override
+        public void render(Schedule schedule) {
+        }
+    };
+
+    /**
+     * Render the schedule.
+     *
+     * @param schedule
+     * @throws IOException
+     */
+    void render(Schedule schedule) throws IOException;
+}
@@ -0,0 +1,144 @@
+package conference;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import model.Talk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Long running schedule service on the JDK built-in HTTP server, bound to localhost.
+ * <p/>
+ * POST /schedule with one talk per line in the UTF-8 request body returns the schedule as
+ * text, or 400 with the TalkException message. Requests run on a virtual thread per request
+ * when the JDK has them, otherwise on a cached thread pool.
+ */
+public class ScheduleServer {
+
+    private static final Logger LOGGER = Logger.getLogger(ScheduleServer.class.getName());
+    private static final String SCHEDULE_PATH = "/schedule";
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final SchedulingEngine schedulingEngine;
+
+    /**
+     * Constructor for ScheduleServer, the server is started by start().
+     *
+     * @param port             local port, 0 for any free port
+     * @param schedulingEngine engine shared by all requests, must be safe to call from several threads
+     * @throws IOException
+     */
+    public ScheduleServer(int port, SchedulingEngine schedulingEngine) throws IOException {
+        this.schedulingEngine = schedulingEngine;
+        this.executorService = newRequestExecutor();
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.httpServer.createContext(SCHEDULE_PATH, new ScheduleHandler());
+        this.httpServer.setExecutor(executorService);
+    }
+
+    public void start() {
+        httpServer.start();
+        LOGGER.log(Level.INFO, "Schedule server listening on " + httpServer.getAddress());
+    }
+
+    public void stop() {
+        httpServer.stop(STOP_DELAY_SECONDS);
+        executorService.shutdown();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Virtual thread per request executor on JDKs which have it, cached thread pool otherwise.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (Exception e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Schedule the talks of one request, without console output.
+     *
+     * @param talkList
+     * @return the schedule as text
+     * @throws TalkException
+     * @throws IOException
+     */
+    protected String schedule(List<String> talkList) throws TalkException, IOException {
+        ConferenceManager conferenceManager = new ConferenceManager(null, false, schedulingEngine);
+        List<Talk> talks = conferenceManager.validateAndCreateTalkList(talkList);
+        StringWriter writer = new StringWriter();
+        new TextScheduleRenderer(writer).render(conferenceManager.getSchedule(talks));
+        return writer.toString();
+    }
+
+    private final class ScheduleHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "POST");
+                    respond(exchange, 405, "Only POST is supported");
+                    return;
+                }
+                List<String> talkList = readTalkList(exchange);
+                try {
+                    respond(exchange, 200, schedule(talkList));
+                } catch (TalkException e) {
+                    respond(exchange, 400, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                respond(exchange, 500, "Unable to schedule talks");
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private List<String> readTalkList(HttpExchange exchange) throws IOException {
+            List<String> talkList = new ArrayList<String>();
+            BufferedReader bufferedReader = new BufferedReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            String strLine = bufferedReader.readLine();
+            while (strLine != null) {
+                talkList.add(strLine);
+                strLine = bufferedReader.readLine();
+            }
+            return talkList;
+        }
+
+        private void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+            exchange.sendResponseHeaders(status, bytes.length);
+            OutputStream outputStream = exchange.getResponseBody();
+            outputStream.write(bytes);
+            outputStream.close();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package conference;
+
+import model.Schedule;
+import model.ScheduleSlot;
+import model.Talk;
+import model.Track;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary snapshot of a schedule, read and written through NIO channels.
+ * <p/>
+ * Layout, all numbers big-endian:
+ * <pre>
+ * int   magic "CTMS"
+ * short version
+ * int   talk count
+ * talk  duration int, title length int, name length int, title UTF-8 bytes
+ *       (name length &gt;= 0 is the char length of the name as prefix of the title,
+ *       otherwise -1 - byte length of a name which follows the title)
+ * int   track count
+ * track number int, slot count int, slot count times talk index int and start minute int
+ * </pre>
+ * Each talk is stored once in the talk table, slots only refer to it, so a break which is
+ * shared by all tracks stays shared after reading. Sessions follow from the slot times and
+ * the break slots, the snapshot is loaded without parsing talk lines or scheduling again.
+ */
+public final class ScheduleSnapshot {
+
+    public static final int MAGIC = 0x43544D53;
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 2;
+    private static final int TALK_SIZE = 4 + 4 + 4;
+    private static final int TRACK_SIZE = 4 + 4;
+    private static final int SLOT_SIZE = 4 + 4;
+
+    private ScheduleSnapshot() {
+    }
+
+    /**
+     * Write the snapshot of the schedule to a file, an existing file is replaced.
+     *
+     * @param schedule
+     * @param path
+     * @throws IOException
+     */
+    public static void write(Schedule schedule, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            write(schedule, channel);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Write the snapshot of the schedule to the channel.
+     *
+     * @param schedule
+     * @param channel
+     * @throws IOException
+     */
+    public static void write(Schedule schedule, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = encode(schedule);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Read a snapshot file back into a schedule.
+     *
+     * @param path
+     * @return
+     * @throws IOException if the file is no snapshot, is truncated or has a newer version
+     */
+    public static Schedule read(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Schedule snapshot " + path + " is too large, " + size + " bytes");
+            }
+            return decode(readFully(channel, (int) size));
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                throw new EOFException("Schedule snapshot ends after " + buffer.position() + " of " + size + " bytes");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encode the schedule into a buffer ready to be written.
+     *
+     * @param schedule
+     * @return
+     */
+    protected static ByteBuffer encode(Schedule schedule) {
+        Map<Talk, Integer> talkIndices = new IdentityHashMap<Talk, Integer>();
+        List<Talk> talks = new ArrayList<Talk>();
+        List<byte[]> titles = new ArrayList<byte[]>();
+        List<byte[]> names = new ArrayList<byte[]>();
+        int size = HEADER_SIZE + 4 + 4;
+        for (Track track : schedule.getTracks()) {
+            size += TRACK_SIZE + track.getSlots().size() * SLOT_SIZE;
+            for (ScheduleSlot slot : track.getSlots()) {
+                Talk talk = slot.getTalk();
+                if (talkIndices.containsKey(talk)) {
+                    continue;
+                }
+                talkIndices.put(talk, talks.size());
+                talks.add(talk);
+                byte[] title = talk.getTitle().getBytes(StandardCharsets.UTF_8);
+                byte[] name = isTitlePrefix(talk) ? null : talk.getName().getBytes(StandardCharsets.UTF_8);
+                titles.add(title);
+                names.add(name);
+                size += TALK_SIZE + title.length + (name == null ? 0 : name.length);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(talks.size());
+        for (int talk = 0; talk < talks.size(); talk++) {
+            byte[] title = titles.get(talk);
+            byte[] name = names.get(talk);
+            buffer.putInt(talks.get(talk).getTimeDuration());
+            buffer.putInt(title.length);
+            buffer.putInt(name == null ? talks.get(talk).getName().length() : -1 - name.length);
+            buffer.put(title);
+            if (name != null) {
+                buffer.put(name);
+            }
+        }
+        buffer.putInt(schedule.getTracks().size());
+        for (Track track : schedule.getTracks()) {
+            buffer.putInt(track.getNumber());
+            buffer.putInt(track.getSlots().size());
+            for (ScheduleSlot slot : track.getSlots()) {
+                buffer.putInt(talkIndices.get(slot.getTalk()));
+                buffer.putInt(slot.getStartMinute());
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static boolean isTitlePrefix(Talk talk) {
+        return talk.getTitle() != null && talk.getName() != null && talk.getTitle().startsWith(talk.getName());
+    }
+
+    /**
+     * Decode a schedule from the remaining bytes of the buffer.
+     *
+     * @param buffer
+     * @return
+     * @throws IOException if the bytes are no snapshot, are truncated or have a newer version
+     */
+    protected static Schedule decode(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a schedule snapshot");
+            }
+            short version = buffer.getShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported schedule snapshot version " + version);
+            }
+            Talk[] talks = new Talk[checkedCount(buffer, TALK_SIZE)];
+            byte[] bytes = new byte[64];
+            for (int talk = 0; talk < talks.length; talk++) {
+                int duration = buffer.getInt();
+                int titleLength = checkedLength(buffer, buffer.getInt());
+                int nameLength = buffer.getInt();
+                bytes = read(buffer, bytes, titleLength);
+                String title = new String(bytes, 0, titleLength, StandardCharsets.UTF_8);
+                String name;
+                if (nameLength >= 0) {
+                    if (nameLength > title.length()) {
+                        throw new IOException("Corrupt schedule snapshot, name of talk " + talk + " is longer than its title");
+                    }
+                    name = title.substring(0, nameLength);
+                } else {
+                    int nameBytes = checkedLength(buffer, -1 - nameLength);
+                    bytes = read(buffer, bytes, nameBytes);
+                    name = new String(bytes, 0, nameBytes, StandardCharsets.UTF_8);
+                }
+                talks[talk] = new Talk(title, name, duration);
+            }
+
+            int trackCount = checkedCount(buffer, TRACK_SIZE);
+            List<Track> tracks = new ArrayList<Track>(trackCount);
+            for (int track = 0; track < trackCount; track++) {
+                int number = buffer.getInt();
+                int slotCount = checkedCount(buffer, SLOT_SIZE);
+                List<ScheduleSlot> slots = new ArrayList<ScheduleSlot>(slotCount);
+                for (int slot = 0; slot < slotCount; slot++) {
+                    int talk = buffer.getInt();
+                    if (talk < 0 || talk >= talks.length) {
+                        throw new IOException("Corrupt schedule snapshot, unknown talk " + talk + " in track " + number);
+                    }
+                    slots.add(new ScheduleSlot(talks[talk], buffer.getInt()));
+                }
+                tracks.add(new Track(number, slots));
+            }
+            return new Schedule(tracks);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Schedule snapshot is truncated");
+        }
+    }
+
+    /**
+     * Read a count and check that the buffer can hold that many entries of the given minimum size.
+     */
+    private static int checkedCount(ByteBuffer buffer, int entrySize) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * entrySize > buffer.remaining()) {
+            throw new EOFException("Schedule snapshot is truncated, " + count + " entries do not fit");
+        }
+        return count;
+    }
+
+    private static int checkedLength(ByteBuffer buffer, int length) throws IOException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new EOFException("Schedule snapshot is truncated, " + length + " bytes do not fit");
+        }
+        return length;
+    }
+
+    private static byte[] read(ByteBuffer buffer, byte[] bytes, int length) {
+        byte[] target = bytes.length < length ? new byte[Math.max(length, bytes.length * 2)] : bytes;
+        buffer.get(target, 0, length);
+        return target;
+    }
+}
@@ -0,0 +1,156 @@
+package conference;
+
+import model.Schedule;
+import model.ScheduleSlot;
+import model.Talk;
+import model.Track;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Convert between the text output of TextScheduleRenderer and ScheduleSnapshot files.
+ * <p/>
+ * java -cp target/classes conference.ScheduleSnapshotConverter --to-snapshot schedule.txt schedule.ctms
+ * java -cp target/classes conference.ScheduleSnapshotConverter --to-text schedule.ctms schedule.txt
+ * <p/>
+ * Text lines without a talk time, like Lunch, are events which last until the next slot,
+ * an event at the end of a track gets the duration of the networking event.
+ */
+public final class ScheduleSnapshotConverter {
+
+    private static final String TO_SNAPSHOT_OPTION = "--to-snapshot";
+    private static final String TO_TEXT_OPTION = "--to-text";
+    private static final String TRACK_PREFIX = "Track ";
+    private static final int LAST_EVENT_DURATION = 60;
+
+    private ScheduleSnapshotConverter() {
+    }
+
+    /**
+     * Convert the first file into the second one, see the class comment for the options.
+     *
+     * @param args
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3 || !(TO_SNAPSHOT_OPTION.equals(args[0]) || TO_TEXT_OPTION.equals(args[0]))) {
+            System.err.println("Usage: ScheduleSnapshotConverter " + TO_SNAPSHOT_OPTION + " text snapshot | "
+                    + TO_TEXT_OPTION + " snapshot text");
+            System.exit(1);
+            return;
+        }
+        if (TO_SNAPSHOT_OPTION.equals(args[0])) {
+            toSnapshot(Paths.get(args[1]), Paths.get(args[2]));
+        } else {
+            toText(Paths.get(args[1]), Paths.get(args[2]));
+        }
+    }
+
+    /**
+     * Read a text schedule and write it as snapshot.
+     *
+     * @param textFile
+     * @param snapshotFile
+     * @throws IOException
+     * @throws TalkException if the text is no schedule
+     */
+    public static void toSnapshot(Path textFile, Path snapshotFile) throws IOException, TalkException {
+        BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8);
+        Schedule schedule;
+        try {
+            schedule = readText(reader);
+        } finally {
+            reader.close();
+        }
+        ScheduleSnapshot.write(schedule, snapshotFile);
+    }
+
+    /**
+     * Read a snapshot and write it as text schedule.
+     *
+     * @param snapshotFile
+     * @param textFile
+     * @throws IOException
+     */
+    public static void toText(Path snapshotFile, Path textFile) throws IOException {
+        Schedule schedule = ScheduleSnapshot.read(snapshotFile);
+        Writer writer = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8);
+        try {
+            new TextScheduleRenderer(writer).render(schedule);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Parse the text output of TextScheduleRenderer back into a schedule, blank lines are skipped.
+     *
+     * @param reader
+     * @return
+     * @throws IOException
+     * @throws TalkException if a line is neither a track header nor a slot
+     */
+    public static Schedule readText(BufferedReader reader) throws IOException, TalkException {
+        List<Track> tracks = new ArrayList<Track>();
+        int trackNumber = 0;
+        List<Integer> startMinutes = null;
+        List<String> titles = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (line.startsWith(TRACK_PREFIX) && line.endsWith(":")) {
+                if (titles != null) {
+                    tracks.add(toTrack(trackNumber, startMinutes, titles));
+                }
+                trackNumber = parseTrackNumber(line);
+                startMinutes = new ArrayList<Integer>();
+                titles = new ArrayList<String>();
+                continue;
+            }
+            if (titles == null) {
+                throw new TalkException("Schedule slot before the first track, " + line);
+            }
+            startMinutes.add(ScheduleClock.parse(line));
+            titles.add(line.substring(Math.min(line.length(), ScheduleClock.FORMATTED_LENGTH)));
+        }
+        if (titles != null) {
+            tracks.add(toTrack(trackNumber, startMinutes, titles));
+        }
+        return new Schedule(tracks);
+    }
+
+    private static int parseTrackNumber(String line) throws TalkException {
+        try {
+            return Integer.parseInt(line.substring(TRACK_PREFIX.length(), line.length() - 1).trim());
+        } catch (NumberFormatException e) {
+            throw new TalkException("Invalid track header, " + line);
+        }
+    }
+
+    private static Track toTrack(int trackNumber, List<Integer> startMinutes, List<String> titles) {
+        List<ScheduleSlot> slots = new ArrayList<ScheduleSlot>(titles.size());
+        for (int slot = 0; slot < titles.size(); slot++) {
+            String title = titles.get(slot);
+            int startMinute = startMinutes.get(slot);
+            Talk talk;
+            try {
+                talk = TalkParser.parseTalk(title);
+            } catch (TalkException e) {
+                // No talk time, so an event like the lunch which lasts until the next slot.
+                int duration = slot + 1 < titles.size() ? startMinutes.get(slot + 1) - startMinute : LAST_EVENT_DURATION;
+                talk = new Talk(title, title, duration);
+            }
+            slots.add(new ScheduleSlot(talk, startMinute));
+        }
+        return new Track(trackNumber, slots);
+    }
+}
@@ -0,0 +1,36 @@
+package conference;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a timed scheduling stage, only loaded when -Dctm.metrics.jfr=true.
+ */
+@Name("conference.ScheduleStage")
+@Label("Schedule Stage")
+@Category("Conference")
+class ScheduleStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Talks")
+    int talks;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+
+    static void commit(String stage, int talks, long nanos) {
+        ScheduleStageEvent event = new ScheduleStageEvent();
+        if (event.isEnabled()) {
+            event.stage = stage;
+            event.talks = talks;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package conference;
+
+import model.Break;
+import model.ConferenceProfile;
+import model.ScheduleSlot;
+import model.Talk;
+import model.Track;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lazy list of the tracks of a session plan, laid out with the plan's conference profile.
+ * <p/>
+ * A Track is only created when it is asked for, and is not kept, so printing a schedule of
+ * thousands of tracks holds one track at a time. Pages of tracks are a subList of the view.
+ * Breaks and the networking event are shared Talk descriptors, created once per view or once
+ * at all, and slot times stay int minutes until a renderer formats them. The plan is read
+ * on every access, so its session lists must not change while the view is used.
+ */
+public class ScheduleView extends AbstractList<Track> implements RandomAccess {
+
+    // Time duration is just to initialize the Talk object, nothing follows the networking event.
+    private static final int NETWORKING_DURATION = 60;
+    private static final Talk NETWORKING_EVENT = new Talk(ConferenceProfile.NETWORKING_EVENT,
+            ConferenceProfile.NETWORKING_EVENT, NETWORKING_DURATION);
+
+    private final SessionPlan sessionPlan;
+    private final ConferenceProfile conferenceProfile;
+    private final Talk[] breakTalks;
+
+    /**
+     * Constructor for ScheduleView.
+     *
+     * @param sessionPlan
+     */
+    public ScheduleView(SessionPlan sessionPlan) {
+        this.sessionPlan = sessionPlan;
+        this.conferenceProfile = sessionPlan.getConferenceProfile();
+        List<Break> breaks = conferenceProfile.getBreaks();
+        this.breakTalks = new Talk[breaks.size()];
+        for (int position = 0; position < breakTalks.length; position++) {
+            Break sessionBreak = breaks.get(position);
+            breakTalks[position] = new Talk(sessionBreak.getTitle(), sessionBreak.getTitle(), sessionBreak.getDuration());
+        }
+    }
+
+    /**
+     * Lay out the track, sessions one after another with a break after every session but the last,
+     * then the networking event, not before its earliest start.
+     *
+     * @param index track index, starting with 0
+     * @return track with number index + 1
+     */
+    @Override
+    public Track get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Track index " + index + ", tracks " + size());
+        }
+        List<List<Talk>> trackSessions = new ArrayList<List<Talk>>(sessionPlan.getSessionsPerDay());
+        int slotCount = breakTalks.length + 1;
+        for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+            List<Talk> session = sessionPlan.getSessions(position).get(index);
+            trackSessions.add(session);
+            slotCount += session.size();
+        }
+
+        List<ScheduleSlot> slots = new ArrayList<ScheduleSlot>(slotCount);
+        int scheduledMinute = conferenceProfile.getDayStart();
+        for (int position = 0; position < trackSessions.size(); position++) {
+            for (Talk talk : trackSessions.get(position)) {
+                slots.add(new ScheduleSlot(talk, scheduledMinute));
+                scheduledMinute += talk.getTimeDuration();
+            }
+            if (position < breakTalks.length) {
+                slots.add(new ScheduleSlot(breakTalks[position], scheduledMinute));
+                scheduledMinute += breakTalks[position].getTimeDuration();
+            }
+        }
+        scheduledMinute = Math.max(scheduledMinute, conferenceProfile.getNetworkingStart());
+        slots.add(new ScheduleSlot(NETWORKING_EVENT, scheduledMinute));
+        return new Track(index + 1, slots);
+    }
+
+    @Override
+    public int size() {
+        return sessionPlan.getTrackCount();
+    }
+}
@@ -0,0 +1,176 @@
+package conference;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Timers and counters of the scheduling stages.
+ * <p/>
+ * Metrics are off unless the JVM is started with -Dctm.metrics=true, then they are exported as
+ * MXBean conference:type=SchedulerMetrics. With -Dctm.metrics.jfr=true every timed stage is also
+ * committed as a conference.ScheduleStage JFR event. ENABLED is a constant, so with metrics off
+ * the JIT removes the calls and the stages only pay for a static field check.
+ */
+public final class SchedulerMetrics implements SchedulerMetricsMXBean {
+
+    /**
+     * Timed stages of scheduling a conference. Tracks are laid out lazily while they are rendered,
+     * so their layout is part of RENDER.
+     */
+    public enum Stage {
+        READ_FILE, VALIDATE, PRE_CHECK, PLAN_SESSIONS, FIND_SESSIONS, PREPARE, RENDER
+    }
+
+    public static final boolean ENABLED = Boolean.getBoolean("ctm.metrics");
+    public static final String OBJECT_NAME = "conference:type=SchedulerMetrics";
+
+    private static final Logger LOGGER = Logger.getLogger(SchedulerMetrics.class.getName());
+    private static final boolean JFR_ENABLED = ENABLED && Boolean.getBoolean("ctm.metrics.jfr");
+    private static final SchedulerMetrics INSTANCE = new SchedulerMetrics();
+
+    private final Map<Stage, LongAdder> stageCalls = new EnumMap<Stage, LongAdder>(Stage.class);
+    private final Map<Stage, LongAdder> stageNanos = new EnumMap<Stage, LongAdder>(Stage.class);
+    private final LongAdder talksProcessed = new LongAdder();
+    private final LongAdder combinationsTried = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Scheduler metrics are not exported: " + e.getMessage());
+            }
+        }
+    }
+
+    private SchedulerMetrics() {
+        for (Stage stage : Stage.values()) {
+            stageCalls.put(stage, new LongAdder());
+            stageNanos.put(stage, new LongAdder());
+        }
+    }
+
+    /**
+     * @return the metrics of this JVM.
+     */
+    public static SchedulerMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start timing a stage.
+     *
+     * @return start time for stop, 0 if metrics are off.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stop timing a stage.
+     *
+     * @param stage
+     * @param start     value of start()
+     * @param talkCount talks handled by the stage
+     */
+    public static void stop(Stage stage, long start, int talkCount) {
+        if (!ENABLED) {
+            return;
+        }
+        record(stage, System.nanoTime() - start, talkCount);
+    }
+
+    /**
+     * @param start value of start()
+     * @return nanoseconds since start, 0 if metrics are off.
+     */
+    public static long elapsed(long start) {
+        return ENABLED ? System.nanoTime() - start : 0;
+    }
+
+    /**
+     * Record a stage which was timed in parts, like parsing the lines of a file while it is read.
+     *
+     * @param stage
+     * @param nanos     time of all parts
+     * @param talkCount talks handled by the stage
+     */
+    public static void record(Stage stage, long nanos, int talkCount) {
+        if (!ENABLED) {
+            return;
+        }
+        INSTANCE.stageCalls.get(stage).increment();
+        INSTANCE.stageNanos.get(stage).add(nanos);
+        if (stage == Stage.VALIDATE) {
+            INSTANCE.talksProcessed.add(talkCount);
+        }
+        if (JFR_ENABLED) {
+            ScheduleStageEvent.commit(stage.name(), talkCount, nanos);
+        }
+    }
+
+    /**
+     * Count the work of a session search.
+     *
+     * @param combinations session combinations tried
+     * @param backtrackCount
+     */
+    public static void countSearch(long combinations, long backtrackCount) {
+        if (!ENABLED) {
+            return;
+        }
+        INSTANCE.combinationsTried.add(combinations);
+        INSTANCE.backtracks.add(backtrackCount);
+    }
+
+    @Override
+    public Map<String, Long> getStageCalls() {
+        return toMap(stageCalls);
+    }
+
+    @Override
+    public Map<String, Long> getStageNanos() {
+        return toMap(stageNanos);
+    }
+
+    @Override
+    public long getTalksProcessed() {
+        return talksProcessed.sum();
+    }
+
+    @Override
+    public long getCombinationsTried() {
+        return combinationsTried.sum();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (Stage stage : Stage.values()) {
+            stageCalls.get(stage).reset();
+            stageNanos.get(stage).reset();
+        }
+        talksProcessed.reset();
+        combinationsTried.reset();
+        backtracks.reset();
+    }
+
+    private static Map<String, Long> toMap(Map<Stage, LongAdder> values) {
+        Map<String, Long> map = new LinkedHashMap<String, Long>();
+        for (Map.Entry<Stage, LongAdder> entry : values.entrySet()) {
+            map.put(entry.getKey().name(), entry.getValue().sum());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,27 @@
+package conference;
+
+import java.util.Map;
+
+/**
+ * JMX view of SchedulerMetrics.
+ */
+public interface SchedulerMetricsMXBean {
+
+    /**
+     * @return completed calls per stage name.
+     */
+    Map<String, Long> getStageCalls();
+
+    /**
+     * @return total time in nanoseconds per stage name.
+     */
+    Map<String, Long> getStageNanos();
+
+    long getTalksProcessed();
+
+    long getCombinationsTried();
+
+    long getBacktracks();
+
+    void reset();
+}
@@ -0,0 +1,21 @@
+package conference;
+
+import model.Talk;
+
+import java.util.List;
+
+/**
+ * Strategy used by ConferenceManager to pack validated talks into
+ * morning and evening sessions.
+ */
+public interface SchedulingEngine {
+
+    /**
+     * Pack all talks into morning and evening sessions, one of each per track.
+     *
+     * @param talks
+     * @return planned sessions
+     * @throws TalkException if the talks can not be scheduled
+     */
+    SessionPlan planSessions(List<Talk> talks) throws TalkException;
+}
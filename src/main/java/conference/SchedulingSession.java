@@ -0,0 +1,617 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+import model.TalkConstraint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Stateful scheduling of a changing talk list.
+ * <p/>
+ * The session keeps the current sessions of every track, numbered as in the SlotTable. Adding,
+ * removing or changing a talk repairs only the sessions it touches, with moves of single
+ * talks and swaps between two sessions.
+ * Talks are added to and taken from flexible sessions, like the evening, sessions which have
+ * to be filled exactly, like the morning, only change to close a gap.
+ * The flexible sessions of each position of the day are indexed by their talk time, and by the
+ * durations of their unconstrained talks, so a repair looks up its sessions in O(log n) per
+ * distinct duration instead of a pass over all sessions.
+ * Talks with a TalkConstraint are never moved to repair another session, an added or changed
+ * talk only goes into a session its constraint allows: an allowed position, the pinned start
+ * minute with no other pinned talk, and no talk of the same speaker in an overlapping session
+ * of another track. A pinned talk opens its session.
+ * Only if no local repair exists, or the track count has to change, all talks are packed
+ * again by the scheduling engine.
+ */
+public class SchedulingSession {
+
+    private final SchedulingEngine schedulingEngine;
+    private final SlotTable slotTable;
+    private final Map<Talk, Integer> talkSessions = new IdentityHashMap<Talk, Integer>();
+    private final Map<String, List<Talk>> speakerTalks = new HashMap<String, List<Talk>>();
+    private List<List<Talk>> sessions;
+    private int[] sessionTimes;
+    // Per position of the day, null for fixed positions: the flexible sessions by talk time, and
+    // by the duration of their unconstrained talks. Keys are talk time << 32 | session.
+    private List<TreeSet<Long>> sessionsByTime;
+    private List<TreeMap<Integer, TreeSet<Long>>> sessionsByDuration;
+    private int tracks;
+    private int totalTime;
+    private int fullReschedules;
+    private final List<Talk> movedTalks = new ArrayList<Talk>();
+    private final List<Integer> movedFrom = new ArrayList<Integer>();
+
+    /**
+     * Constructor for SchedulingSession with the default conference profile, schedules the initial talks.
+     *
+     * @param talks
+     * @param schedulingEngine engine for the initial schedule and for changes which can not be repaired locally
+     * @throws TalkException if the initial talks can not be scheduled
+     */
+    public SchedulingSession(List<Talk> talks, SchedulingEngine schedulingEngine) throws TalkException {
+        this(talks, schedulingEngine, ConferenceProfile.DEFAULT);
+    }
+
+    /**
+     * Constructor for SchedulingSession, schedules the initial talks.
+     *
+     * @param talks
+     * @param schedulingEngine  engine for the initial schedule and for changes which can not be repaired locally,
+     *                          it has to honour the constraints of the talks
+     * @param conferenceProfile profile the engine plans for
+     * @throws TalkException if the initial talks can not be scheduled
+     */
+    public SchedulingSession(List<Talk> talks, SchedulingEngine schedulingEngine, ConferenceProfile conferenceProfile) throws TalkException {
+        this.schedulingEngine = schedulingEngine;
+        this.slotTable = SlotTable.compile(conferenceProfile);
+        load(schedulingEngine.planSessions(talks));
+    }
+
+    /**
+     * Add a talk, it goes into a flexible session, moving at most one other talk to make room.
+     *
+     * @param talk
+     * @throws TalkException if the talk is already scheduled, or the talks can not be scheduled with the new talk,
+     *                       the session is unchanged then.
+     */
+    public void addTalk(Talk talk) throws TalkException {
+        if (talkSessions.containsKey(talk)) {
+            throw new TalkException("Talk " + talk.getTitle() + " is already scheduled");
+        }
+        int duration = talk.getTimeDuration();
+        if (totalTime + duration <= tracks * slotTable.getDayMaxTime() && (insertIntoFlexible(talk) || moveAndInsert(talk))) {
+            totalTime += duration;
+            return;
+        }
+        List<Talk> talks = getTalks();
+        talks.add(talk);
+        reschedule(talks);
+    }
+
+    /**
+     * Withdraw a talk and refill its session from the flexible sessions.
+     *
+     * @param talk
+     * @throws TalkException if the remaining talks can not be scheduled, the session is unchanged then.
+     */
+    public void removeTalk(Talk talk) throws TalkException {
+        Integer session = talkSessions.get(talk);
+        if (session == null) {
+            throw new TalkException("Talk " + talk.getTitle() + " is not scheduled");
+        }
+        int duration = talk.getTimeDuration();
+        if (totalTime - duration >= tracks * slotTable.getDayMinTime()) {
+            clearMoves();
+            remove(talk, session);
+            if (repair(session)) {
+                totalTime -= duration;
+                return;
+            }
+            undoMoves();
+            add(talk, session);
+        }
+        List<Talk> talks = getTalks();
+        removeByIdentity(talks, talk);
+        reschedule(talks);
+    }
+
+    /**
+     * Change the duration of a talk.
+     *
+     * @param talk
+     * @param duration new duration in minutes
+     * @return the talk with the new duration, which replaces the given talk in the schedule
+     * @throws TalkException if the talks can not be scheduled with the new duration, the session is unchanged then.
+     */
+    public Talk changeDuration(Talk talk, int duration) throws TalkException {
+        Talk changedTalk = new Talk(talk.getTitle(), talk.getName(), duration, talk.getConstraint());
+        Integer session = talkSessions.get(talk);
+        if (session == null) {
+            throw new TalkException("Talk " + talk.getTitle() + " is not scheduled");
+        }
+        int newTotalTime = totalTime - talk.getTimeDuration() + duration;
+        if (newTotalTime >= tracks * slotTable.getDayMinTime() && newTotalTime <= tracks * slotTable.getDayMaxTime()) {
+            // Same session first, then the talk is withdrawn and added again.
+            clearMoves();
+            remove(talk, session);
+            int sessionTime = sessionTimes[session] + duration;
+            if (sessionTime >= getMinTime(session) && sessionTime <= getMaxTime(session)) {
+                add(changedTalk, session);
+                totalTime = newTotalTime;
+                return changedTalk;
+            }
+            if (repair(session) && (insertIntoFlexible(changedTalk) || moveAndInsert(changedTalk))) {
+                totalTime = newTotalTime;
+                return changedTalk;
+            }
+            undoMoves();
+            add(talk, session);
+        }
+        List<Talk> talks = getTalks();
+        talks.set(indexByIdentity(talks, talk), changedTalk);
+        reschedule(talks);
+        return changedTalk;
+    }
+
+    /**
+     * @return copy of the current morning and evening sessions.
+     */
+    public SessionPlan getSessionPlan() {
+        List<List<Talk>> copy = new ArrayList<List<Talk>>();
+        for (List<Talk> session : sessions) {
+            copy.add(new ArrayList<Talk>(session));
+        }
+        return SessionPlan.fromNumberedSessions(copy, tracks, slotTable.getConferenceProfile());
+    }
+
+    /**
+     * @return how often all talks had to be packed again since the session was created.
+     */
+    public int getFullReschedules() {
+        return fullReschedules;
+    }
+
+    /**
+     * Put the talk into the fullest flexible session it fits into.
+     */
+    private boolean insertIntoFlexible(Talk talk) {
+        int duration = talk.getTimeDuration();
+        int bestSession = -1;
+        int bestSlack = Integer.MAX_VALUE;
+        for (int position = 0; position < sessionsByTime.size(); position++) {
+            TreeSet<Long> byTime = sessionsByTime.get(position);
+            if (byTime == null) {
+                continue;
+            }
+            int maxTime = slotTable.getMaxTime(position);
+            // A constrained talk walks on to emptier sessions until one allows it.
+            for (Long key : byTime.headSet(key(maxTime - duration, Integer.MAX_VALUE), true).descendingSet()) {
+                int session = sessionOf(key);
+                if (allows(talk, session)) {
+                    int slack = maxTime - sessionTimes[session] - duration;
+                    if (slack < bestSlack) {
+                        bestSession = session;
+                        bestSlack = slack;
+                    }
+                    break;
+                }
+            }
+        }
+        if (bestSession == -1) {
+            return false;
+        }
+        add(talk, bestSession);
+        return true;
+    }
+
+    /**
+     * Put the talk into a flexible session after moving one of its talks into another flexible session.
+     */
+    private boolean moveAndInsert(Talk talk) {
+        int duration = talk.getTimeDuration();
+        for (int position = 0; position < sessionsByDuration.size(); position++) {
+            TreeMap<Integer, TreeSet<Long>> byDuration = sessionsByDuration.get(position);
+            if (byDuration == null) {
+                continue;
+            }
+            int minTime = slotTable.getMinTime(position);
+            int maxTime = slotTable.getMaxTime(position);
+            for (Map.Entry<Integer, TreeSet<Long>> entry : byDuration.entrySet()) {
+                int movedDuration = entry.getKey();
+                int target = findFlexible(movedDuration, -1);
+                if (target == -1) {
+                    continue;
+                }
+                // Sessions which stay in their window when a talk of the moved duration makes room for the talk.
+                NavigableSet<Long> fitting = entry.getValue().subSet(key(minTime - duration + movedDuration, 0), true,
+                        key(maxTime - duration + movedDuration, Integer.MAX_VALUE), true);
+                for (Long key : fitting) {
+                    int session = sessionOf(key);
+                    int sessionTarget = session == target ? findFlexible(movedDuration, session) : target;
+                    if (sessionTarget != -1 && allows(talk, session)) {
+                        move(movableTalk(session, movedDuration), session, sessionTarget);
+                        add(talk, session);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bring the session back into its window after a talk left it, with talks from flexible sessions.
+     */
+    private boolean repair(int session) {
+        if (!isFlexible(session)) {
+            return fillFixed(session);
+        }
+        while (sessionTimes[session] < getMinTime(session)) {
+            if (!pullIntoFlexible(session)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fill the gap of a fixed session by moving one talk of the gap length from a flexible session,
+     * or by swapping one of its talks with a flexible session talk which is longer by the gap.
+     */
+    private boolean fillFixed(int fixed) {
+        int gap = getMinTime(fixed) - sessionTimes[fixed];
+        if (gap == 0) {
+            return true;
+        }
+        int flexible = fullestWithTalk(gap, gap);
+        if (flexible != -1) {
+            move(movableTalk(flexible, gap), flexible, fixed);
+            return true;
+        }
+        for (Talk fixedTalk : new ArrayList<Talk>(sessions.get(fixed))) {
+            if (!isMovable(fixedTalk)) {
+                continue;
+            }
+            int wanted = fixedTalk.getTimeDuration() + gap;
+            // The flexible session only loses the gap.
+            flexible = fullestWithTalk(wanted, gap);
+            if (flexible != -1) {
+                move(movableTalk(flexible, wanted), flexible, fixed);
+                move(fixedTalk, fixed, flexible);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move the largest fitting talk another flexible session can spare into this session.
+     */
+    private boolean pullIntoFlexible(int target) {
+        int free = getMaxTime(target) - sessionTimes[target];
+        int bestDuration = 0;
+        int bestSession = -1;
+        for (int position = 0; position < sessionsByDuration.size(); position++) {
+            TreeMap<Integer, TreeSet<Long>> byDuration = sessionsByDuration.get(position);
+            if (byDuration == null) {
+                continue;
+            }
+            for (Map.Entry<Integer, TreeSet<Long>> entry : byDuration.headMap(free, true).descendingMap().entrySet()) {
+                int duration = entry.getKey();
+                if (duration <= bestDuration) {
+                    break;
+                }
+                int session = fullestExcept(entry.getValue(), target);
+                if (session != -1 && sessionTimes[session] - duration >= getMinTime(session)) {
+                    bestDuration = duration;
+                    bestSession = session;
+                    break;
+                }
+            }
+        }
+        if (bestSession == -1) {
+            return false;
+        }
+        move(movableTalk(bestSession, bestDuration), bestSession, target);
+        return true;
+    }
+
+    /**
+     * @return the fullest flexible session the talk time fits into, or -1.
+     */
+    private int findFlexible(int duration, int excludedSession) {
+        for (int position = 0; position < sessionsByTime.size(); position++) {
+            TreeSet<Long> byTime = sessionsByTime.get(position);
+            if (byTime != null) {
+                int session = fullestExcept(byTime.headSet(key(slotTable.getMaxTime(position) - duration, Integer.MAX_VALUE), true),
+                        excludedSession);
+                if (session != -1) {
+                    return session;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param duration duration of an unconstrained talk the session has
+     * @param spare    talk time the session has to be able to lose
+     * @return the fullest flexible session with such a talk, or -1.
+     */
+    private int fullestWithTalk(int duration, int spare) {
+        for (int position = 0; position < sessionsByDuration.size(); position++) {
+            TreeMap<Integer, TreeSet<Long>> byDuration = sessionsByDuration.get(position);
+            TreeSet<Long> sameDuration = byDuration == null ? null : byDuration.get(duration);
+            if (sameDuration != null) {
+                int session = sameDuration.isEmpty() ? -1 : sessionOf(sameDuration.last());
+                if (session != -1 && sessionTimes[session] - spare >= slotTable.getMinTime(position)) {
+                    return session;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int fullestExcept(NavigableSet<Long> byTime, int excludedSession) {
+        if (byTime.isEmpty()) {
+            return -1;
+        }
+        Long key = byTime.last();
+        if (sessionOf(key) == excludedSession) {
+            key = byTime.lower(key);
+        }
+        return key == null ? -1 : sessionOf(key);
+    }
+
+    private Talk movableTalk(int session, int duration) {
+        for (Talk talk : sessions.get(session)) {
+            if (isMovable(talk) && talk.getTimeDuration() == duration) {
+                return talk;
+            }
+        }
+        throw new IllegalStateException("No talk of " + duration + " min in session " + session);
+    }
+
+    /**
+     * Talks with a constraint stay where they are, zero length talks would not change a session time.
+     */
+    private static boolean isMovable(Talk talk) {
+        return talk.getConstraint() == null && talk.getTimeDuration() > 0;
+    }
+
+    /**
+     * @return true if the constraint of the talk allows it in the session.
+     */
+    private boolean allows(Talk talk, int session) {
+        TalkConstraint constraint = talk.getConstraint();
+        if (constraint == null) {
+            return true;
+        }
+        int position = session / tracks;
+        if (!constraint.allowsPosition(position)) {
+            return false;
+        }
+        if (constraint.isPinned() && (slotTable.getStartMinute(position) != constraint.getPinnedMinute() || hasPinnedTalk(session))) {
+            return false;
+        }
+        String speaker = constraint.getSpeaker();
+        if (speaker != null && speakerTalks.containsKey(speaker)) {
+            int overlapping = slotTable.getOverlappingPositions(position);
+            for (Talk other : speakerTalks.get(speaker)) {
+                Integer otherSession = talkSessions.get(other);
+                if (other != talk && otherSession != null && otherSession % tracks != session % tracks
+                        && (overlapping & (1 << (otherSession / tracks))) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean hasPinnedTalk(int session) {
+        List<Talk> sessionTalks = sessions.get(session);
+        return !sessionTalks.isEmpty() && isPinned(sessionTalks.get(0));
+    }
+
+    private static boolean isPinned(Talk talk) {
+        return talk.getConstraint() != null && talk.getConstraint().isPinned();
+    }
+
+    private static String getSpeaker(Talk talk) {
+        return talk.getConstraint() == null ? null : talk.getConstraint().getSpeaker();
+    }
+
+    private boolean isFlexible(int session) {
+        return !slotTable.isFixed(session / tracks);
+    }
+
+    private int getMinTime(int session) {
+        return slotTable.getMinTime(session / tracks);
+    }
+
+    private int getMaxTime(int session) {
+        return slotTable.getMaxTime(session / tracks);
+    }
+
+    /**
+     * Move a talk between sessions and remember the move, so a failed repair can be undone.
+     */
+    private void move(Talk talk, int from, int to) {
+        remove(talk, from);
+        add(talk, to);
+        movedTalks.add(talk);
+        movedFrom.add(from);
+    }
+
+    private void undoMoves() {
+        for (int i = movedTalks.size() - 1; i >= 0; i--) {
+            Talk talk = movedTalks.get(i);
+            remove(talk, talkSessions.get(talk));
+            add(talk, movedFrom.get(i));
+        }
+        clearMoves();
+    }
+
+    private void clearMoves() {
+        movedTalks.clear();
+        movedFrom.clear();
+    }
+
+    private void add(Talk talk, int session) {
+        unindex(session);
+        if (isPinned(talk)) {
+            sessions.get(session).add(0, talk);
+        } else {
+            sessions.get(session).add(talk);
+        }
+        sessionTimes[session] += talk.getTimeDuration();
+        index(session);
+        talkSessions.put(talk, session);
+        addSpeakerTalk(talk);
+    }
+
+    private void addSpeakerTalk(Talk talk) {
+        String speaker = getSpeaker(talk);
+        if (speaker != null) {
+            List<Talk> talks = speakerTalks.get(speaker);
+            if (talks == null) {
+                talks = new ArrayList<Talk>();
+                speakerTalks.put(speaker, talks);
+            }
+            talks.add(talk);
+        }
+    }
+
+    private void remove(Talk talk, int session) {
+        unindex(session);
+        removeByIdentity(sessions.get(session), talk);
+        sessionTimes[session] -= talk.getTimeDuration();
+        index(session);
+        talkSessions.remove(talk);
+        String speaker = getSpeaker(talk);
+        if (speaker != null) {
+            List<Talk> talks = speakerTalks.get(speaker);
+            removeByIdentity(talks, talk);
+            if (talks.isEmpty()) {
+                speakerTalks.remove(speaker);
+            }
+        }
+    }
+
+    /**
+     * Put a flexible session into the indices of its position, with its current talks and time.
+     */
+    private void index(int session) {
+        int position = session / tracks;
+        if (slotTable.isFixed(position)) {
+            return;
+        }
+        long key = key(sessionTimes[session], session);
+        sessionsByTime.get(position).add(key);
+        TreeMap<Integer, TreeSet<Long>> byDuration = sessionsByDuration.get(position);
+        for (Talk talk : sessions.get(session)) {
+            if (isMovable(talk)) {
+                TreeSet<Long> sameDuration = byDuration.get(talk.getTimeDuration());
+                if (sameDuration == null) {
+                    sameDuration = new TreeSet<Long>();
+                    byDuration.put(talk.getTimeDuration(), sameDuration);
+                }
+                sameDuration.add(key);
+            }
+        }
+    }
+
+    /**
+     * Take a flexible session out of the indices, before its talks or time change.
+     */
+    private void unindex(int session) {
+        int position = session / tracks;
+        if (slotTable.isFixed(position)) {
+            return;
+        }
+        long key = key(sessionTimes[session], session);
+        sessionsByTime.get(position).remove(key);
+        TreeMap<Integer, TreeSet<Long>> byDuration = sessionsByDuration.get(position);
+        for (Talk talk : sessions.get(session)) {
+            TreeSet<Long> sameDuration = isMovable(talk) ? byDuration.get(talk.getTimeDuration()) : null;
+            if (sameDuration != null && sameDuration.remove(key) && sameDuration.isEmpty()) {
+                byDuration.remove(talk.getTimeDuration());
+            }
+        }
+    }
+
+    private static long key(int time, int session) {
+        return (long) time << 32 | session;
+    }
+
+    private static int sessionOf(long key) {
+        return (int) key;
+    }
+
+    private void reschedule(List<Talk> talks) throws TalkException {
+        SessionPlan sessionPlan = schedulingEngine.planSessions(talks);
+        fullReschedules++;
+        load(sessionPlan);
+    }
+
+    private void load(SessionPlan sessionPlan) {
+        tracks = sessionPlan.getTrackCount();
+        sessions = new ArrayList<List<Talk>>();
+        for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+            for (List<Talk> session : sessionPlan.getSessions(position)) {
+                sessions.add(new ArrayList<Talk>(session));
+            }
+        }
+        sessionTimes = new int[sessions.size()];
+        talkSessions.clear();
+        speakerTalks.clear();
+        totalTime = 0;
+        for (int session = 0; session < sessions.size(); session++) {
+            for (Talk talk : sessions.get(session)) {
+                sessionTimes[session] += talk.getTimeDuration();
+                talkSessions.put(talk, session);
+                addSpeakerTalk(talk);
+            }
+            totalTime += sessionTimes[session];
+        }
+        sessionsByTime = new ArrayList<TreeSet<Long>>();
+        sessionsByDuration = new ArrayList<TreeMap<Integer, TreeSet<Long>>>();
+        for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+            boolean flexible = !slotTable.isFixed(position);
+            sessionsByTime.add(flexible ? new TreeSet<Long>() : null);
+            sessionsByDuration.add(flexible ? new TreeMap<Integer, TreeSet<Long>>() : null);
+        }
+        for (int session = 0; session < sessions.size(); session++) {
+            index(session);
+        }
+    }
+
+    private List<Talk> getTalks() {
+        List<Talk> talks = new ArrayList<Talk>(talkSessions.size());
+        for (List<Talk> session : sessions) {
+            talks.addAll(session);
+        }
+        return talks;
+    }
+
+    private static int indexByIdentity(List<Talk> talks, Talk talk) {
+        for (int i = 0; i < talks.size(); i++) {
+            if (talks.get(i) == talk) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void removeByIdentity(List<Talk> talks, Talk talk) {
+        talks.remove(indexByIdentity(talks, talk));
+    }
+}
@@ -0,0 +1,14 @@
+package conference;
+
+/**
+ * No plan was found within the time limit of a search, unlike other TalkExceptions of the
+ * engines this does not prove that the talks can not be scheduled.
+ */
+public class SchedulingTimeoutException extends TalkException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SchedulingTimeoutException(String exception) {
+        super(exception);
+    }
+}
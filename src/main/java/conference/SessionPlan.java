@@ -0,0 +1,85 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result of a SchedulingEngine, the sessions of each track.
+ * Index i of the session lists belongs to track i + 1.
+ */
+public class SessionPlan {
+
+    private final List<List<List<Talk>>> sessions;
+    private final ConferenceProfile conferenceProfile;
+
+    /**
+     * Constructor for SessionPlan with the morning and evening session of the default profile.
+     *
+     * @param morningSessions
+     * @param eveningSessions
+     */
+    @SuppressWarnings("unchecked")
+    public SessionPlan(List<List<Talk>> morningSessions, List<List<Talk>> eveningSessions) {
+        this(Arrays.asList(morningSessions, eveningSessions), ConferenceProfile.DEFAULT);
+    }
+
+    /**
+     * Constructor for SessionPlan.
+     *
+     * @param sessions          sessions by position in the day, then by track
+     * @param conferenceProfile layout the sessions were planned for
+     */
+    public SessionPlan(List<List<List<Talk>>> sessions, ConferenceProfile conferenceProfile) {
+        this.sessions = sessions;
+        this.conferenceProfile = conferenceProfile;
+    }
+
+    /**
+     * Create a plan from sessions numbered like in a SlotTable, position by position.
+     *
+     * @param numberedSessions
+     * @param tracks
+     * @param conferenceProfile
+     * @return
+     */
+    public static SessionPlan fromNumberedSessions(List<List<Talk>> numberedSessions, int tracks, ConferenceProfile conferenceProfile) {
+        int positions = conferenceProfile.getSessions().size();
+        List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>(positions);
+        for (int position = 0; position < positions; position++) {
+            sessions.add(new ArrayList<List<Talk>>(numberedSessions.subList(position * tracks, (position + 1) * tracks)));
+        }
+        return new SessionPlan(sessions, conferenceProfile);
+    }
+
+    public List<List<Talk>> getMorningSessions() {
+        return sessions.get(0);
+    }
+
+    public List<List<Talk>> getEveningSessions() {
+        return sessions.get(sessions.size() - 1);
+    }
+
+    /**
+     * @param position position of the session in the day
+     * @return the session at this position of every track
+     */
+    public List<List<Talk>> getSessions(int position) {
+        return sessions.get(position);
+    }
+
+    public int getSessionsPerDay() {
+        return sessions.size();
+    }
+
+    public int getTrackCount() {
+        return sessions.get(0).size();
+    }
+
+    public ConferenceProfile getConferenceProfile() {
+        return conferenceProfile;
+    }
+}
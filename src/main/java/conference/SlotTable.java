@@ -0,0 +1,187 @@
+package conference;
+
+import model.Break;
+import model.ConferenceProfile;
+import model.SessionWindow;
+
+import java.util.List;
+
+/**
+ * ConferenceProfile compiled into the numbers the scheduling loops need.
+ * <p/>
+ * Session windows are plain arrays by position of the session in the day, together with the
+ * time the later sessions of a day need at least and take at most, so the bounds of the rest
+ * of a schedule are a few array reads. Sessions of all tracks are numbered position by position,
+ * session s of a schedule with n tracks is at position s / n of track s % n.
+ */
+public final class SlotTable {
+
+    public static final SlotTable DEFAULT = compile(ConferenceProfile.DEFAULT);
+
+    private final ConferenceProfile conferenceProfile;
+    private final int[] minTimes;
+    private final int[] maxTimes;
+    private final int[] minTimesAfter;
+    private final int[] maxTimesAfter;
+    private final int[] earliestStarts;
+    private final int[] latestStarts;
+    private final int[] overlappingPositions;
+    private final int dayMinTime;
+    private final int dayMaxTime;
+    private final int longestSession;
+
+    private SlotTable(ConferenceProfile conferenceProfile) {
+        this.conferenceProfile = conferenceProfile;
+        List<SessionWindow> sessions = conferenceProfile.getSessions();
+        int positions = sessions.size();
+        minTimes = new int[positions];
+        maxTimes = new int[positions];
+        minTimesAfter = new int[positions + 1];
+        maxTimesAfter = new int[positions + 1];
+        int longest = 0;
+        for (int position = positions - 1; position >= 0; position--) {
+            minTimes[position] = sessions.get(position).getMinDuration();
+            maxTimes[position] = sessions.get(position).getMaxDuration();
+            minTimesAfter[position] = minTimesAfter[position + 1] + minTimes[position];
+            maxTimesAfter[position] = maxTimesAfter[position + 1] + maxTimes[position];
+            longest = Math.max(longest, maxTimes[position]);
+        }
+        dayMinTime = minTimesAfter[0];
+        dayMaxTime = maxTimesAfter[0];
+        longestSession = longest;
+
+        List<Break> breaks = conferenceProfile.getBreaks();
+        earliestStarts = new int[positions];
+        latestStarts = new int[positions];
+        earliestStarts[0] = conferenceProfile.getDayStart();
+        latestStarts[0] = conferenceProfile.getDayStart();
+        for (int position = 1; position < positions; position++) {
+            int breakTime = breaks.get(position - 1).getDuration();
+            earliestStarts[position] = earliestStarts[position - 1] + minTimes[position - 1] + breakTime;
+            latestStarts[position] = latestStarts[position - 1] + maxTimes[position - 1] + breakTime;
+        }
+        // Positions of two tracks may only overlap in time if their possible start-to-end ranges meet.
+        overlappingPositions = new int[positions];
+        for (int position = 0; position < positions; position++) {
+            for (int other = 0; other < positions; other++) {
+                if (earliestStarts[other] < latestStarts[position] + maxTimes[position]
+                        && earliestStarts[position] < latestStarts[other] + maxTimes[other]) {
+                    overlappingPositions[position] |= 1 << other;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param conferenceProfile
+     * @return slot table of the profile
+     */
+    public static SlotTable compile(ConferenceProfile conferenceProfile) {
+        return new SlotTable(conferenceProfile);
+    }
+
+    public ConferenceProfile getConferenceProfile() {
+        return conferenceProfile;
+    }
+
+    public int getSessionsPerDay() {
+        return minTimes.length;
+    }
+
+    /**
+     * @return position of the session which takes the talks left over by the greedy scan, the last of the day.
+     */
+    public int getFillPosition() {
+        return minTimes.length - 1;
+    }
+
+    public int getMinTime(int position) {
+        return minTimes[position];
+    }
+
+    public int getMaxTime(int position) {
+        return maxTimes[position];
+    }
+
+    /**
+     * @param position
+     * @return true if the session has to be filled exactly.
+     */
+    public boolean isFixed(int position) {
+        return minTimes[position] == maxTimes[position];
+    }
+
+    public int getDayMinTime() {
+        return dayMinTime;
+    }
+
+    public int getDayMaxTime() {
+        return dayMaxTime;
+    }
+
+    public int getLongestSession() {
+        return longestSession;
+    }
+
+    /**
+     * @param position
+     * @return minute of the day the session starts in every track, or -1 if it depends on the sessions before it.
+     */
+    public int getStartMinute(int position) {
+        return earliestStarts[position] == latestStarts[position] ? earliestStarts[position] : -1;
+    }
+
+    /**
+     * @param position
+     * @return bit mask of the positions whose sessions may run at the same time as this one in another track,
+     * including the position itself.
+     */
+    public int getOverlappingPositions(int position) {
+        return overlappingPositions[position];
+    }
+
+    /**
+     * @param session session number
+     * @param tracks
+     * @return least talk time of all sessions after the given one.
+     */
+    public int getMinTimeAfter(int session, int tracks) {
+        int position = session / tracks;
+        return (tracks - session % tracks - 1) * minTimes[position] + tracks * minTimesAfter[position + 1];
+    }
+
+    /**
+     * @param session session number
+     * @param tracks
+     * @return most talk time of all sessions after the given one.
+     */
+    public int getMaxTimeAfter(int session, int tracks) {
+        int position = session / tracks;
+        return (tracks - session % tracks - 1) * maxTimes[position] + tracks * maxTimesAfter[position + 1];
+    }
+
+    /**
+     * @param totalTime
+     * @return fewest tracks the talk time and the profile allow, may be more than getMaxTracks.
+     */
+    public int getMinTracks(int totalTime) {
+        return Math.max(conferenceProfile.getMinTracks(), (totalTime + dayMaxTime - 1) / dayMaxTime);
+    }
+
+    /**
+     * @param totalTime
+     * @return most tracks the talk time and the profile allow.
+     */
+    public int getMaxTracks(int totalTime) {
+        return Math.min(conferenceProfile.getMaxTracks(), totalTime / dayMinTime);
+    }
+
+    /**
+     * @param totalTime
+     * @return track count which leaves the most slack in the flexible sessions, within getMinTracks and getMaxTracks.
+     */
+    public int getPreferredTracks(int totalTime) {
+        int dayMidTime = (dayMinTime + dayMaxTime) / 2;
+        return Math.min(getMaxTracks(totalTime), Math.max(getMinTracks(totalTime), (totalTime + dayMidTime / 2) / dayMidTime));
+    }
+}
@@ -1,8 +1,12 @@
+package conference;
+
 /**
  * Created by turgaycan on 9/25/14.
  */
 public class TalkException extends Exception {
 
+    private static final long serialVersionUID = 1L;
+
     public TalkException(String exception) {
         super(exception);
     }
@@ -0,0 +1,194 @@
+package conference;
+
+import model.Talk;
+import model.TalkConstraint;
+import model.TalkStore;
+
+/**
+ * Parse a single talk line, "title duration", into a Talk.
+ * Duration must be in min, like 30min, or in lightning, like lightning or 2lightning.
+ * <p/>
+ * The line is scanned backwards once to find the suffix, the number and the last blank,
+ * no intermediate Strings are created apart from the talk name.
+ * <p/>
+ * A talk line may end with constraints after " | ", entries separated by ";":
+ * speaker=name, sessions=1,2 for the sessions of the day it may be in, counted from 1,
+ * and pin=9:00 for the minute of the day it has to start, like
+ * "Keynote 60min | speaker=Jane Doe; sessions=1; pin=9:00".
+ */
+public final class TalkParser {
+
+    private static final String MIN_SUFFIX = "min";
+    private static final String LIGHTNING_SUFFIX = "lightning";
+    private static final char BLANK = ' ';
+    private static final int LIGHTNING_TIME = 5;
+    private static final String CONSTRAINT_SEPARATOR = " | ";
+
+    private TalkParser() {
+    }
+
+    /**
+     * Validate talk line, check the time for talk and initialize Talk Object.
+     *
+     * @param talk
+     * @return
+     * @throws TalkException
+     */
+    public static Talk parseTalk(String talk) throws TalkException {
+        int constraintIndex = talk.indexOf(CONSTRAINT_SEPARATOR);
+        if (constraintIndex != -1) {
+            Talk plainTalk = parseTalk(talk.substring(0, constraintIndex));
+            return new Talk(plainTalk.getTitle(), plainTalk.getName(), plainTalk.getTimeDuration(),
+                    parseConstraint(talk, constraintIndex + CONSTRAINT_SEPARATOR.length()));
+        }
+        int lastSpaceIndex = talk.lastIndexOf(BLANK);
+        if (lastSpaceIndex == -1) {
+            throw new TalkException("Invalid talk, " + talk + ". Talk time must be specify.");
+        }
+        if (isBlank(talk, lastSpaceIndex)) {
+            throw new TalkException("Invalid talk name, " + talk);
+        }
+        int time = parseTime(talk, lastSpaceIndex);
+        return new Talk(talk, talk.substring(0, lastSpaceIndex), time);
+    }
+
+    /**
+     * Validate talk line and add it to the store instead of creating a Talk Object.
+     *
+     * @param talk
+     * @param talkStore
+     * @return index of the talk in the store
+     * @throws TalkException
+     */
+    public static int parseTalk(String talk, TalkStore talkStore) throws TalkException {
+        int constraintIndex = talk.indexOf(CONSTRAINT_SEPARATOR);
+        String plainTalk = constraintIndex == -1 ? talk : talk.substring(0, constraintIndex);
+        int lastSpaceIndex = plainTalk.lastIndexOf(BLANK);
+        if (lastSpaceIndex == -1) {
+            throw new TalkException("Invalid talk, " + plainTalk + ". Talk time must be specify.");
+        }
+        if (isBlank(plainTalk, lastSpaceIndex)) {
+            throw new TalkException("Invalid talk name, " + plainTalk);
+        }
+        int time = parseTime(plainTalk, lastSpaceIndex);
+        TalkConstraint constraint = constraintIndex == -1 ? null
+                : parseConstraint(talk, constraintIndex + CONSTRAINT_SEPARATOR.length());
+        return talkStore.add(plainTalk, plainTalk.substring(0, lastSpaceIndex), time, constraint);
+    }
+
+    /**
+     * Parse the constraints of a talk line, the part after the separator.
+     *
+     * @param talk
+     * @param start index of the first constraint
+     * @return
+     * @throws TalkException
+     */
+    static TalkConstraint parseConstraint(String talk, int start) throws TalkException {
+        String speaker = null;
+        int positionMask = TalkConstraint.ALL_POSITIONS;
+        int pinnedMinute = TalkConstraint.NOT_PINNED;
+        for (String entry : talk.substring(start).split(";")) {
+            int equalsIndex = entry.indexOf('=');
+            if (equalsIndex == -1) {
+                throw new TalkException("Invalid talk constraint " + entry.trim() + " for talk " + talk);
+            }
+            String key = entry.substring(0, equalsIndex).trim();
+            String value = entry.substring(equalsIndex + 1).trim();
+            try {
+                if ("speaker".equals(key) && !value.isEmpty()) {
+                    speaker = value;
+                } else if ("sessions".equals(key)) {
+                    positionMask = 0;
+                    for (String session : value.split(",")) {
+                        int position = Integer.parseInt(session.trim()) - 1;
+                        if (position < 0 || position >= Integer.SIZE) {
+                            throw new NumberFormatException("no session " + session.trim());
+                        }
+                        positionMask |= 1 << position;
+                    }
+                } else if ("pin".equals(key)) {
+                    String[] parts = value.split(":");
+                    pinnedMinute = Integer.parseInt(parts[0].trim()) * 60 + (parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 0);
+                } else {
+                    throw new TalkException("Invalid talk constraint " + entry.trim() + " for talk " + talk);
+                }
+            } catch (NumberFormatException e) {
+                throw new TalkException("Invalid talk constraint " + entry.trim() + " for talk " + talk + ", " + e.getMessage());
+            }
+        }
+        return new TalkConstraint(speaker, positionMask, pinnedMinute);
+    }
+
+    /**
+     * Parse the time of a talk line, the part after the last blank.
+     *
+     * @param talk
+     * @param lastSpaceIndex
+     * @return time in minutes
+     * @throws TalkException
+     */
+    static int parseTime(String talk, int lastSpaceIndex) throws TalkException {
+        int timeStart = lastSpaceIndex + 1;
+        int numberEnd;
+        int multiplier;
+        if (endsWith(talk, timeStart, MIN_SUFFIX)) {
+            numberEnd = talk.length() - MIN_SUFFIX.length();
+            multiplier = 1;
+        } else if (endsWith(talk, timeStart, LIGHTNING_SUFFIX)) {
+            numberEnd = talk.length() - LIGHTNING_SUFFIX.length();
+            if (numberEnd == timeStart) {
+                return LIGHTNING_TIME;
+            }
+            multiplier = LIGHTNING_TIME;
+        } else {
+            throw new TalkException("Invalid talk time, " + talk + ". Time must be in min or in lightning");
+        }
+
+        // A plus sign is accepted like Integer.parseInt does, negative times are not.
+        int digitStart = talk.charAt(timeStart) == '+' ? timeStart + 1 : timeStart;
+        if (numberEnd == digitStart) {
+            throw unableToParse(talk, timeStart);
+        }
+        long time = 0;
+        long scale = 1;
+        for (int i = numberEnd - 1; i >= digitStart; i--) {
+            int digit = talk.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw unableToParse(talk, timeStart);
+            }
+            if (digit != 0) {
+                if (scale > Integer.MAX_VALUE) {
+                    throw unableToParse(talk, timeStart);
+                }
+                time += digit * scale;
+            }
+            if (scale <= Integer.MAX_VALUE) {
+                scale *= 10;
+            }
+        }
+        time *= multiplier;
+        if (time > Integer.MAX_VALUE) {
+            throw unableToParse(talk, timeStart);
+        }
+        return (int) time;
+    }
+
+    private static boolean endsWith(String talk, int timeStart, String suffix) {
+        int suffixStart = talk.length() - suffix.length();
+        return suffixStart >= timeStart && talk.startsWith(suffix, suffixStart);
+    }
+
+    private static boolean isBlank(String talk, int end) {
+        for (int i = 0; i < end; i++) {
+            if (talk.charAt(i) > BLANK) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static TalkException unableToParse(String talk, int timeStart) {
+        return new TalkException("Unable to parse time " + talk.substring(timeStart) + " for talk " + talk);
+    }
+}
@@ -0,0 +1,20 @@
+package conference;
+
+import model.TalkStore;
+
+/**
+ * SchedulingEngine which also plans straight from a TalkStore, so the talks read by
+ * MappedTalkFileReader.readTalkStore are scheduled without a List of Talk objects.
+ */
+public interface TalkStoreSchedulingEngine extends SchedulingEngine {
+
+    /**
+     * Pack all talks of the store into morning and evening sessions, one of each per track.
+     * Scheduled flags of the store may be changed.
+     *
+     * @param talkStore
+     * @return planned sessions, with a Talk object created for each talk of the store
+     * @throws TalkException if the talks can not be scheduled
+     */
+    SessionPlan planSessions(TalkStore talkStore) throws TalkException;
+}
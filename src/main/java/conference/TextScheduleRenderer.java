@@ -0,0 +1,53 @@
+package conference;
+
+import model.Schedule;
+import model.ScheduleSlot;
+import model.Track;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Render a schedule as text, "Track N:" followed by one "hh:mma title" line per slot.
+ * Output goes through the given Writer and is flushed once per schedule.
+ */
+public class TextScheduleRenderer implements ScheduleRenderer {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private final Writer writer;
+
+    /**
+     * Constructor for TextScheduleRenderer.
+     *
+     * @param writer
+     */
+    public TextScheduleRenderer(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * @return renderer writing to System.out
+     */
+    public static TextScheduleRenderer console() {
+        return new TextScheduleRenderer(new BufferedWriter(new OutputStreamWriter(System.out)));
+    }
+
+    @Override
+    public void render(Schedule schedule) throws IOException {
+        for (Track track : schedule.getTracks()) {
+            writer.write("Track ");
+            writer.write(String.valueOf(track.getNumber()));
+            writer.write(":");
+            writer.write(LINE_SEPARATOR);
+            for (ScheduleSlot slot : track.getSlots()) {
+                writer.write(ScheduleClock.format(slot.getStartMinute()));
+                writer.write(slot.getTalk().getTitle());
+                writer.write(LINE_SEPARATOR);
+            }
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * class Break, an event of fixed length between two sessions, like lunch.
+ */
+public final class Break {
+
+    private final String title;
+    private final int duration;
+
+    /**
+     * Constructor for Break.
+     *
+     * @param title
+     * @param duration minutes
+     */
+    public Break(String title, int duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Invalid duration " + duration + " of break " + title);
+        }
+        this.title = title;
+        this.duration = duration;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+}
@@ -0,0 +1,182 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * class ConferenceProfile, the layout of a conference day.
+ * <p/>
+ * A day starts at dayStart with the first session, sessions are separated by breaks and the
+ * networking event follows the last session, but not before networkingStart. The latest
+ * networking start bounds the longest day. Every track has the same layout, the track count
+ * is chosen by the scheduler within minTracks and maxTracks.
+ */
+public final class ConferenceProfile {
+
+    public static final String NETWORKING_EVENT = "Networking Event";
+    // Sessions of a day are kept in int bit masks.
+    public static final int MAX_SESSIONS = Integer.SIZE;
+
+    /**
+     * Sessions 9:00 AM to 12:00 PM and 1:00 PM to 4:00-5:00 PM with a lunch break, networking from 4:00 to 5:00 PM.
+     */
+    public static final ConferenceProfile DEFAULT = new ConferenceProfile(9 * 60,
+            Arrays.asList(new SessionWindow(180, 180), new SessionWindow(180, 240)),
+            Collections.singletonList(new Break("Lunch", 60)), 16 * 60, 17 * 60, 1, Integer.MAX_VALUE);
+
+    private final int dayStart;
+    private final List<SessionWindow> sessions;
+    private final List<Break> breaks;
+    private final int networkingStart;
+    private final int networkingEnd;
+    private final int minTracks;
+    private final int maxTracks;
+
+    /**
+     * Constructor for ConferenceProfile.
+     *
+     * @param dayStart        minute of the day the first session starts
+     * @param sessions        sessions of a day in time order
+     * @param breaks          one break after each session but the last
+     * @param networkingStart earliest minute of the day the networking event starts
+     * @param networkingEnd   latest minute of the day the networking event starts
+     * @param minTracks
+     * @param maxTracks
+     */
+    public ConferenceProfile(int dayStart, List<SessionWindow> sessions, List<Break> breaks,
+                             int networkingStart, int networkingEnd, int minTracks, int maxTracks) {
+        if (sessions.isEmpty() || breaks.size() != sessions.size() - 1) {
+            throw new IllegalArgumentException("A day needs at least one session and one break between two sessions");
+        }
+        if (sessions.size() > MAX_SESSIONS) {
+            throw new IllegalArgumentException("A day has at most " + MAX_SESSIONS + " sessions, not " + sessions.size());
+        }
+        if (minTracks < 1 || maxTracks < minTracks) {
+            throw new IllegalArgumentException("Invalid track count " + minTracks + "-" + maxTracks);
+        }
+        int latestEnd = dayStart;
+        for (SessionWindow session : sessions) {
+            latestEnd += session.getMaxDuration();
+        }
+        for (Break sessionBreak : breaks) {
+            latestEnd += sessionBreak.getDuration();
+        }
+        if (networkingEnd < networkingStart || latestEnd > networkingEnd) {
+            throw new IllegalArgumentException("Sessions may end at minute " + latestEnd
+                    + ", after the latest networking start " + networkingEnd);
+        }
+        this.dayStart = dayStart;
+        this.sessions = Collections.unmodifiableList(new ArrayList<SessionWindow>(sessions));
+        this.breaks = Collections.unmodifiableList(new ArrayList<Break>(breaks));
+        this.networkingStart = networkingStart;
+        this.networkingEnd = networkingEnd;
+        this.minTracks = minTracks;
+        this.maxTracks = maxTracks;
+    }
+
+    /**
+     * Read a profile, missing keys keep the value of the default profile.
+     * <pre>
+     * dayStart=09:00
+     * sessions=180-180,180-240
+     * breaks=Lunch:60
+     * networking=16:00-17:00
+     * tracks=1-4
+     * </pre>
+     *
+     * @param properties
+     * @return
+     */
+    public static ConferenceProfile fromProperties(Properties properties) {
+        int dayStart = DEFAULT.dayStart;
+        List<SessionWindow> sessions = DEFAULT.sessions;
+        List<Break> breaks = DEFAULT.breaks;
+        int networkingStart = DEFAULT.networkingStart;
+        int networkingEnd = DEFAULT.networkingEnd;
+        int minTracks = DEFAULT.minTracks;
+        int maxTracks = DEFAULT.maxTracks;
+        try {
+            if (properties.containsKey("dayStart")) {
+                dayStart = parseMinute(properties.getProperty("dayStart"));
+            }
+            if (properties.containsKey("sessions")) {
+                sessions = new ArrayList<SessionWindow>();
+                for (String session : properties.getProperty("sessions").split(",")) {
+                    String[] bounds = session.trim().split("-");
+                    sessions.add(new SessionWindow(Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[bounds.length - 1].trim())));
+                }
+            }
+            if (properties.containsKey("breaks")) {
+                breaks = new ArrayList<Break>();
+                String value = properties.getProperty("breaks").trim();
+                if (!value.isEmpty()) {
+                    for (String sessionBreak : value.split(",")) {
+                        int separator = sessionBreak.lastIndexOf(':');
+                        breaks.add(new Break(sessionBreak.substring(0, separator).trim(),
+                                Integer.parseInt(sessionBreak.substring(separator + 1).trim())));
+                    }
+                }
+            }
+            if (properties.containsKey("networking")) {
+                String[] window = properties.getProperty("networking").split("-");
+                networkingStart = parseMinute(window[0]);
+                networkingEnd = parseMinute(window[window.length - 1]);
+            }
+            if (properties.containsKey("tracks")) {
+                String[] range = properties.getProperty("tracks").split("-");
+                minTracks = Integer.parseInt(range[0].trim());
+                maxTracks = Integer.parseInt(range[range.length - 1].trim());
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid conference profile: " + e.getMessage(), e);
+        }
+        return new ConferenceProfile(dayStart, sessions, breaks, networkingStart, networkingEnd, minTracks, maxTracks);
+    }
+
+    /**
+     * Same day layout with other track bounds.
+     *
+     * @param minTracks
+     * @param maxTracks
+     * @return
+     */
+    public ConferenceProfile withTracks(int minTracks, int maxTracks) {
+        return new ConferenceProfile(dayStart, sessions, breaks, networkingStart, networkingEnd, minTracks, maxTracks);
+    }
+
+    private static int parseMinute(String time) {
+        String[] parts = time.trim().split(":");
+        return Integer.parseInt(parts[0]) * 60 + (parts.length > 1 ? Integer.parseInt(parts[1]) : 0);
+    }
+
+    public int getDayStart() {
+        return dayStart;
+    }
+
+    public List<SessionWindow> getSessions() {
+        return sessions;
+    }
+
+    public List<Break> getBreaks() {
+        return breaks;
+    }
+
+    public int getNetworkingStart() {
+        return networkingStart;
+    }
+
+    public int getNetworkingEnd() {
+        return networkingEnd;
+    }
+
+    public int getMinTracks() {
+        return minTracks;
+    }
+
+    public int getMaxTracks() {
+        return maxTracks;
+    }
+}
@@ -0,0 +1,41 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * class Schedule, immutable result of scheduling a conference, one Track per conference track.
+ * A schedule from view keeps the given list, so its tracks may be computed on access.
+ */
+public final class Schedule {
+
+    private final List<Track> tracks;
+
+    /**
+     * Constructor for Schedule.
+     *
+     * @param tracks
+     */
+    public Schedule(List<Track> tracks) {
+        this(tracks, true);
+    }
+
+    private Schedule(List<Track> tracks, boolean copy) {
+        this.tracks = Collections.unmodifiableList(copy ? new ArrayList<Track>(tracks) : tracks);
+    }
+
+    /**
+     * Schedule over the list without copying it, the list must not change.
+     *
+     * @param tracks
+     * @return
+     */
+    public static Schedule view(List<Track> tracks) {
+        return new Schedule(tracks, false);
+    }
+
+    public List<Track> getTracks() {
+        return tracks;
+    }
+}
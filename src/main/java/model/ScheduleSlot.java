@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * class ScheduleSlot, a talk or event of a track with its start time in minutes of the day.
+ */
+public final class ScheduleSlot {
+
+    private final Talk talk;
+    private final int startMinute;
+
+    /**
+     * Constructor for ScheduleSlot.
+     *
+     * @param talk
+     * @param startMinute
+     */
+    public ScheduleSlot(Talk talk, int startMinute) {
+        this.talk = talk;
+        this.startMinute = startMinute;
+    }
+
+    public Talk getTalk() {
+        return talk;
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+}
@@ -0,0 +1,33 @@
+package model;
+
+/**
+ * class SessionWindow, shortest and longest total talk time of a session.
+ * A session with equal bounds has to be filled exactly.
+ */
+public final class SessionWindow {
+
+    private final int minDuration;
+    private final int maxDuration;
+
+    /**
+     * Constructor for SessionWindow.
+     *
+     * @param minDuration minutes
+     * @param maxDuration minutes
+     */
+    public SessionWindow(int minDuration, int maxDuration) {
+        if (minDuration <= 0 || maxDuration < minDuration) {
+            throw new IllegalArgumentException("Invalid session window " + minDuration + "-" + maxDuration);
+        }
+        this.minDuration = minDuration;
+        this.maxDuration = maxDuration;
+    }
+
+    public int getMinDuration() {
+        return minDuration;
+    }
+
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+}
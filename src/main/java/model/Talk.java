@@ -5,20 +5,28 @@ package model;
  * <p/>
  * class Talk, to store and retrieve information about talk.
  * implements Comparable interface to sort talk on the basis of time duration.
+ * <p/>
+ * A talk is immutable, the schedulers keep their search state in their own per-run structures,
+ * so a parsed talk list can be scheduled again and shared between threads without copying.
+ * Talks keep identity equality, two talks with the same title are still two talks.
+ * A talk may carry a TalkConstraint, only constraint aware engines place it accordingly.
  */
 
-public class Talk implements Comparable {
-    private String title;
-    private String name;
-    private int timeDuration;
-    private boolean scheduled = false;
-    private String scheduledTime;
+public final class Talk implements Comparable {
+    private final String title;
+    private final String name;
+    private final int timeDuration;
+    private final TalkConstraint constraint;
 
     /**
-    *Constructor for Talk
-    *
-    */
-    public Talk() {
+     * Constructor for Talk.
+     *
+     * @param title
+     * @param name
+     * @param time
+     */
+    public Talk(String title, String name, int time) {
+        this(title, name, time, null);
     }
 
     /**
@@ -27,48 +35,19 @@ public class Talk implements Comparable {
      * @param title
      * @param name
      * @param time
+     * @param constraint where the talk may be scheduled, or null if anywhere
      */
-    public Talk(String title, String name, int time) {
+    public Talk(String title, String name, int time, TalkConstraint constraint) {
         this.title = title;
         this.name = name;
         this.timeDuration = time;
-    }
-
-    public void setTitle(String title) {
-        this.title = title;
+        this.constraint = constraint;
     }
 
     public String getName() {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public void setTimeDuration(int timeDuration) {
-        this.timeDuration = timeDuration;
-    }
-
-    public void setScheduled(boolean scheduled) {
-        this.scheduled = scheduled;
-    }
-
-
-    public boolean isScheduled() {
-        return scheduled;
-    }
-
-
-    public void setScheduledTime(String scheduledTime) {
-        this.scheduledTime = scheduledTime;
-    }
-
-    public String getScheduledTime() {
-        return scheduledTime;
-    }
-
-
     public int getTimeDuration() {
         return timeDuration;
     }
@@ -78,6 +57,10 @@ public class Talk implements Comparable {
         return title;
     }
 
+    public TalkConstraint getConstraint() {
+        return constraint;
+    }
+
     /**
      * Sort data in descending order.
      *
@@ -0,0 +1,58 @@
+package model;
+
+/**
+ * class TalkConstraint, where a talk may be scheduled.
+ * <p/>
+ * A talk may be restricted to some sessions of the day, positions counted from 0, and pinned to
+ * the start minute of a session, then it opens that session. Talks of the same speaker are never
+ * scheduled at the same time in two tracks.
+ */
+public final class TalkConstraint {
+
+    public static final int ALL_POSITIONS = -1;
+    public static final int NOT_PINNED = -1;
+
+    private final String speaker;
+    private final int positionMask;
+    private final int pinnedMinute;
+
+    /**
+     * Constructor for TalkConstraint.
+     *
+     * @param speaker      speaker of the talk, or null
+     * @param positionMask bit p is set if the talk may be in the session at position p, ALL_POSITIONS for any
+     * @param pinnedMinute minute of the day the talk has to start, or NOT_PINNED
+     */
+    public TalkConstraint(String speaker, int positionMask, int pinnedMinute) {
+        if (positionMask == 0) {
+            throw new IllegalArgumentException("A talk needs at least one session it may be scheduled in");
+        }
+        this.speaker = speaker;
+        this.positionMask = positionMask;
+        this.pinnedMinute = pinnedMinute;
+    }
+
+    public String getSpeaker() {
+        return speaker;
+    }
+
+    public int getPositionMask() {
+        return positionMask;
+    }
+
+    public int getPinnedMinute() {
+        return pinnedMinute;
+    }
+
+    /**
+     * @param position
+     * @return true if the talk may be in the session at the position.
+     */
+    public boolean allowsPosition(int position) {
+        return position < Integer.SIZE && (positionMask & (1 << position)) != 0;
+    }
+
+    public boolean isPinned() {
+        return pinnedMinute != NOT_PINNED;
+    }
+}
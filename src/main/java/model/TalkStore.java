@@ -0,0 +1,196 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * class TalkStore, compact column store of talks.
+ * <p/>
+ * Talk i is described by durations[i], titles[i] and names[i], the strings are the ones the
+ * parser created, and the constraint column is only allocated once a talk has a constraint.
+ * Scheduled flags are kept in a BitSet. Built by the ingest path and used by the scheduler
+ * instead of a List of Talk objects, so loops walk plain arrays and a Talk object is only
+ * created for the output.
+ */
+public class TalkStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private int[] durations;
+    private String[] titles;
+    private String[] names;
+    private TalkConstraint[] constraints;
+    private final BitSet scheduled = new BitSet();
+
+    /**
+     * Constructor for TalkStore.
+     */
+    public TalkStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor for TalkStore.
+     *
+     * @param capacity expected talk count
+     */
+    public TalkStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        durations = new int[capacity];
+        titles = new String[capacity];
+        names = new String[capacity];
+    }
+
+    /**
+     * Create a store with the talks of the list, talk i of the list becomes talk i of the store.
+     *
+     * @param talks
+     * @return
+     */
+    public static TalkStore fromTalks(List<Talk> talks) {
+        TalkStore store = new TalkStore(talks.size());
+        for (Talk talk : talks) {
+            store.add(talk.getTitle(), talk.getName(), talk.getTimeDuration(), talk.getConstraint());
+        }
+        return store;
+    }
+
+    /**
+     * Add a talk.
+     *
+     * @param title
+     * @param name
+     * @param duration
+     * @return index of the talk
+     */
+    public int add(String title, String name, int duration) {
+        return add(title, name, duration, null);
+    }
+
+    /**
+     * Add a talk.
+     *
+     * @param title
+     * @param name
+     * @param duration
+     * @param constraint constraint of the talk, or null
+     * @return index of the talk
+     */
+    public int add(String title, String name, int duration, TalkConstraint constraint) {
+        if (size == durations.length) {
+            int capacity = size * 2;
+            durations = Arrays.copyOf(durations, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            names = Arrays.copyOf(names, capacity);
+            if (constraints != null) {
+                constraints = Arrays.copyOf(constraints, capacity);
+            }
+        }
+        if (constraint != null && constraints == null) {
+            constraints = new TalkConstraint[durations.length];
+        }
+        durations[size] = duration;
+        titles[size] = title;
+        names[size] = name;
+        if (constraints != null) {
+            constraints[size] = constraint;
+        }
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDuration(int talk) {
+        return durations[talk];
+    }
+
+    public String getTitle(int talk) {
+        return titles[talk];
+    }
+
+    public String getName(int talk) {
+        return names[talk];
+    }
+
+    public TalkConstraint getConstraint(int talk) {
+        return constraints == null ? null : constraints[talk];
+    }
+
+    public boolean isScheduled(int talk) {
+        return scheduled.get(talk);
+    }
+
+    public void setScheduled(int talk, boolean value) {
+        scheduled.set(talk, value);
+    }
+
+    /**
+     * Mark all talks as not scheduled.
+     */
+    public void clearScheduled() {
+        scheduled.clear();
+    }
+
+    /**
+     * @param from
+     * @return index of the first talk at or after from which is not scheduled, or size() if there is none.
+     */
+    public int nextUnscheduled(int from) {
+        return Math.min(scheduled.nextClearBit(from), size);
+    }
+
+    /**
+     * @return total time of all talks.
+     */
+    public int getTotalDuration() {
+        int totalDuration = 0;
+        for (int talk = 0; talk < size; talk++) {
+            totalDuration += durations[talk];
+        }
+        return totalDuration;
+    }
+
+    /**
+     * @return number of talks which are not scheduled.
+     */
+    public int unscheduledCount() {
+        return size - scheduled.cardinality();
+    }
+
+    /**
+     * Create a Talk object for output.
+     *
+     * @param talk
+     * @return
+     */
+    public Talk toTalk(int talk) {
+        return new Talk(titles[talk], names[talk], durations[talk], getConstraint(talk));
+    }
+
+    /**
+     * List view of the store, every get creates the Talk object of the talk with toTalk.
+     *
+     * @return
+     */
+    public List<Talk> asList() {
+        return new AbstractList<Talk>() {
+            @Override
+            public Talk get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException("Talk " + index + " of " + size);
+                }
+                return toTalk(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
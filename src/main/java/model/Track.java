@@ -0,0 +1,33 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * class Track, the slots of one conference track in time order.
+ */
+public final class Track {
+
+    private final int number;
+    private final List<ScheduleSlot> slots;
+
+    /**
+     * Constructor for Track.
+     *
+     * @param number track number, starting with 1
+     * @param slots
+     */
+    public Track(int number, List<ScheduleSlot> slots) {
+        this.number = number;
+        this.slots = Collections.unmodifiableList(new ArrayList<ScheduleSlot>(slots));
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public List<ScheduleSlot> getSlots() {
+        return slots;
+    }
+}
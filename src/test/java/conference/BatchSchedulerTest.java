@@ -0,0 +1,98 @@
+package conference;
+
+import model.Talk;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BatchSchedulerTest {
+
+    private static final String TALKS = "Writing Fast Tests 60min\nRails Magic 60min\nWoah 60min\n"
+            + "Lua for the Masses 60min\nCommon Ruby Errors 60min\nSit Down and Write 60min\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldScheduleAllFilesOfDirectory() throws Exception {
+        File inputDirectory = temporaryFolder.newFolder("talks");
+        for (int i = 0; i < 10; i++) {
+            write(new File(inputDirectory, "event" + i + ".txt"), TALKS);
+        }
+        write(new File(inputDirectory, "invalid.txt"), "java 30\n");
+        Path outputDirectory = temporaryFolder.getRoot().toPath().resolve("schedules");
+
+        BatchScheduler.BatchSummary summary = new BatchScheduler(inputDirectory.toPath(), outputDirectory, 3,
+                new ExactSchedulingEngine()).run();
+
+        assertEquals(summary.getScheduledFiles(), 10);
+        assertEquals(summary.getScheduledTalks(), 60);
+        assertEquals(summary.getErrors().size(), 1);
+        assertThat(summary.getErrors().get(0), containsString("invalid.txt"));
+        Path schedule = outputDirectory.resolve("event3.txt.schedule.txt");
+        assertTrue(Files.exists(schedule));
+        assertThat(new String(Files.readAllBytes(schedule), StandardCharsets.UTF_8), containsString("12:00PM Lunch"));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldCountFilesWhoseEngineThrowsAnError() throws Exception {
+        File inputDirectory = temporaryFolder.newFolder("talks");
+        for (int i = 0; i < 6; i++) {
+            write(new File(inputDirectory, "event" + i + ".txt"), TALKS);
+        }
+        SchedulingEngine failingEngine = new SchedulingEngine() {
+            @Override
+            public SessionPlan planSessions(List<Talk> talks) {
+                throw new OutOfMemoryError("Java heap space");
+            }
+        };
+
+        BatchScheduler.BatchSummary summary = new BatchScheduler(inputDirectory.toPath(),
+                temporaryFolder.getRoot().toPath().resolve("schedules"), 1, failingEngine).run();
+
+        assertEquals(summary.getScheduledFiles(), 0);
+        assertEquals(summary.getErrors().size(), 6);
+        assertThat(summary.getErrors().get(0), containsString("OutOfMemoryError"));
+    }
+
+    @Test(timeout = 10000, expected = IllegalStateException.class)
+    public void shouldStopAllStagesIfOneFails() throws Exception {
+        File inputDirectory = temporaryFolder.newFolder("talks");
+        for (int i = 0; i < 20; i++) {
+            write(new File(inputDirectory, "event" + i + ".txt"), TALKS);
+        }
+        // The worker's next put is interrupted, the reader still has files for the full read queue.
+        SchedulingEngine interruptingEngine = new SchedulingEngine() {
+            @Override
+            public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+                Thread.currentThread().interrupt();
+                throw new TalkException("interrupted");
+            }
+        };
+
+        new BatchScheduler(inputDirectory.toPath(), temporaryFolder.getRoot().toPath().resolve("schedules"), 1,
+                interruptingEngine).run();
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldThrowExceptionIfDirectoryNotFound() throws Exception {
+        new BatchScheduler(temporaryFolder.getRoot().toPath().resolve("missing"),
+                temporaryFolder.getRoot().toPath(), 1, new ExactSchedulingEngine()).run();
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
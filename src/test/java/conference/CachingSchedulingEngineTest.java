@@ -0,0 +1,137 @@
+package conference;
+
+import model.Talk;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CachingSchedulingEngineTest {
+
+    private static final int[] DURATIONS = {30, 90, 60, 25, 30, 45, 90, 5, 5, 40, 90, 25, 90, 40, 60, 90};
+
+    @Test
+    public void shouldBindCachedPackingToTalksWithSameDurations() throws TalkException {
+        CountingEngine countingEngine = new CountingEngine();
+        CachingSchedulingEngine cachingEngine = new CachingSchedulingEngine(countingEngine, 4);
+        cachingEngine.planSessions(createTalks("first", DURATIONS));
+        int[] reversed = new int[DURATIONS.length];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = DURATIONS[DURATIONS.length - 1 - i];
+        }
+        List<Talk> talks = createTalks("second", reversed);
+
+        SessionPlan sessionPlan = cachingEngine.planSessions(talks);
+
+        assertEquals(countingEngine.calls, 1);
+        assertEquals(cachingEngine.getHits(), 1L);
+        assertEquals(cachingEngine.getMisses(), 1L);
+        assertEquals(cachingEngine.getHitRate(), 0.5, 0);
+        List<Talk> scheduledTalks = new ArrayList<Talk>();
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            assertEquals(ConferenceManagerHelper.getTotalTalksTime(session), 180);
+            scheduledTalks.addAll(session);
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+            assertTrue(totalTime >= 180 && totalTime <= 240);
+            scheduledTalks.addAll(session);
+        }
+        assertEquals(scheduledTalks.size(), talks.size());
+        for (Talk talk : talks) {
+            assertTrue(scheduledTalks.contains(talk));
+        }
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPacking() throws TalkException {
+        CountingEngine countingEngine = new CountingEngine();
+        CachingSchedulingEngine cachingEngine = new CachingSchedulingEngine(countingEngine, 2);
+        List<Talk> first = createTalks("a", new int[]{180, 180});
+        List<Talk> second = createTalks("b", new int[]{180, 200});
+        List<Talk> third = createTalks("c", new int[]{180, 220});
+
+        cachingEngine.planSessions(first);
+        cachingEngine.planSessions(second);
+        cachingEngine.planSessions(first);
+        cachingEngine.planSessions(third);
+        cachingEngine.planSessions(first);
+        cachingEngine.planSessions(second);
+
+        assertEquals(cachingEngine.getEvictions(), 2L);
+        assertEquals(cachingEngine.getHits(), 2L);
+        assertEquals(countingEngine.calls, 4);
+        assertEquals(cachingEngine.size(), 2);
+    }
+
+    @Test
+    public void shouldEvictLeastFrequentlyUsedPacking() throws TalkException {
+        CountingEngine countingEngine = new CountingEngine();
+        CachingSchedulingEngine cachingEngine = new CachingSchedulingEngine(countingEngine, 2, Long.MAX_VALUE,
+                CachingSchedulingEngine.EvictionPolicy.LFU);
+        List<Talk> first = createTalks("a", new int[]{180, 180});
+        List<Talk> second = createTalks("b", new int[]{180, 200});
+        List<Talk> third = createTalks("c", new int[]{180, 220});
+
+        cachingEngine.planSessions(first);
+        cachingEngine.planSessions(first);
+        cachingEngine.planSessions(first);
+        cachingEngine.planSessions(second);
+        cachingEngine.planSessions(second);
+        cachingEngine.planSessions(third);
+        cachingEngine.planSessions(first);
+
+        assertEquals(cachingEngine.getEvictions(), 1L);
+        assertEquals(countingEngine.calls, 3);
+        assertEquals(cachingEngine.getHits(), 4L);
+    }
+
+    @Test
+    public void shouldBoundCacheByWeight() throws TalkException {
+        CachingSchedulingEngine cachingEngine = new CachingSchedulingEngine(new CountingEngine(), 10, 5,
+                CachingSchedulingEngine.EvictionPolicy.LRU);
+
+        cachingEngine.planSessions(createTalks("a", new int[]{60, 60, 60, 180}));
+        cachingEngine.planSessions(createTalks("b", new int[]{180, 180}));
+        cachingEngine.planSessions(createTalks("c", new int[]{60, 60, 60, 60, 60, 60}));
+
+        assertEquals(cachingEngine.size(), 1);
+        assertEquals(cachingEngine.getWeight(), 2L);
+        assertEquals(cachingEngine.getEvictions(), 1L);
+    }
+
+    @Test
+    public void shouldReturnPlanOfEngineOnMiss() throws TalkException {
+        CountingEngine countingEngine = new CountingEngine();
+        List<Talk> talks = createTalks("a", new int[]{180, 180});
+
+        SessionPlan sessionPlan = new CachingSchedulingEngine(countingEngine, 1).planSessions(talks);
+
+        assertThat(sessionPlan.getMorningSessions().get(0).get(0), sameInstance(talks.get(0)));
+    }
+
+    private static List<Talk> createTalks(String prefix, int[] durations) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < durations.length; i++) {
+            talks.add(new Talk(prefix + i, prefix + i, durations[i]));
+        }
+        return talks;
+    }
+
+    private static class CountingEngine implements SchedulingEngine {
+
+        private final SchedulingEngine schedulingEngine = new ExactSchedulingEngine();
+        private int calls;
+
+        @Override
+        public SessionPlan planSessions(List<Talk> talks) throws TalkException {
+            calls++;
+            return schedulingEngine.planSessions(talks);
+        }
+    }
+}
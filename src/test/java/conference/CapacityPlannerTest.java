@@ -0,0 +1,86 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Schedule;
+import model.Talk;
+import model.Track;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public class CapacityPlannerTest {
+
+    @Test
+    public void shouldSpreadTracksOverDays() throws TalkException {
+        CapacityPlanner.CapacityPlan capacityPlan = new CapacityPlanner(ConferenceProfile.DEFAULT, 3, 2).plan(createTalks(18, 60));
+
+        assertEquals(capacityPlan.getDays(), 3);
+        assertEquals(capacityPlan.getRooms(), 2);
+        for (int day = 0; day < 3; day++) {
+            assertEquals(capacityPlan.getSchedule(day).getTracks().size(), 1);
+            assertEquals(capacityPlan.getTalkTime(day), 360);
+            assertNull(capacityPlan.getTrack(day, 1));
+        }
+        assertEquals(capacityPlan.getUnusedRoomDays(), 3);
+        assertEquals(capacityPlan.getUnusedMinutes(), 3 * 420 - 1080);
+    }
+
+    @Test
+    public void shouldFillRoomsOfDayWithLeastTalkTime() throws TalkException {
+        CapacityPlanner.CapacityPlan capacityPlan = new CapacityPlanner(ConferenceProfile.DEFAULT, 2, 2).plan(createTalks(18, 60));
+
+        assertEquals(capacityPlan.getSchedule(0).getTracks().size() + capacityPlan.getSchedule(1).getTracks().size(), 3);
+        assertEquals(capacityPlan.getTalkTime(0) + capacityPlan.getTalkTime(1), 1080);
+        assertEquals(capacityPlan.getUnusedRoomDays(), 1);
+    }
+
+    @Test
+    public void shouldNumberTracksByRoom() throws TalkException {
+        CapacityPlanner.CapacityPlan capacityPlan = new CapacityPlanner(ConferenceProfile.DEFAULT, 1, 2).plan(createTalks(14, 60));
+
+        Schedule schedule = capacityPlan.getSchedule(0);
+        List<Track> tracks = schedule.getTracks();
+        assertEquals(tracks.size(), 2);
+        assertEquals(tracks.get(0).getNumber(), 1);
+        assertEquals(tracks.get(1).getNumber(), 2);
+        assertEquals(capacityPlan.getUnusedMinutes(), 0);
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldFailIfTalksExceedVenue() throws TalkException {
+        new CapacityPlanner(ConferenceProfile.DEFAULT, 1, 2).plan(createTalks(18, 60));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectVenueWithoutRooms() {
+        new CapacityPlanner(ConferenceProfile.DEFAULT, 2, 0);
+    }
+
+    @Test
+    public void shouldPrintUnusedCapacity() throws TalkException {
+        CapacityPlanner.CapacityPlan capacityPlan = new CapacityPlanner(ConferenceProfile.DEFAULT, 2, 2).plan(createTalks(7, 60));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        capacityPlan.print(new PrintStream(output, true));
+
+        assertThat(output.toString(), containsString("Day 1: 1 of 2 rooms, 420 min of talks"));
+        assertThat(output.toString(), containsString("Day 2: 0 of 2 rooms, 0 min of talks"));
+        assertThat(output.toString(), containsString("Unused capacity: 3 room days, 0 session minutes"));
+    }
+
+    private static List<Talk> createTalks(int count, int duration) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < count; i++) {
+            talks.add(new Talk("talk" + i + " " + duration + "min", "talk" + i, duration));
+        }
+        return talks;
+    }
+}
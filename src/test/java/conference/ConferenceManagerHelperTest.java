@@ -0,0 +1,127 @@
+package conference;
+
+import model.Talk;
+import model.TalkStore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ConferenceManagerHelperTest {
+
+    @Test
+    public void shouldReturnZeroIfTalkListIsEmptyOrNull(){
+        assertEquals(ConferenceManagerHelper.getTotalTalksTime(null), 0);
+        assertEquals(ConferenceManagerHelper.getTotalTalksTime(new ArrayList<Talk>()), 0);
+    }
+
+    @Test
+    public void shouldReturnTotalTimeOfTalks(){
+        List<Talk> talks = new ArrayList<Talk>();
+        Talk talk1 = new Talk("talk1", "java", 45);
+        Talk talk2 = new Talk("talk2", "scala", 35);
+        Talk talk3 = new Talk("talk3", "python", 35);
+        talks.addAll(Arrays.asList(talk1, talk2, talk3));
+
+        assertEquals(ConferenceManagerHelper.getTotalTalksTime(talks), 115);
+    }
+
+    @Test
+    public void shouldPrepareScheduledTalksListNotProvidedData(){
+        List<Talk> talks = new ArrayList<Talk>();
+        Talk talk1 = new Talk("talk1", "java", 45);
+        Talk talk2 = new Talk("talk2", "scala", 60);
+        Talk talk3 = new Talk("talk3", "python", 45);
+        Talk talk4 = new Talk("talk4", "ruby", 45);
+        Talk talk5 = new Talk("talk5", "c#", 60);
+        Talk talk6 = new Talk("talk6", "c++", 30);
+        Talk talk7 = new Talk("talk7", "c", 40);
+        Talk talk8 = new Talk("talk8", "php", 60);
+        Talk talk9 = new Talk("talk9", "asp.net", 45);
+        talks.addAll(Arrays.asList(talk1, talk2, talk3, talk4, talk5, talk6, talk7, talk8, talk9));
+
+        List<Talk> eTalks = new ArrayList<Talk>();
+        List<List<Talk>> eTalkList = new ArrayList<List<Talk>>();
+        eTalks.addAll(Arrays.asList(talk1, talk2, talk3, talk8));
+        eTalkList.add(eTalks);
+
+        List<Talk> revisedTalkList = ConferenceManagerHelper.prepareScheduledTalkList(talks, eTalkList);
+
+        assertEquals(revisedTalkList.size(), 8);
+
+        assertThat(revisedTalkList, not(hasItems(talk6)));
+
+    }
+
+    @Test
+    public void shouldPrepareScheduledTalksListOnTalkStore(){
+        List<Talk> talks = new ArrayList<Talk>();
+        talks.addAll(Arrays.asList(new Talk("talk1", "java", 45), new Talk("talk2", "scala", 60),
+                new Talk("talk3", "python", 45), new Talk("talk4", "ruby", 30), new Talk("talk5", "c", 70)));
+        TalkStore talkStore = TalkStore.fromTalks(talks);
+        talkStore.setScheduled(0, true);
+        talkStore.setScheduled(1, true);
+        talkStore.setScheduled(2, true);
+        List<int[]> eveningSessions = new ArrayList<int[]>();
+        eveningSessions.add(new int[]{0, 1, 2});
+
+        int[] revisedTalks = ConferenceManagerHelper.prepareScheduledTalkList(talkStore, eveningSessions);
+
+        assertEquals(ConferenceManagerHelper.getTotalTalksTime(talkStore, eveningSessions.get(0)), 180);
+        assertEquals(eveningSessions.get(0).length, 4);
+        assertEquals(revisedTalks.length, 1);
+        assertEquals(revisedTalks[0], 4);
+    }
+
+    @Test
+    public void shouldSortTalksByDecreasingDurationKeepingOrderOfEqualDurations(){
+        Talk talk1 = new Talk("talk1", "java", 30);
+        Talk talk2 = new Talk("talk2", "scala", 60);
+        Talk talk3 = new Talk("talk3", "python", 5);
+        Talk talk4 = new Talk("talk4", "ruby", 60);
+        Talk talk5 = new Talk("talk5", "go", 30);
+
+        List<Talk> sortedTalks = ConferenceManagerHelper.sortByDurationDescending(Arrays.asList(talk1, talk2, talk3, talk4, talk5));
+
+        assertEquals(sortedTalks, Arrays.asList(talk2, talk4, talk1, talk5, talk3));
+    }
+
+    @Test
+    public void shouldSortTalksWithWideDurationRange(){
+        Talk talk1 = new Talk("talk1", "java", 30);
+        Talk talk2 = new Talk("talk2", "scala", 1000000);
+
+        List<Talk> sortedTalks = ConferenceManagerHelper.sortByDurationDescending(Arrays.asList(talk1, talk2));
+
+        assertEquals(sortedTalks, Arrays.asList(talk2, talk1));
+    }
+
+    @Test
+    public void shouldPrepareBestFitTalksListOnTalkStore(){
+        TalkStore talkStore = new TalkStore();
+        talkStore.add("talk0", "java", 60);
+        talkStore.add("talk1", "scala", 60);
+        talkStore.add("talk2", "python", 60);
+        talkStore.add("talk3", "ruby", 45);
+        talkStore.add("talk4", "go", 30);
+        for (int talk = 0; talk < 3; talk++) {
+            talkStore.setScheduled(talk, true);
+        }
+        List<int[]> eveningSessionList = new ArrayList<int[]>();
+        eveningSessionList.add(new int[]{0, 1});
+        eveningSessionList.add(new int[]{2});
+
+        int[] revisedTalks = ConferenceManagerHelper.prepareBestFitTalkList(talkStore, eveningSessionList, 150);
+
+        // 45 only fits into the second session, 30 then goes into the fuller first one.
+        assertEquals(revisedTalks.length, 0);
+        assertEquals(eveningSessionList.get(0).length, 3);
+        assertEquals(eveningSessionList.get(1).length, 2);
+    }
+}
@@ -1,7 +1,20 @@
+package conference;
+
+import model.Break;
+import model.ConferenceProfile;
+import model.Schedule;
+import model.ScheduleSlot;
+import model.SessionWindow;
 import model.Talk;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -16,6 +29,9 @@ public class ConferenceManagerTest {
     private static final String FILENAME = "";
     private ConferenceManager conferenceManager;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void init(){
         conferenceManager = new ConferenceManager(FILENAME, false);
@@ -175,6 +191,72 @@ public class ConferenceManagerTest {
     }
 
 
+    @Test
+    public void shouldFindSameSessionsWhenTalkListIsSearchedAgain(){
+        List<Talk> talks = new ArrayList<Talk>();
+        Talk talk1 = new Talk("talk1", "java", 45);
+        Talk talk2 = new Talk("talk2", "scala", 60);
+        Talk talk3 = new Talk("talk3", "python", 45);
+        Talk talk4 = new Talk("talk4", "ruby", 45);
+        Talk talk5 = new Talk("talk5", "lightning", 30);
+        talks.addAll(Arrays.asList(talk1, talk2, talk3, talk4, talk5));
+
+        List<List<Talk>> firstSessions = conferenceManager.findPossibleSessions(talks, 1, true);
+        List<List<Talk>> secondSessions = conferenceManager.findPossibleSessions(talks, 1, true);
+
+        assertEquals(secondSessions, firstSessions);
+        assertEquals(secondSessions.size(), 1);
+    }
+
+    @Test
+    public void shouldScheduleSameTalkListTwiceWithGreedyEngine() throws Exception {
+        ConferenceManager greedyConferenceManager = new ConferenceManager(FILENAME, false, new GreedySchedulingEngine());
+        greedyConferenceManager.setScheduleRenderer(ScheduleRenderer.NONE);
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int talk = 0; talk < 12; talk++) {
+            talks.add(new Talk("talk" + talk, "java", 30));
+        }
+
+        List<List<Talk>> firstSchedule = greedyConferenceManager.getScheduleConferenceTrack(talks);
+        List<List<Talk>> secondSchedule = greedyConferenceManager.getScheduleConferenceTrack(talks);
+
+        assertEquals(secondSchedule.size(), firstSchedule.size());
+        for (int track = 0; track < firstSchedule.size(); track++) {
+            assertThat(secondSchedule.get(track).subList(0, 6), equalTo(firstSchedule.get(track).subList(0, 6)));
+        }
+    }
+
+    @Test
+    public void shouldScheduleMemoryMappedFileFromTalkStore() throws Exception {
+        File file = temporaryFolder.newFile("talks.txt");
+        List<String> talkLines = new ArrayList<String>();
+        for (int talk = 0; talk < 12; talk++) {
+            talkLines.add("talk" + talk + " 30min");
+        }
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            for (String talkLine : talkLines) {
+                outputStream.write((talkLine + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            outputStream.close();
+        }
+        ConferenceManager mappedConferenceManager = new ConferenceManager(file.getAbsolutePath(), false, new GreedySchedulingEngine());
+        mappedConferenceManager.setScheduleRenderer(ScheduleRenderer.NONE);
+        mappedConferenceManager.setMemoryMapped(true);
+
+        List<List<Talk>> mappedSchedule = mappedConferenceManager.scheduleConference();
+        List<List<Talk>> schedule = mappedConferenceManager.scheduleConferenceTalks(talkLines);
+
+        assertEquals(mappedSchedule.size(), schedule.size());
+        for (int track = 0; track < schedule.size(); track++) {
+            assertEquals(mappedSchedule.get(track).size(), schedule.get(track).size());
+            for (int slot = 0; slot < schedule.get(track).size(); slot++) {
+                assertThat(mappedSchedule.get(track).get(slot).getTitle(), equalTo(schedule.get(track).get(slot).getTitle()));
+            }
+        }
+    }
+
     @Test(expected = Exception.class)
     public void shouldThrowExceptionIfRevisedTalksListIsNotEmpty() throws Exception {
         List<Talk> talks = new ArrayList<Talk>();
@@ -232,6 +314,30 @@ public class ConferenceManagerTest {
 
     }
 
+    @Test
+    public void shouldCreateScheduleWithLayoutOfProfile() {
+        ConferenceProfile profile = new ConferenceProfile(480,
+                Arrays.asList(new SessionWindow(60, 60), new SessionWindow(60, 90), new SessionWindow(60, 120)),
+                Arrays.asList(new Break("Coffee", 30), new Break("Lunch", 60)), 780, 840, 1, 1);
+        List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>();
+        sessions.add(Arrays.<List<Talk>>asList(Arrays.asList(new Talk("a", "a", 60))));
+        sessions.add(Arrays.<List<Talk>>asList(Arrays.asList(new Talk("b", "b", 30), new Talk("c", "c", 30))));
+        sessions.add(Arrays.<List<Talk>>asList(Arrays.asList(new Talk("d", "d", 60))));
+
+        Schedule schedule = conferenceManager.createSchedule(new SessionPlan(sessions, profile));
+
+        List<ScheduleSlot> slots = schedule.getTracks().get(0).getSlots();
+        assertEquals(slots.size(), 7);
+        assertThat(slots.get(1).getTalk().getTitle(), equalTo("Coffee"));
+        assertEquals(slots.get(1).getStartMinute(), 540);
+        assertEquals(slots.get(2).getStartMinute(), 570);
+        assertThat(slots.get(4).getTalk().getTitle(), equalTo("Lunch"));
+        assertEquals(slots.get(5).getStartMinute(), 690);
+        // Sessions end at 12:30 PM, networking waits for its earliest start.
+        assertThat(slots.get(6).getTalk().getTitle(), equalTo("Networking Event"));
+        assertEquals(slots.get(6).getStartMinute(), 780);
+    }
+
 
 
 }
\ No newline at end of file
@@ -1,3 +1,5 @@
+package conference;
+
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -0,0 +1,187 @@
+package conference;
+
+import model.Talk;
+import model.TalkConstraint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ConstraintSchedulingEngineTest {
+
+    private static final int MORNING = 1;
+    private static final int EVENING = 1 << 1;
+
+    @Test
+    public void shouldScheduleTalksWithoutConstraintsLikeExactEngine() throws TalkException {
+        List<Talk> talks = createTalks(14, 60);
+
+        SessionPlan sessionPlan = new ConstraintSchedulingEngine().planSessions(talks);
+        SessionPlan exactPlan = new ExactSchedulingEngine().planSessions(talks);
+
+        assertEquals(sessionPlan.getMorningSessions(), exactPlan.getMorningSessions());
+        assertEquals(sessionPlan.getEveningSessions(), exactPlan.getEveningSessions());
+    }
+
+    @Test
+    public void shouldKeepTalksInAllowedSessions() throws TalkException {
+        List<Talk> talks = createTalks(10, 60);
+        Talk morningTalk1 = new Talk("morning1 60min", "morning1", 60, new TalkConstraint(null, MORNING, TalkConstraint.NOT_PINNED));
+        Talk morningTalk2 = new Talk("morning2 45min", "morning2", 45, new TalkConstraint(null, MORNING, TalkConstraint.NOT_PINNED));
+        Talk eveningTalk = new Talk("evening 45min", "evening", 45, new TalkConstraint(null, EVENING, TalkConstraint.NOT_PINNED));
+        talks.add(morningTalk1);
+        talks.add(morningTalk2);
+        talks.add(eveningTalk);
+        talks.add(new Talk("short 30min", "short", 30));
+        talks.add(new Talk("short 30min", "short", 30));
+        talks.add(new Talk("shorter 15min", "shorter", 15));
+        talks.add(new Talk("shorter 15min", "shorter", 15));
+
+        SessionPlan sessionPlan = new ConstraintSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+        assertTrue(contains(sessionPlan.getMorningSessions(), morningTalk1));
+        assertTrue(contains(sessionPlan.getMorningSessions(), morningTalk2));
+        assertTrue(contains(sessionPlan.getEveningSessions(), eveningTalk));
+    }
+
+    @Test
+    public void shouldOpenSessionWithPinnedTalk() throws TalkException {
+        List<Talk> talks = createTalks(12, 60);
+        Talk keynote = new Talk("keynote 60min", "keynote", 60, new TalkConstraint(null, TalkConstraint.ALL_POSITIONS, 9 * 60));
+        Talk closing = new Talk("closing 60min", "closing", 60, new TalkConstraint(null, TalkConstraint.ALL_POSITIONS, 13 * 60));
+        talks.add(closing);
+        talks.add(keynote);
+
+        SessionPlan sessionPlan = new ConstraintSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+        assertTrue(opens(sessionPlan.getMorningSessions(), keynote));
+        assertTrue(opens(sessionPlan.getEveningSessions(), closing));
+    }
+
+    @Test
+    public void shouldNotScheduleTalksOfSpeakerAtSameTime() throws TalkException {
+        List<Talk> talks = createTalks(8, 60);
+        List<Talk> speakerTalks = new ArrayList<Talk>();
+        for (int talk = 0; talk < 6; talk++) {
+            speakerTalks.add(new Talk("jane" + talk + " 60min", "jane" + talk, 60,
+                    new TalkConstraint("Jane", TalkConstraint.ALL_POSITIONS, TalkConstraint.NOT_PINNED)));
+        }
+        talks.addAll(speakerTalks);
+
+        SessionPlan sessionPlan = new ConstraintSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+        for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+            int tracksWithSpeaker = 0;
+            for (List<Talk> session : sessionPlan.getSessions(position)) {
+                for (Talk talk : speakerTalks) {
+                    if (session.contains(talk)) {
+                        tracksWithSpeaker++;
+                        break;
+                    }
+                }
+            }
+            assertTrue(tracksWithSpeaker <= 1);
+        }
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldFailIfSpeakerIsPinnedTwiceAtSameTime() throws TalkException {
+        List<Talk> talks = createTalks(12, 60);
+        for (int talk = 0; talk < 2; talk++) {
+            talks.add(new Talk("jane" + talk + " 60min", "jane" + talk, 60, new TalkConstraint("Jane", MORNING, 9 * 60)));
+        }
+
+        new ConstraintSchedulingEngine().planSessions(talks);
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldFailIfSpeakerTalksLongerThanDay() throws TalkException {
+        List<Talk> talks = createTalks(20, 60);
+        for (int talk = 0; talk < 8; talk++) {
+            talks.add(new Talk("jane" + talk + " 60min", "jane" + talk, 60,
+                    new TalkConstraint("Jane", TalkConstraint.ALL_POSITIONS, TalkConstraint.NOT_PINNED)));
+        }
+
+        new ConstraintSchedulingEngine().planSessions(talks);
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldFailIfNoSessionStartsAtPinnedTime() throws TalkException {
+        List<Talk> talks = createTalks(13, 60);
+        talks.add(new Talk("late 60min", "late", 60, new TalkConstraint(null, TalkConstraint.ALL_POSITIONS, 10 * 60)));
+
+        new ConstraintSchedulingEngine().planSessions(talks);
+    }
+
+    @Test
+    public void shouldScheduleManyTalksWithSomeConstraints() throws TalkException {
+        Random random = new Random(21);
+        int[] durations = {30, 45, 60, 5};
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int talk = 0; talk < 1000; talk++) {
+            TalkConstraint constraint = null;
+            if (talk % 20 == 0) {
+                constraint = new TalkConstraint("speaker" + random.nextInt(10), TalkConstraint.ALL_POSITIONS, TalkConstraint.NOT_PINNED);
+            } else if (talk % 20 == 1) {
+                constraint = new TalkConstraint(null, random.nextBoolean() ? MORNING : EVENING, TalkConstraint.NOT_PINNED);
+            }
+            int duration = durations[random.nextInt(durations.length)];
+            talks.add(new Talk("talk" + talk + " " + duration + "min", "talk" + talk, duration, constraint));
+        }
+
+        SessionPlan sessionPlan = new ConstraintSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+    }
+
+    private static boolean contains(List<List<Talk>> sessions, Talk talk) {
+        for (List<Talk> session : sessions) {
+            if (session.contains(talk)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean opens(List<List<Talk>> sessions, Talk talk) {
+        for (List<Talk> session : sessions) {
+            if (!session.isEmpty() && session.get(0) == talk) {
+                assertThat(session.get(0), sameInstance(talk));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Talk> createTalks(int count, int duration) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < count; i++) {
+            talks.add(new Talk("talk" + i + " " + duration + "min", "talk" + i, duration));
+        }
+        return talks;
+    }
+
+    private static void assertValidPlan(SessionPlan sessionPlan, int talkCount) {
+        assertEquals(sessionPlan.getMorningSessions().size(), sessionPlan.getEveningSessions().size());
+        int scheduledTalks = 0;
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            assertEquals(ConferenceManagerHelper.getTotalTalksTime(session), 180);
+            scheduledTalks += session.size();
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+            assertTrue(totalTime >= 180 && totalTime <= 240);
+            scheduledTalks += session.size();
+        }
+        assertEquals(scheduledTalks, talkCount);
+    }
+}
@@ -0,0 +1,56 @@
+package conference;
+
+import model.TalkStore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DurationIndexTest {
+
+    private static TalkStore createTalkStore(int... durations) {
+        TalkStore talkStore = new TalkStore(durations.length);
+        for (int i = 0; i < durations.length; i++) {
+            talkStore.add("talk" + i, "talk" + i, durations[i]);
+        }
+        return talkStore;
+    }
+
+    @Test
+    public void shouldFindFirstFittingTalkAfterPosition() {
+        DurationIndex durationIndex = new DurationIndex(createTalkStore(60, 45, 60, 30, 5, 45));
+
+        assertEquals(durationIndex.nextFitting(0, 240), 0);
+        assertEquals(durationIndex.nextFitting(0, 50), 1);
+        assertEquals(durationIndex.nextFitting(2, 40), 3);
+        assertEquals(durationIndex.nextFitting(5, 40), -1);
+        assertEquals(durationIndex.nextFitting(0, 4), -1);
+    }
+
+    @Test
+    public void shouldSkipRemovedTalks() {
+        DurationIndex durationIndex = new DurationIndex(createTalkStore(60, 60, 60, 30));
+
+        durationIndex.remove(0);
+        durationIndex.remove(1);
+
+        assertEquals(durationIndex.nextFitting(0, 60), 2);
+        assertEquals(durationIndex.count(60), 1);
+        durationIndex.remove(2);
+        assertEquals(durationIndex.nextFitting(0, 60), 3);
+        assertEquals(durationIndex.count(60), 0);
+    }
+
+    @Test
+    public void shouldIndexOnlyUnscheduledTalks() {
+        TalkStore talkStore = createTalkStore(60, 45, 30, 45);
+        talkStore.setScheduled(1, true);
+
+        DurationIndex durationIndex = new DurationIndex(talkStore);
+
+        assertEquals(durationIndex.nextFitting(0, 45), 2);
+        assertEquals(durationIndex.count(45), 1);
+        assertEquals(durationIndex.count(90), 0);
+        assertArrayEquals(durationIndex.getDurations(), new int[]{30, 45, 60});
+    }
+}
@@ -0,0 +1,200 @@
+package conference;
+
+import model.Break;
+import model.ConferenceProfile;
+import model.SessionWindow;
+import model.Talk;
+import model.TalkStore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExactSchedulingEngineTest {
+
+    private static final int[] DURATIONS = {30, 90, 60, 25, 30, 45, 90, 5, 5, 40, 90, 25, 90, 40, 60, 90};
+
+    @Test(expected = TalkException.class)
+    public void shouldFailWithGreedyEngine() throws TalkException {
+        new GreedySchedulingEngine().planSessions(createTalks(DURATIONS));
+    }
+
+    @Test
+    public void shouldScheduleTalksGreedyEngineCanNotSchedule() throws TalkException {
+        List<Talk> talks = createTalks(DURATIONS);
+
+        SessionPlan sessionPlan = new ExactSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+    }
+
+    @Test
+    public void shouldPlanSameSessionsFromTalkStore() throws TalkException {
+        int[] durations = Arrays.copyOf(DURATIONS, DURATIONS.length + 1);
+        List<Talk> talks = createTalks(durations);
+        ExactSchedulingEngine exactSchedulingEngine = new ExactSchedulingEngine();
+
+        SessionPlan listPlan = exactSchedulingEngine.planSessions(talks);
+        SessionPlan storePlan = exactSchedulingEngine.planSessions(TalkStore.fromTalks(talks));
+
+        assertValidPlan(storePlan, talks.size());
+        assertEquals(titles(storePlan.getMorningSessions()), titles(listPlan.getMorningSessions()));
+        assertEquals(titles(storePlan.getEveningSessions()), titles(listPlan.getEveningSessions()));
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionIfTotalTimeDoesNotFitIntoTracks() throws TalkException {
+        new ExactSchedulingEngine().planSessions(createTalks(new int[]{60, 60, 60, 60, 60}));
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionIfMorningSessionCanNotBeFilled() throws TalkException {
+        new ExactSchedulingEngine().planSessions(createTalks(new int[]{50, 50, 50, 50, 50, 50, 50, 50}));
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionIfTalkIsLongerThanSession() throws TalkException {
+        new ExactSchedulingEngine().planSessions(createTalks(new int[]{180, 245}));
+    }
+
+    @Test(timeout = 5000)
+    public void shouldScheduleTwoThousandTalks() throws TalkException {
+        int[] durations = {5, 30, 45, 60};
+        Random random = new Random(42);
+        int[] talkDurations = new int[2000];
+        for (int i = 0; i < talkDurations.length; i++) {
+            talkDurations[i] = durations[random.nextInt(durations.length)];
+        }
+        List<Talk> talks = createTalks(talkDurations);
+
+        SessionPlan sessionPlan = new ExactSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+    }
+
+    @Test(timeout = 2000)
+    public void shouldScheduleTwoThousandTalksOfFewDurations() throws TalkException {
+        // A 180 min morning can only be 59 + 121, the evenings have to take the rest exactly.
+        List<Talk> talks = createRandomTalks(new int[]{59, 61, 121}, 2000, 1L);
+
+        SessionPlan sessionPlan = new ExactSchedulingEngine().planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+    }
+
+    @Test(timeout = 2000)
+    public void shouldRuleOutTrackCountsOfTwoThousandTalksQuickly() {
+        List<Talk> talks = createRandomTalks(new int[]{170, 10, 190, 50}, 2000, 1L);
+
+        try {
+            new ExactSchedulingEngine().planSessions(talks);
+            fail();
+        } catch (TalkException e) {
+            assertTrue(e.getMessage().contains("no packing exists"));
+        }
+    }
+
+    @Test
+    public void shouldNotClaimInfeasibilityAfterTimeLimit() {
+        List<Talk> talks = createRandomTalks(new int[]{59, 61, 121}, 2000, 1L);
+
+        try {
+            new ExactSchedulingEngine(ConferenceProfile.DEFAULT, 0, TimeUnit.MILLISECONDS).planSessions(talks);
+            fail();
+        } catch (TalkException e) {
+            assertTrue(e instanceof SchedulingTimeoutException);
+            assertEquals(e.getMessage(), "Unable to schedule all task for conferencing, no packing found within 0 ms");
+        }
+    }
+
+    @Test
+    public void shouldFallBackToGreedyEngineAfterTimeLimit() throws TalkException {
+        List<Talk> talks = createRandomTalks(new int[]{60}, 28, 1L);
+
+        SessionPlan sessionPlan = new ExactSchedulingEngine(ConferenceProfile.DEFAULT, 0, TimeUnit.MILLISECONDS).planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+    }
+
+    @Test
+    public void shouldScheduleTalksIntoSessionsOfProfile() throws TalkException {
+        ConferenceProfile profile = new ConferenceProfile(540,
+                Arrays.asList(new SessionWindow(120, 120), new SessionWindow(90, 120), new SessionWindow(120, 150)),
+                Arrays.asList(new Break("Coffee", 30), new Break("Lunch", 60)), 960, 1020, 1, 3);
+        List<Talk> talks = createTalks(new int[]{60, 60, 30, 30, 45, 45, 60, 60, 30, 30, 45, 45, 60, 60, 60, 45});
+
+        SessionPlan sessionPlan = new ExactSchedulingEngine(profile).planSessions(talks);
+
+        assertEquals(sessionPlan.getSessionsPerDay(), 3);
+        int scheduledTalks = 0;
+        for (int position = 0; position < 3; position++) {
+            SessionWindow window = profile.getSessions().get(position);
+            for (List<Talk> session : sessionPlan.getSessions(position)) {
+                int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+                assertTrue(totalTime >= window.getMinDuration() && totalTime <= window.getMaxDuration());
+                scheduledTalks += session.size();
+            }
+        }
+        assertEquals(scheduledTalks, talks.size());
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionIfProfileHasTooFewTracks() throws TalkException {
+        ConferenceProfile profile = new ConferenceProfile(540,
+                Arrays.asList(new SessionWindow(180, 180), new SessionWindow(180, 240)),
+                Arrays.asList(new Break("Lunch", 60)), 960, 1020, 1, 1);
+
+        new ExactSchedulingEngine(profile).planSessions(createTalks(DURATIONS));
+    }
+
+    private static List<Talk> createTalks(int[] durations) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < durations.length; i++) {
+            talks.add(new Talk("talk" + i, "talk" + i, durations[i]));
+        }
+        return talks;
+    }
+
+    private static List<Talk> createRandomTalks(int[] durations, int count, long seed) {
+        Random random = new Random(seed);
+        int[] talkDurations = new int[count];
+        for (int i = 0; i < count; i++) {
+            talkDurations[i] = durations[random.nextInt(durations.length)];
+        }
+        return createTalks(talkDurations);
+    }
+
+    private static List<List<String>> titles(List<List<Talk>> sessions) {
+        List<List<String>> titles = new ArrayList<List<String>>();
+        for (List<Talk> session : sessions) {
+            List<String> sessionTitles = new ArrayList<String>();
+            for (Talk talk : session) {
+                sessionTitles.add(talk.getTitle());
+            }
+            titles.add(sessionTitles);
+        }
+        return titles;
+    }
+
+    private static void assertValidPlan(SessionPlan sessionPlan, int talkCount) {
+        assertEquals(sessionPlan.getMorningSessions().size(), sessionPlan.getEveningSessions().size());
+        int scheduledTalks = 0;
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            assertEquals(ConferenceManagerHelper.getTotalTalksTime(session), 180);
+            scheduledTalks += session.size();
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+            assertTrue(totalTime >= 180 && totalTime <= 240);
+            scheduledTalks += session.size();
+        }
+        assertEquals(scheduledTalks, talkCount);
+    }
+}
@@ -0,0 +1,92 @@
+package conference;
+
+import model.Talk;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FeasibilityCheckTest {
+
+    @Test
+    public void shouldPassSchedulableTalks() {
+        FeasibilityCheck.Result result = new FeasibilityCheck().check(createTalks(14, 60));
+
+        assertTrue(result.isFeasible());
+        assertEquals(result.getReason(), FeasibilityCheck.Reason.FEASIBLE);
+    }
+
+    @Test
+    public void shouldPassEmptyTalks() {
+        assertTrue(new FeasibilityCheck().check(new ArrayList<Talk>()).isFeasible());
+    }
+
+    @Test
+    public void shouldRejectTalkLongerThanEverySession() {
+        List<Talk> talks = createTalks(7, 60);
+        talks.add(new Talk("long talk 300min", "long talk", 300));
+
+        FeasibilityCheck.Result result = new FeasibilityCheck().check(talks);
+
+        assertEquals(result.getReason(), FeasibilityCheck.Reason.TALK_TOO_LONG);
+        assertEquals(result.getValue(), 300);
+    }
+
+    @Test
+    public void shouldRejectTotalTimeBetweenTrackCounts() {
+        FeasibilityCheck.Result result = new FeasibilityCheck().check(createTalks(5, 60));
+
+        assertEquals(result.getReason(), FeasibilityCheck.Reason.NO_WHOLE_TRACKS);
+        assertEquals(result.getValue(), 300);
+    }
+
+    @Test
+    public void shouldRejectUnreachableMorning() {
+        FeasibilityCheck.Result result = new FeasibilityCheck().check(createTalks(8, 50));
+
+        assertEquals(result.getReason(), FeasibilityCheck.Reason.SESSION_UNREACHABLE);
+        assertEquals(result.getValue(), 0);
+    }
+
+    @Test
+    public void shouldUseEachTalkOnce() {
+        long[] reachable = FeasibilityCheck.reachableSums(new int[]{60, 45}, new int[]{2, 1}, 240);
+
+        assertTrue(isSet(reachable, 120));
+        assertTrue(isSet(reachable, 165));
+        assertFalse(isSet(reachable, 180));
+        assertFalse(isSet(reachable, 90));
+    }
+
+    @Test(expected = InfeasibleTalksException.class)
+    public void shouldRejectBeforeGreedyScan() throws TalkException {
+        new GreedySchedulingEngine().planSessions(createTalks(8, 50));
+    }
+
+    @Test
+    public void shouldRejectBeforeExactSearch() throws TalkException {
+        try {
+            new ExactSchedulingEngine().planSessions(createTalks(8, 50));
+        } catch (InfeasibleTalksException e) {
+            assertEquals(e.getResult().getReason(), FeasibilityCheck.Reason.SESSION_UNREACHABLE);
+            return;
+        }
+        throw new AssertionError("Talks were scheduled");
+    }
+
+    private static boolean isSet(long[] bits, int bit) {
+        return (bits[bit >> 6] & (1L << bit)) != 0;
+    }
+
+    private static List<Talk> createTalks(int count, int duration) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < count; i++) {
+            talks.add(new Talk("talk" + i + " " + duration + "min", "talk" + i, duration));
+        }
+        return talks;
+    }
+}
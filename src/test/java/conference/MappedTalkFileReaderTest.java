@@ -0,0 +1,83 @@
+package conference;
+
+import model.Talk;
+import model.TalkStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class MappedTalkFileReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadTalksFromFile() throws Exception {
+        File file = createFile("Writing Fast Tests Against Enterprise Rails 60min\r\n\u00dcber Scala 45min\nRails for Python Developers lightning\n");
+
+        List<Talk> talks = new MappedTalkFileReader().readTalks(file.getAbsolutePath());
+
+        assertEquals(talks.size(), 3);
+        assertThat(talks.get(0).getName(), equalTo("Writing Fast Tests Against Enterprise Rails"));
+        assertEquals(talks.get(0).getTimeDuration(), 60);
+        assertThat(talks.get(1).getTitle(), equalTo("\u00dcber Scala 45min"));
+        assertEquals(talks.get(2).getTimeDuration(), 5);
+    }
+
+    @Test
+    public void shouldReadLinesAcrossMappedRegions() throws Exception {
+        File file = createFile("java 30min\nscala 45min\npython lightning");
+
+        List<Talk> talks = new MappedTalkFileReader(16).readTalks(file.getAbsolutePath());
+
+        assertEquals(talks.size(), 3);
+        assertThat(talks.get(1).getName(), equalTo("scala"));
+        assertThat(talks.get(2).getName(), equalTo("python"));
+    }
+
+    @Test
+    public void shouldReadTalksIntoTalkStore() throws Exception {
+        File file = createFile("java 30min\nscala 45min\npython lightning\n");
+
+        TalkStore talkStore = new MappedTalkFileReader().readTalkStore(file.getAbsolutePath());
+
+        assertEquals(talkStore.size(), 3);
+        assertThat(talkStore.getName(1), equalTo("scala"));
+        assertEquals(talkStore.getTotalDuration(), 80);
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionIfTalkNotHaveValidTime() throws Exception {
+        File file = createFile("java 30min\njava 30\n");
+
+        new MappedTalkFileReader().readTalks(file.getAbsolutePath());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldThrowExceptionIfFileIsNotValidUtf8() throws Exception {
+        File file = temporaryFolder.newFile("talks.txt");
+        FileOutputStream outputStream = new FileOutputStream(file);
+        outputStream.write(new byte[]{'j', (byte) 0xC3, ' ', '3', '0', 'm', 'i', 'n'});
+        outputStream.close();
+
+        new MappedTalkFileReader().readTalks(file.getAbsolutePath());
+    }
+
+    private File createFile(String content) throws IOException {
+        File file = temporaryFolder.newFile("talks.txt");
+        FileOutputStream outputStream = new FileOutputStream(file);
+        outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        outputStream.close();
+        return file;
+    }
+}
@@ -0,0 +1,56 @@
+package conference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PackingRelaxationTest {
+
+    private static final int[] DURATIONS = {100, 80};
+
+    @Test
+    public void shouldAcceptCountsOfWholeCompositions() {
+        // Two 180 min mornings of 100 + 80 and two evenings of 100 + 100 and 80 + 80 + 80.
+        PackingRelaxation relaxation = createRelaxation(new int[]{10, 10});
+
+        assertEquals(relaxation.isFeasible(0, new int[]{4, 5}), true);
+        assertEquals(relaxation.isFeasible(2, new int[]{2, 3}), true);
+        assertEquals(relaxation.isFeasible(3, new int[]{0, 3}), true);
+    }
+
+    @Test
+    public void shouldRejectCountsWhichFitTheTimeButNoComposition() {
+        PackingRelaxation relaxation = createRelaxation(new int[]{10, 10});
+
+        // Five 80 min talks fit the time of two evenings, but only as 240 + 160 min.
+        assertEquals(relaxation.isFeasible(2, new int[]{0, 5}), false);
+        // The time fits all sessions, but each morning needs an 80 min talk.
+        assertEquals(relaxation.isFeasible(0, new int[]{7, 1}), false);
+    }
+
+    @Test
+    public void shouldRejectSessionsWithoutComposition() {
+        PackingRelaxation relaxation = PackingRelaxation.create(DURATIONS, new int[]{1, 1},
+                new int[]{150, 180}, new int[]{150, 180});
+
+        assertEquals(relaxation.isFeasible(0, new int[]{1, 1}), false);
+        assertEquals(relaxation.isFeasible(1, new int[]{1, 1}), true);
+    }
+
+    @Test
+    public void shouldNotListTooManyCompositions() {
+        int[] durations = new int[48];
+        int[] counts = new int[durations.length];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = 240 - 5 * i;
+            counts[i] = 100;
+        }
+
+        assertNull(PackingRelaxation.create(durations, counts, new int[]{180}, new int[]{240}));
+    }
+
+    private static PackingRelaxation createRelaxation(int[] counts) {
+        return PackingRelaxation.create(DURATIONS, counts, new int[]{180, 180, 180, 180}, new int[]{180, 180, 240, 240});
+    }
+}
@@ -0,0 +1,70 @@
+package conference;
+
+import model.Talk;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelSchedulingEngineTest {
+
+    @Test
+    public void shouldScheduleAllTalksOnPartitions() throws TalkException {
+        int[] durations = {5, 25, 30, 40, 45, 60, 90};
+        Random random = new Random(42);
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < 3000; i++) {
+            talks.add(new Talk("talk" + i, "talk" + i, durations[random.nextInt(durations.length)]));
+        }
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        SessionPlan sessionPlan;
+        try {
+            sessionPlan = new ParallelSchedulingEngine(forkJoinPool, new ExactSchedulingEngine()).planSessions(talks);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        assertEquals(sessionPlan.getMorningSessions().size(), sessionPlan.getEveningSessions().size());
+        Map<Talk, Boolean> scheduledTalks = new IdentityHashMap<Talk, Boolean>();
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            assertEquals(ConferenceManagerHelper.getTotalTalksTime(session), 180);
+            addAll(scheduledTalks, session);
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+            assertTrue(totalTime >= 180 && totalTime <= 240);
+            addAll(scheduledTalks, session);
+        }
+        assertEquals(scheduledTalks.size(), talks.size());
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionIfTalksCanNotBeScheduled() throws TalkException {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < 1000; i++) {
+            talks.add(new Talk("talk" + i, "talk" + i, 50));
+        }
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            new ParallelSchedulingEngine(forkJoinPool, new ExactSchedulingEngine()).planSessions(talks);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private static void addAll(Map<Talk, Boolean> scheduledTalks, List<Talk> session) {
+        for (Talk talk : session) {
+            assertFalse(scheduledTalks.containsKey(talk));
+            scheduledTalks.put(talk, Boolean.TRUE);
+        }
+    }
+}
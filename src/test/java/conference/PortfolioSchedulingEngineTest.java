@@ -0,0 +1,179 @@
+package conference;
+
+import model.ConferenceProfile;
+import model.Talk;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PortfolioSchedulingEngineTest {
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldRecordSeedsOfShuffledStrategies() {
+        List<PortfolioSchedulingEngine.Strategy> strategies = PortfolioSchedulingEngine.defaultStrategies(42L, 3);
+
+        assertEquals(strategies.size(), 6);
+        assertEquals(strategies.get(0).getKind(), PortfolioSchedulingEngine.Strategy.Kind.GREEDY);
+        assertEquals(strategies.get(1).getKind(), PortfolioSchedulingEngine.Strategy.Kind.FIRST_FIT_DECREASING);
+        assertEquals(strategies.get(2).getSeed(), 42L);
+        assertNotEquals(strategies.get(3).getSeed(), strategies.get(4).getSeed());
+        assertEquals(strategies.get(5).getKind(), PortfolioSchedulingEngine.Strategy.Kind.EXACT);
+        assertEquals(PortfolioSchedulingEngine.defaultStrategies(42L, 3).get(4).getSeed(), strategies.get(4).getSeed());
+    }
+
+    @Test
+    public void shouldReproduceWinningPlan() throws TalkException {
+        List<Talk> talks = createTalks(200, 7L);
+        PortfolioSchedulingEngine engine = createEngine(PortfolioSchedulingEngine.defaultStrategies(7L, 4),
+                PortfolioSchedulingEngine.Mode.BEST);
+
+        PortfolioSchedulingEngine.PortfolioResult result = engine.solve(talks);
+        SessionPlan reproduced = engine.planSessions(talks, result.getStrategy());
+
+        assertEquals(reproduced.getTrackCount(), result.getSessionPlan().getTrackCount());
+        for (int position = 0; position < reproduced.getSessionsPerDay(); position++) {
+            assertEquals(reproduced.getSessions(position), result.getSessionPlan().getSessions(position));
+        }
+    }
+
+    @Test
+    public void shouldShuffleSameOrderForSameSeed() throws TalkException {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < 28; i++) {
+            talks.add(new Talk("talk" + i + " 60min", "talk" + i, 60));
+        }
+        PortfolioSchedulingEngine engine = createEngine(PortfolioSchedulingEngine.defaultStrategies(0L, 1),
+                PortfolioSchedulingEngine.Mode.FIRST_VALID);
+        PortfolioSchedulingEngine.Strategy strategy = PortfolioSchedulingEngine.Strategy.shuffled(5L);
+
+        assertEquals(engine.planSessions(talks, strategy).getMorningSessions(),
+                engine.planSessions(talks, strategy).getMorningSessions());
+    }
+
+    @Test
+    public void shouldReturnFirstValidPlan() throws TalkException {
+        List<Talk> talks = createTalks(100, 3L);
+        PortfolioSchedulingEngine engine = createEngine(PortfolioSchedulingEngine.defaultStrategies(3L, 2),
+                PortfolioSchedulingEngine.Mode.FIRST_VALID);
+
+        SessionPlan sessionPlan = engine.planSessions(talks);
+
+        int scheduledTalks = 0;
+        for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+            for (List<Talk> session : sessionPlan.getSessions(position)) {
+                scheduledTalks += session.size();
+            }
+        }
+        assertEquals(scheduledTalks, talks.size());
+    }
+
+    @Test
+    public void shouldNotUseMoreTracksThanExactEngine() throws TalkException {
+        List<Talk> talks = createTalks(200, 13L);
+        PortfolioSchedulingEngine engine = createEngine(PortfolioSchedulingEngine.defaultStrategies(13L, 4),
+                PortfolioSchedulingEngine.Mode.BEST);
+
+        PortfolioSchedulingEngine.PortfolioResult result = engine.solve(talks);
+        SessionPlan exactPlan = new ExactSchedulingEngine().planSessions(talks);
+
+        assertTrue(result.getSessionPlan().getTrackCount() <= exactPlan.getTrackCount());
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldFailIfNoStrategyFindsPlan() throws TalkException {
+        // Passes the pre-check, but only one of the two mornings can be filled.
+        List<Talk> talks = Arrays.asList(new Talk("a 180min", "a", 180), new Talk("b 230min", "b", 230),
+                new Talk("c 230min", "c", 230), new Talk("d 60min", "d", 60), new Talk("e 60min", "e", 60));
+        createEngine(PortfolioSchedulingEngine.defaultStrategies(0L, 2), PortfolioSchedulingEngine.Mode.BEST).planSessions(talks);
+    }
+
+    @Test
+    public void shouldKeepPollingAfterExactRunTimesOut() throws TalkException {
+        // Neither the exact search within 0 ms nor its best fit fallback schedule these talks, the shuffled order does.
+        List<Talk> talks = createTalks(new int[]{59, 61, 121}, 20, 8L);
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            PortfolioSchedulingEngine engine = new PortfolioSchedulingEngine(ConferenceProfile.DEFAULT, singleThread,
+                    Arrays.asList(PortfolioSchedulingEngine.Strategy.exact(), PortfolioSchedulingEngine.Strategy.shuffled(8L)),
+                    PortfolioSchedulingEngine.Mode.BEST, 10, TimeUnit.SECONDS,
+                    new ExactSchedulingEngine(ConferenceProfile.DEFAULT, 0, TimeUnit.MILLISECONDS));
+
+            PortfolioSchedulingEngine.PortfolioResult result = engine.solve(talks);
+
+            assertEquals(result.getStrategy().getKind(), PortfolioSchedulingEngine.Strategy.Kind.SHUFFLED);
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test(expected = CancellationException.class)
+    public void shouldStopGreedyScanOnInterruptedThread() throws TalkException {
+        List<Talk> talks = createTalks(20000, 17L);
+        Thread.currentThread().interrupt();
+        try {
+            new GreedySchedulingEngine().planSessions(talks);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private PortfolioSchedulingEngine createEngine(List<PortfolioSchedulingEngine.Strategy> strategies,
+                                                   PortfolioSchedulingEngine.Mode mode) {
+        return new PortfolioSchedulingEngine(ConferenceProfile.DEFAULT, executorService, strategies, mode, 10, TimeUnit.SECONDS);
+    }
+
+    private static List<Talk> createTalks(int[] durations, int count, long seed) {
+        Random random = new Random(seed);
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < count; i++) {
+            int duration = durations[random.nextInt(durations.length)];
+            talks.add(new Talk("t" + i + " " + duration + "min", "t" + i, duration));
+        }
+        return talks;
+    }
+
+    /**
+     * Random talks of 30, 45 and 60 min, with 15 min talks up to a whole number of hours.
+     */
+    private static List<Talk> createTalks(int count, long seed) {
+        Random random = new Random(seed);
+        int[] durations = {30, 45, 60};
+        List<Talk> talks = new ArrayList<Talk>();
+        int totalTime = 0;
+        for (int i = 0; i < count; i++) {
+            int duration = durations[random.nextInt(durations.length)];
+            talks.add(new Talk("talk" + i + " " + duration + "min", "talk" + i, duration));
+            totalTime += duration;
+        }
+        for (int i = 0; totalTime % 60 != 0; i++) {
+            talks.add(new Talk("pad" + i + " 15min", "pad" + i, 15));
+            totalTime += 15;
+        }
+        return talks;
+    }
+}
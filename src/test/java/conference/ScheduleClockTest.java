@@ -0,0 +1,42 @@
+package conference;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ScheduleClockTest {
+
+    @Test
+    public void shouldFormatLikeSimpleDateFormat() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("hh:mma ", Locale.ENGLISH);
+        Calendar calendar = Calendar.getInstance();
+        for (int minute = 0; minute < ScheduleClock.MINUTES_PER_DAY; minute++) {
+            calendar.set(2014, Calendar.SEPTEMBER, 25, minute / 60, minute % 60, 0);
+            assertThat(ScheduleClock.format(minute), equalTo(dateFormat.format(calendar.getTime())));
+        }
+    }
+
+    @Test
+    public void shouldFormatSessionTimes() {
+        assertThat(ScheduleClock.format(ScheduleClock.MORNING_START), equalTo("09:00AM "));
+        assertThat(ScheduleClock.format(12 * 60), equalTo("12:00PM "));
+        assertThat(ScheduleClock.format(17 * 60), equalTo("05:00PM "));
+    }
+
+    @Test
+    public void shouldParseFormattedTimes() throws TalkException {
+        for (int minute = 0; minute < ScheduleClock.MINUTES_PER_DAY; minute++) {
+            assertThat(ScheduleClock.parse(ScheduleClock.format(minute) + "Lunch"), equalTo(minute));
+        }
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldNotParseLineWithoutTime() throws TalkException {
+        ScheduleClock.parse("Track 1:");
+    }
+}
@@ -0,0 +1,122 @@
+package conference;
+
+import model.Talk;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScheduleImproverTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void shouldRemoveTrackWhenTalksFitIntoOtherTracks() {
+        List<List<Talk>> morningSessions = new ArrayList<List<Talk>>();
+        List<List<Talk>> eveningSessions = new ArrayList<List<Talk>>();
+        for (int track = 0; track < 8; track++) {
+            morningSessions.add(createSession("m" + track, 60, 60, 60));
+            eveningSessions.add(createSession("e" + track, 60, 60, 60));
+        }
+
+        SessionPlan sessionPlan = new ScheduleImprover().improve(new SessionPlan(morningSessions, eveningSessions), System.nanoTime() + SECOND);
+
+        assertEquals(sessionPlan.getTrackCount(), 7);
+        assertValidPlan(sessionPlan, 48);
+    }
+
+    @Test
+    public void shouldKeepTrackWhenOnlySomeTalksFitIntoOtherTracks() {
+        List<List<Talk>> morningSessions = new ArrayList<List<Talk>>();
+        List<List<Talk>> eveningSessions = new ArrayList<List<Talk>>();
+        // Only one 60 min talk of the first track fits into the evening of the last track.
+        morningSessions.add(createSession("m0", 60, 60, 60));
+        morningSessions.add(createSession("m1", 60, 60, 60));
+        morningSessions.add(createSession("m2", 60, 60, 60));
+        eveningSessions.add(createSession("e0", 30, 30, 30, 30, 30, 30));
+        eveningSessions.add(createSession("e1", 60, 60, 60, 60));
+        eveningSessions.add(createSession("e2", 60, 60, 60));
+
+        SessionPlan sessionPlan = new ScheduleImprover().improve(new SessionPlan(morningSessions, eveningSessions), System.nanoTime() + SECOND);
+
+        assertEquals(sessionPlan.getTrackCount(), 3);
+        assertValidPlan(sessionPlan, 22);
+    }
+
+    @Test
+    public void shouldEvenOutNetworkingStart() {
+        List<List<Talk>> morningSessions = new ArrayList<List<Talk>>();
+        List<List<Talk>> eveningSessions = new ArrayList<List<Talk>>();
+        morningSessions.add(createSession("m0", 60, 60, 60));
+        morningSessions.add(createSession("m1", 60, 60, 60));
+        eveningSessions.add(createSession("e0", 30, 30, 30, 30, 30, 30));
+        eveningSessions.add(createSession("e1", 60, 60, 60, 60));
+
+        SessionPlan sessionPlan = new ScheduleImprover().improve(new SessionPlan(morningSessions, eveningSessions), System.nanoTime() + SECOND);
+
+        assertEquals(sessionPlan.getTrackCount(), 2);
+        assertEquals(ConferenceManagerHelper.getTotalTalksTime(sessionPlan.getEveningSessions().get(0)), 210);
+        assertEquals(ConferenceManagerHelper.getTotalTalksTime(sessionPlan.getEveningSessions().get(1)), 210);
+        assertValidPlan(sessionPlan, 16);
+    }
+
+    @Test
+    public void shouldReturnGivenScheduleWhenDeadlineHasPassed() {
+        List<List<Talk>> morningSessions = new ArrayList<List<Talk>>();
+        List<List<Talk>> eveningSessions = new ArrayList<List<Talk>>();
+        morningSessions.add(createSession("m0", 60, 60, 60));
+        eveningSessions.add(createSession("e0", 60, 60, 60));
+
+        SessionPlan sessionPlan = new ScheduleImprover().improve(new SessionPlan(morningSessions, eveningSessions), System.nanoTime() - 1);
+
+        assertEquals(sessionPlan.getMorningSessions(), morningSessions);
+        assertEquals(sessionPlan.getEveningSessions(), eveningSessions);
+    }
+
+    @Test
+    public void shouldImprovePlanOfEngine() throws TalkException {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < 60; i++) {
+            talks.add(new Talk("talk" + i, "talk" + i, i % 3 == 0 ? 30 : 45));
+        }
+        ImprovingSchedulingEngine engine = new ImprovingSchedulingEngine(new ExactSchedulingEngine(), new ScheduleImprover(),
+                1, TimeUnit.SECONDS);
+
+        SessionPlan sessionPlan = engine.planSessions(talks);
+
+        assertValidPlan(sessionPlan, talks.size());
+        int earliest = Integer.MAX_VALUE;
+        int latest = 0;
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            earliest = Math.min(earliest, ConferenceManagerHelper.getTotalTalksTime(session));
+            latest = Math.max(latest, ConferenceManagerHelper.getTotalTalksTime(session));
+        }
+        assertTrue(latest - earliest <= 15);
+    }
+
+    private static List<Talk> createSession(String prefix, int... durations) {
+        List<Talk> session = new ArrayList<Talk>();
+        for (int i = 0; i < durations.length; i++) {
+            session.add(new Talk(prefix + "-" + i, prefix + "-" + i, durations[i]));
+        }
+        return session;
+    }
+
+    private static void assertValidPlan(SessionPlan sessionPlan, int talkCount) {
+        int scheduledTalks = 0;
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            assertEquals(ConferenceManagerHelper.getTotalTalksTime(session), 180);
+            scheduledTalks += session.size();
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+            assertTrue(totalTime >= 180 && totalTime <= 240);
+            scheduledTalks += session.size();
+        }
+        assertEquals(scheduledTalks, talkCount);
+    }
+}
@@ -0,0 +1,78 @@
+package conference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ScheduleServerTest {
+
+    private ScheduleServer scheduleServer;
+
+    @Before
+    public void init() throws IOException {
+        scheduleServer = new ScheduleServer(0, new ExactSchedulingEngine());
+        scheduleServer.start();
+    }
+
+    @After
+    public void stop() {
+        scheduleServer.stop();
+    }
+
+    @Test
+    public void shouldReturnScheduleForTalkList() throws IOException {
+        HttpURLConnection connection = post("Writing Fast Tests 60min\nRails Magic 60min\nWoah 60min\n"
+                + "Lua for the Masses 60min\nCommon Ruby Errors 60min\nSit Down and Write 60min\n");
+
+        assertEquals(connection.getResponseCode(), 200);
+        String schedule = read(connection.getInputStream());
+        assertThat(schedule, containsString("Track 1:"));
+        assertThat(schedule, containsString("09:00AM "));
+        assertThat(schedule, containsString("12:00PM Lunch"));
+        assertThat(schedule, containsString("04:00PM Networking Event"));
+    }
+
+    @Test
+    public void shouldReturnBadRequestForInvalidTalk() throws IOException {
+        HttpURLConnection connection = post("java 30\n");
+
+        assertEquals(connection.getResponseCode(), 400);
+        assertThat(read(connection.getErrorStream()), equalTo("Invalid talk time, java 30. Time must be in min or in lightning"));
+    }
+
+    private HttpURLConnection post(String body) throws IOException {
+        URL url = new URL("http://localhost:" + scheduleServer.getPort() + "/schedule");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        OutputStream outputStream = connection.getOutputStream();
+        outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+        outputStream.close();
+        return connection;
+    }
+
+    private static String read(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read = inputStream.read(buffer);
+        while (read != -1) {
+            outputStream.write(buffer, 0, read);
+            read = inputStream.read(buffer);
+        }
+        inputStream.close();
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package conference;
+
+import model.Schedule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ScheduleSnapshotConverterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadRenderedText() throws Exception {
+        Schedule schedule = ScheduleSnapshotTest.createSchedule();
+        StringWriter writer = new StringWriter();
+        new TextScheduleRenderer(writer).render(schedule);
+
+        Schedule readSchedule = ScheduleSnapshotConverter.readText(new BufferedReader(new StringReader(writer.toString())));
+
+        ScheduleSnapshotTest.assertSameSchedule(readSchedule, schedule);
+    }
+
+    @Test
+    public void shouldConvertTextToSnapshotAndBack() throws Exception {
+        StringWriter writer = new StringWriter();
+        new TextScheduleRenderer(writer).render(ScheduleSnapshotTest.createSchedule());
+        Path textFile = temporaryFolder.newFile("schedule.txt").toPath();
+        Path snapshotFile = temporaryFolder.newFile("schedule.ctms").toPath();
+        Path convertedFile = temporaryFolder.newFile("converted.txt").toPath();
+        Files.write(textFile, writer.toString().getBytes(StandardCharsets.UTF_8));
+
+        ScheduleSnapshotConverter.toSnapshot(textFile, snapshotFile);
+        ScheduleSnapshotConverter.toText(snapshotFile, convertedFile);
+
+        assertThat(new String(Files.readAllBytes(convertedFile), StandardCharsets.UTF_8), equalTo(writer.toString()));
+    }
+
+    @Test
+    public void shouldGiveEventsTimeUntilNextSlot() throws Exception {
+        String text = "Track 1:\n09:00AM Ruby 180min\n12:00PM Lunch\n01:00PM Scala 180min\n04:00PM Networking Event\n";
+
+        Schedule schedule = ScheduleSnapshotConverter.readText(new BufferedReader(new StringReader(text)));
+
+        assertEquals(schedule.getTracks().get(0).getSlots().get(1).getTalk().getTimeDuration(), 60);
+        assertEquals(schedule.getTracks().get(0).getSlots().get(3).getTalk().getTimeDuration(), 60);
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldRejectSlotBeforeTrack() throws Exception {
+        ScheduleSnapshotConverter.readText(new BufferedReader(new StringReader("09:00AM Ruby 180min\n")));
+    }
+}
@@ -0,0 +1,116 @@
+package conference;
+
+import model.Schedule;
+import model.ScheduleSlot;
+import model.Talk;
+import model.Track;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ScheduleSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReadWrittenSchedule() throws Exception {
+        Schedule schedule = createSchedule();
+        Path file = temporaryFolder.newFile("schedule.ctms").toPath();
+
+        ScheduleSnapshot.write(schedule, file);
+        Schedule readSchedule = ScheduleSnapshot.read(file);
+
+        assertSameSchedule(readSchedule, schedule);
+    }
+
+    @Test
+    public void shouldKeepNameWhichIsNoPrefixOfTitle() throws Exception {
+        Talk talk = new Talk("Über Scala 45min", "scala", 45);
+        Schedule schedule = new Schedule(Arrays.asList(new Track(1, Arrays.asList(new ScheduleSlot(talk, 540)))));
+
+        Schedule readSchedule = ScheduleSnapshot.decode(ScheduleSnapshot.encode(schedule));
+
+        Talk readTalk = readSchedule.getTracks().get(0).getSlots().get(0).getTalk();
+        assertThat(readTalk.getTitle(), equalTo("Über Scala 45min"));
+        assertThat(readTalk.getName(), equalTo("scala"));
+    }
+
+    @Test
+    public void shouldStoreSharedTalkOnce() throws Exception {
+        Talk lunch = new Talk("Lunch", "Lunch", 60);
+        List<Track> tracks = new ArrayList<Track>();
+        for (int track = 1; track <= 3; track++) {
+            tracks.add(new Track(track, Arrays.asList(new ScheduleSlot(lunch, 720))));
+        }
+
+        Schedule readSchedule = ScheduleSnapshot.decode(ScheduleSnapshot.encode(new Schedule(tracks)));
+
+        Talk firstLunch = readSchedule.getTracks().get(0).getSlots().get(0).getTalk();
+        assertThat(readSchedule.getTracks().get(2).getSlots().get(0).getTalk(), sameInstance(firstLunch));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectOtherFiles() throws Exception {
+        ScheduleSnapshot.decode(ByteBuffer.wrap("Track 1:\n".getBytes("UTF-8")));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectNewerVersion() throws Exception {
+        ByteBuffer buffer = ScheduleSnapshot.encode(createSchedule());
+        buffer.putShort(4, (short) (ScheduleSnapshot.VERSION + 1));
+
+        ScheduleSnapshot.decode(buffer);
+    }
+
+    @Test(expected = EOFException.class)
+    public void shouldRejectTruncatedSnapshot() throws Exception {
+        ByteBuffer buffer = ScheduleSnapshot.encode(createSchedule());
+        buffer.limit(buffer.limit() - 3);
+
+        ScheduleSnapshot.decode(buffer);
+    }
+
+    static Schedule createSchedule() throws TalkException {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int talk = 0; talk < 12; talk++) {
+            talks.add(TalkParser.parseTalk("talk " + talk + " " + (talk % 2 == 0 ? "60min" : "lightning")));
+        }
+        for (int talk = 0; talk < 10; talk++) {
+            talks.add(TalkParser.parseTalk("Ruby " + talk + " 45min"));
+        }
+        ConferenceManager conferenceManager = new ConferenceManager(null, false);
+        return conferenceManager.createSchedule(new ExactSchedulingEngine().planSessions(talks));
+    }
+
+    static void assertSameSchedule(Schedule actual, Schedule expected) {
+        assertEquals(actual.getTracks().size(), expected.getTracks().size());
+        for (int track = 0; track < expected.getTracks().size(); track++) {
+            Track actualTrack = actual.getTracks().get(track);
+            Track expectedTrack = expected.getTracks().get(track);
+            assertEquals(actualTrack.getNumber(), expectedTrack.getNumber());
+            assertEquals(actualTrack.getSlots().size(), expectedTrack.getSlots().size());
+            for (int slot = 0; slot < expectedTrack.getSlots().size(); slot++) {
+                ScheduleSlot actualSlot = actualTrack.getSlots().get(slot);
+                ScheduleSlot expectedSlot = expectedTrack.getSlots().get(slot);
+                assertEquals(actualSlot.getStartMinute(), expectedSlot.getStartMinute());
+                assertThat(actualSlot.getTalk().getTitle(), equalTo(expectedSlot.getTalk().getTitle()));
+                assertThat(actualSlot.getTalk().getName(), equalTo(expectedSlot.getTalk().getName()));
+                assertEquals(actualSlot.getTalk().getTimeDuration(), expectedSlot.getTalk().getTimeDuration());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package conference;
+
+import model.Break;
+import model.ConferenceProfile;
+import model.ScheduleSlot;
+import model.SessionWindow;
+import model.Talk;
+import model.Track;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ScheduleViewTest {
+
+    @Test
+    public void shouldLayOutTrackWithBreakAndNetworkingEvent() {
+        ScheduleView scheduleView = new ScheduleView(createPlan(2));
+
+        Track track = scheduleView.get(1);
+
+        assertEquals(track.getNumber(), 2);
+        List<ScheduleSlot> slots = track.getSlots();
+        assertEquals(slots.size(), 9);
+        assertEquals(slots.get(0).getStartMinute(), 540);
+        assertEquals(slots.get(3).getStartMinute(), 720);
+        assertThat(slots.get(3).getTalk().getTitle(), equalTo("Lunch"));
+        assertEquals(slots.get(4).getStartMinute(), 780);
+        assertThat(slots.get(8).getTalk().getTitle(), equalTo(ConferenceProfile.NETWORKING_EVENT));
+        assertEquals(slots.get(8).getStartMinute(), 16 * 60);
+    }
+
+    @Test
+    public void shouldShareBreakAndNetworkingEventOfAllTracks() {
+        ScheduleView scheduleView = new ScheduleView(createPlan(3));
+
+        Track firstTrack = scheduleView.get(0);
+        Track lastTrack = scheduleView.get(2);
+
+        assertThat(lastTrack.getSlots().get(3).getTalk(), sameInstance(firstTrack.getSlots().get(3).getTalk()));
+        assertThat(lastTrack.getSlots().get(8).getTalk(), sameInstance(firstTrack.getSlots().get(8).getTalk()));
+    }
+
+    @Test
+    public void shouldCreateTrackOnEveryAccess() {
+        ScheduleView scheduleView = new ScheduleView(createPlan(2));
+
+        assertThat(scheduleView.get(0), not(sameInstance(scheduleView.get(0))));
+    }
+
+    @Test
+    public void shouldPageTracks() {
+        ScheduleView scheduleView = new ScheduleView(createPlan(5));
+
+        List<Track> page = scheduleView.subList(2, 4);
+
+        assertEquals(page.size(), 2);
+        assertEquals(page.get(0).getNumber(), 3);
+        assertEquals(page.get(1).getNumber(), 4);
+    }
+
+    @Test
+    public void shouldLayOutProfileWithTwoBreaks() {
+        ConferenceProfile conferenceProfile = new ConferenceProfile(600,
+                Arrays.asList(new SessionWindow(60, 60), new SessionWindow(60, 60), new SessionWindow(60, 120)),
+                Arrays.asList(new Break("Coffee", 15), new Break("Lunch", 45)), 780, 900, 1, 4);
+        List<List<List<Talk>>> sessions = new ArrayList<List<List<Talk>>>();
+        for (int position = 0; position < 3; position++) {
+            List<Talk> session = Arrays.asList(new Talk("talk " + position + " 60min", "talk " + position, 60));
+            sessions.add(Arrays.asList(session));
+        }
+
+        Track track = new ScheduleView(new SessionPlan(sessions, conferenceProfile)).get(0);
+
+        assertThat(track.getSlots().get(1).getTalk().getTitle(), equalTo("Coffee"));
+        assertEquals(track.getSlots().get(2).getStartMinute(), 675);
+        assertEquals(track.getSlots().get(4).getStartMinute(), 780);
+        assertEquals(track.getSlots().get(5).getStartMinute(), 840);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectUnknownTrack() {
+        new ScheduleView(createPlan(2)).get(2);
+    }
+
+    private static SessionPlan createPlan(int tracks) {
+        List<List<Talk>> morningSessions = new ArrayList<List<Talk>>();
+        List<List<Talk>> eveningSessions = new ArrayList<List<Talk>>();
+        for (int track = 0; track < tracks; track++) {
+            morningSessions.add(Arrays.asList(new Talk("a 60min", "a", 60), new Talk("b 60min", "b", 60), new Talk("c 60min", "c", 60)));
+            eveningSessions.add(Arrays.asList(new Talk("d 60min", "d", 60), new Talk("e 60min", "e", 60), new Talk("f 45min", "f", 45),
+                    new Talk("g lightning", "g", 5)));
+        }
+        return new SessionPlan(morningSessions, eveningSessions);
+    }
+}
@@ -0,0 +1,52 @@
+package conference;
+
+import model.Talk;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs in the metrics-off surefire execution, where the JVM starts with -Dctm.metrics=false.
+ */
+public class SchedulerMetricsDisabledTest {
+
+    private final SchedulerMetrics schedulerMetrics = SchedulerMetrics.getInstance();
+
+    @Before
+    public void init() {
+        assumeTrue("false".equals(System.getProperty("ctm.metrics")));
+        schedulerMetrics.reset();
+    }
+
+    @Test
+    public void shouldBeDisabled() throws Exception {
+        assertFalse(SchedulerMetrics.ENABLED);
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(SchedulerMetrics.OBJECT_NAME)));
+        assertEquals(SchedulerMetrics.start(), 0L);
+    }
+
+    @Test
+    public void shouldNotRecordStagesOfScheduling() throws Exception {
+        ConferenceManager conferenceManager = new ConferenceManager("", false, new GreedySchedulingEngine());
+        conferenceManager.setScheduleRenderer(ScheduleRenderer.NONE);
+
+        conferenceManager.scheduleConferenceTalks(Arrays.asList("Writing Fast Tests Against Enterprise Rails 60min",
+                "Overdoing it in Python 45min", "Lua for the Masses 30min", "Ruby Errors from Mismatched Gem Versions 45min",
+                "Common Ruby Errors 45min", "Rails for Python Developers lightning", "Communicating Over Distance 60min",
+                "Accounting-Driven Development 45min", "Woah 30min", "Sit Down and Write 30min"));
+        new FeasibilityCheck().check(Arrays.asList(new Talk("a", "a", 300)));
+
+        assertEquals(schedulerMetrics.getTalksProcessed(), 0L);
+        assertEquals(schedulerMetrics.getCombinationsTried(), 0L);
+        for (Long calls : schedulerMetrics.getStageCalls().values()) {
+            assertEquals(calls, Long.valueOf(0));
+        }
+    }
+}
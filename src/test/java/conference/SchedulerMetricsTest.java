@@ -0,0 +1,99 @@
+package conference;
+
+import model.Talk;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchedulerMetricsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SchedulerMetrics schedulerMetrics = SchedulerMetrics.getInstance();
+
+    @Before
+    public void init() {
+        schedulerMetrics.reset();
+    }
+
+    @Test
+    public void shouldBeEnabledForTests() {
+        assertTrue(SchedulerMetrics.ENABLED);
+    }
+
+    @Test
+    public void shouldTimeStagesOfScheduling() throws Exception {
+        ConferenceManager conferenceManager = new ConferenceManager("", false, new GreedySchedulingEngine());
+        conferenceManager.setScheduleRenderer(ScheduleRenderer.NONE);
+
+        conferenceManager.scheduleConferenceTalks(Arrays.asList("Writing Fast Tests Against Enterprise Rails 60min",
+                "Overdoing it in Python 45min", "Lua for the Masses 30min", "Ruby Errors from Mismatched Gem Versions 45min",
+                "Common Ruby Errors 45min", "Rails for Python Developers lightning", "Communicating Over Distance 60min",
+                "Accounting-Driven Development 45min", "Woah 30min", "Sit Down and Write 30min"));
+
+        assertEquals(schedulerMetrics.getTalksProcessed(), 10L);
+        assertEquals(schedulerMetrics.getStageCalls().get("VALIDATE"), Long.valueOf(1));
+        assertEquals(schedulerMetrics.getStageCalls().get("PLAN_SESSIONS"), Long.valueOf(1));
+        assertEquals(schedulerMetrics.getStageCalls().get("FIND_SESSIONS"), Long.valueOf(2));
+        assertEquals(schedulerMetrics.getStageCalls().get("PREPARE"), Long.valueOf(1));
+        assertEquals(schedulerMetrics.getStageCalls().get("RENDER"), Long.valueOf(1));
+        assertTrue(schedulerMetrics.getCombinationsTried() > 0);
+        assertTrue(schedulerMetrics.getStageNanos().get("PLAN_SESSIONS") > 0);
+    }
+
+    @Test
+    public void shouldTimeReadingAndParsingOfMappedFile() throws Exception {
+        File file = temporaryFolder.newFile("talks.txt");
+        Files.write(file.toPath(), Arrays.asList("Overdoing it in Python 45min", "Lua for the Masses 30min",
+                "Rails for Python Developers lightning"), StandardCharsets.UTF_8);
+
+        new MappedTalkFileReader().readTalkStore(file.getAbsolutePath());
+
+        assertEquals(schedulerMetrics.getTalksProcessed(), 3L);
+        assertEquals(schedulerMetrics.getStageCalls().get("READ_FILE"), Long.valueOf(1));
+        assertEquals(schedulerMetrics.getStageCalls().get("VALIDATE"), Long.valueOf(1));
+        assertTrue(schedulerMetrics.getStageNanos().get("VALIDATE") > 0);
+    }
+
+    @Test
+    public void shouldCountCombinationsOfExactSearch() throws TalkException {
+        new ExactSchedulingEngine().planSessions(Arrays.asList(
+                new Talk("a", "a", 50), new Talk("b", "b", 50), new Talk("c", "c", 50),
+                new Talk("d", "d", 50), new Talk("e", "e", 50), new Talk("f", "f", 50),
+                new Talk("g", "g", 40), new Talk("h", "h", 40)));
+
+        assertTrue(schedulerMetrics.getCombinationsTried() > 0);
+    }
+
+    @Test
+    public void shouldTimeFeasibilityCheckWhichRejectsLongTalk() {
+        FeasibilityCheck.Result result = new FeasibilityCheck().check(Arrays.asList(
+                new Talk("a", "a", 60), new Talk("b", "b", 300), new Talk("c", "c", 60)));
+
+        assertEquals(result.getReason(), FeasibilityCheck.Reason.TALK_TOO_LONG);
+        assertEquals(schedulerMetrics.getStageCalls().get("PRE_CHECK"), Long.valueOf(1));
+    }
+
+    @Test
+    public void shouldExportMXBean() throws Exception {
+        SchedulerMetrics.countSearch(3, 2);
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(SchedulerMetrics.OBJECT_NAME);
+
+        assertEquals(mBeanServer.getAttribute(objectName, "CombinationsTried"), 3L);
+        assertEquals(mBeanServer.getAttribute(objectName, "Backtracks"), 2L);
+    }
+}
@@ -0,0 +1,240 @@
+package conference;
+
+import model.Talk;
+import model.TalkConstraint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchedulingSessionTest {
+
+    private static final int[] DURATIONS = {30, 90, 60, 25, 30, 45, 90, 5, 5, 40, 90, 25, 90, 40, 60, 90};
+
+    @Test
+    public void shouldAddTalkWithoutFullReschedule() throws TalkException {
+        List<Talk> talks = createTalks(DURATIONS);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+
+        schedulingSession.addTalk(new Talk("new talk", "new talk", 20));
+
+        assertValidPlan(schedulingSession.getSessionPlan(), talks.size() + 1);
+        assertEquals(schedulingSession.getFullReschedules(), 0);
+    }
+
+    @Test
+    public void shouldRemoveMorningTalkAndRefillMorningSession() throws TalkException {
+        List<Talk> talks = createTalks(new int[]{60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 30});
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+        Talk morningTalk = schedulingSession.getSessionPlan().getMorningSessions().get(0).get(0);
+
+        schedulingSession.removeTalk(morningTalk);
+
+        assertValidPlan(schedulingSession.getSessionPlan(), talks.size() - 1);
+        assertEquals(schedulingSession.getFullReschedules(), 0);
+    }
+
+    @Test
+    public void shouldChangeDuration() throws TalkException {
+        List<Talk> talks = createTalks(DURATIONS);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+        Talk eveningTalk = schedulingSession.getSessionPlan().getEveningSessions().get(0).get(0);
+
+        Talk changedTalk = schedulingSession.changeDuration(eveningTalk, eveningTalk.getTimeDuration() + 5);
+
+        assertEquals(changedTalk.getTimeDuration(), eveningTalk.getTimeDuration() + 5);
+        assertValidPlan(schedulingSession.getSessionPlan(), talks.size());
+    }
+
+    @Test
+    public void shouldRescheduleWhenTrackCountChanges() throws TalkException {
+        int[] durations = new int[42];
+        Arrays.fill(durations, 60);
+        List<Talk> talks = createTalks(durations);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+        assertEquals(schedulingSession.getSessionPlan().getTrackCount(), 6);
+
+        schedulingSession.addTalk(new Talk("new talk", "new talk", 60));
+
+        assertValidPlan(schedulingSession.getSessionPlan(), talks.size() + 1);
+        assertEquals(schedulingSession.getSessionPlan().getTrackCount(), 7);
+        assertEquals(schedulingSession.getFullReschedules(), 1);
+    }
+
+    @Test
+    public void shouldKeepSessionWhenChangeCanNotBeScheduled() throws TalkException {
+        List<Talk> talks = createTalks(DURATIONS);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+        Talk talk = talks.get(0);
+
+        try {
+            schedulingSession.changeDuration(talk, 300);
+        } catch (TalkException e) {
+            assertValidPlan(schedulingSession.getSessionPlan(), talks.size());
+            return;
+        }
+        throw new AssertionError("TalkException expected");
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldThrowTalkExceptionForUnknownTalk() throws TalkException {
+        new SchedulingSession(createTalks(DURATIONS), new ExactSchedulingEngine()).removeTalk(new Talk("a", "a", 30));
+    }
+
+    @Test
+    public void shouldRejectTalkWhichIsAlreadyScheduled() throws TalkException {
+        List<Talk> talks = createTalks(DURATIONS);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+
+        try {
+            schedulingSession.addTalk(talks.get(3));
+        } catch (TalkException e) {
+            assertValidPlan(schedulingSession.getSessionPlan(), talks.size());
+            return;
+        }
+        throw new AssertionError("TalkException expected");
+    }
+
+    @Test
+    public void shouldOpenSessionWithPinnedTalk() throws TalkException {
+        List<Talk> talks = createTalks(DURATIONS);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ConstraintSchedulingEngine());
+        TalkConstraint afterLunch = new TalkConstraint(null, TalkConstraint.ALL_POSITIONS, 780);
+
+        schedulingSession.addTalk(new Talk("keynote1", "keynote1", 5, afterLunch));
+        schedulingSession.addTalk(new Talk("keynote2", "keynote2", 5, afterLunch));
+
+        SessionPlan sessionPlan = schedulingSession.getSessionPlan();
+        assertValidPlan(sessionPlan, talks.size() + 2);
+        assertConstraintsHold(sessionPlan);
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            assertTrue(session.get(0).getTitle().startsWith("keynote"));
+        }
+    }
+
+    @Test
+    public void shouldNotDoubleBookSpeakersForRandomChanges() throws TalkException {
+        int[] durations = {5, 30, 45, 60};
+        String[] speakers = {"Jane", "John", "Joe"};
+        Random random = new Random(7);
+        int[] talkDurations = new int[120];
+        for (int i = 0; i < talkDurations.length; i++) {
+            talkDurations[i] = durations[random.nextInt(durations.length)];
+        }
+        List<Talk> talks = createTalks(talkDurations);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ConstraintSchedulingEngine());
+
+        for (int i = 0; i < 40; i++) {
+            TalkConstraint constraint = new TalkConstraint(speakers[random.nextInt(speakers.length)], 1 << 1, TalkConstraint.NOT_PINNED);
+            try {
+                schedulingSession.addTalk(new Talk("new" + i, "new" + i, durations[random.nextInt(durations.length)], constraint));
+            } catch (TalkException e) {
+                // the talk is rejected, the plan stays valid
+            }
+            SessionPlan sessionPlan = schedulingSession.getSessionPlan();
+            assertValidPlan(sessionPlan, getTalks(sessionPlan).size());
+            assertConstraintsHold(sessionPlan);
+        }
+    }
+
+    @Test
+    public void shouldKeepValidPlanForRandomChanges() throws TalkException {
+        int[] durations = {5, 30, 45, 60};
+        Random random = new Random(42);
+        int[] talkDurations = new int[400];
+        for (int i = 0; i < talkDurations.length; i++) {
+            talkDurations[i] = durations[random.nextInt(durations.length)];
+        }
+        List<Talk> talks = createTalks(talkDurations);
+        SchedulingSession schedulingSession = new SchedulingSession(talks, new ExactSchedulingEngine());
+
+        for (int i = 0; i < 200; i++) {
+            List<Talk> scheduled = getTalks(schedulingSession.getSessionPlan());
+            Talk talk = scheduled.get(random.nextInt(scheduled.size()));
+            try {
+                switch (random.nextInt(3)) {
+                    case 0:
+                        schedulingSession.addTalk(new Talk("new" + i, "new" + i, durations[random.nextInt(durations.length)]));
+                        break;
+                    case 1:
+                        schedulingSession.removeTalk(talk);
+                        break;
+                    default:
+                        schedulingSession.changeDuration(talk, durations[random.nextInt(durations.length)]);
+                }
+            } catch (TalkException e) {
+                // the change is rejected, the plan stays valid
+            }
+            SessionPlan sessionPlan = schedulingSession.getSessionPlan();
+            assertValidPlan(sessionPlan, getTalks(sessionPlan).size());
+        }
+        assertTrue(schedulingSession.getFullReschedules() < 100);
+    }
+
+    /**
+     * Constrained talks are in allowed positions, a pinned talk opens its session, and a speaker
+     * has no talks in two tracks of the same position, which are the overlapping sessions of the default profile.
+     */
+    private static void assertConstraintsHold(SessionPlan sessionPlan) {
+        for (int position = 0; position < sessionPlan.getSessionsPerDay(); position++) {
+            Map<String, Integer> speakerTracks = new HashMap<String, Integer>();
+            List<List<Talk>> sessions = sessionPlan.getSessions(position);
+            for (int track = 0; track < sessions.size(); track++) {
+                List<Talk> session = sessions.get(track);
+                for (int i = 0; i < session.size(); i++) {
+                    TalkConstraint constraint = session.get(i).getConstraint();
+                    if (constraint == null) {
+                        continue;
+                    }
+                    assertTrue(constraint.allowsPosition(position));
+                    assertTrue(!constraint.isPinned() || i == 0);
+                    if (constraint.getSpeaker() != null) {
+                        Integer speakerTrack = speakerTracks.put(constraint.getSpeaker(), track);
+                        assertTrue(speakerTrack == null || speakerTrack == track);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Talk> getTalks(SessionPlan sessionPlan) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            talks.addAll(session);
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            talks.addAll(session);
+        }
+        return talks;
+    }
+
+    private static List<Talk> createTalks(int[] durations) {
+        List<Talk> talks = new ArrayList<Talk>();
+        for (int i = 0; i < durations.length; i++) {
+            talks.add(new Talk("talk" + i, "talk" + i, durations[i]));
+        }
+        return talks;
+    }
+
+    private static void assertValidPlan(SessionPlan sessionPlan, int talkCount) {
+        assertEquals(sessionPlan.getMorningSessions().size(), sessionPlan.getEveningSessions().size());
+        int scheduledTalks = 0;
+        for (List<Talk> session : sessionPlan.getMorningSessions()) {
+            assertEquals(ConferenceManagerHelper.getTotalTalksTime(session), 180);
+            scheduledTalks += session.size();
+        }
+        for (List<Talk> session : sessionPlan.getEveningSessions()) {
+            int totalTime = ConferenceManagerHelper.getTotalTalksTime(session);
+            assertTrue(totalTime >= 180 && totalTime <= 240);
+            scheduledTalks += session.size();
+        }
+        assertEquals(scheduledTalks, talkCount);
+    }
+}
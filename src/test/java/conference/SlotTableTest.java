@@ -0,0 +1,52 @@
+package conference;
+
+import model.Break;
+import model.ConferenceProfile;
+import model.SessionWindow;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SlotTableTest {
+
+    private static final ConferenceProfile THREE_SESSIONS = new ConferenceProfile(540,
+            Arrays.asList(new SessionWindow(120, 120), new SessionWindow(90, 120), new SessionWindow(120, 150)),
+            Arrays.asList(new Break("Coffee", 30), new Break("Lunch", 60)), 960, 1020, 1, 3);
+
+    @Test
+    public void shouldCompileDefaultProfile() {
+        SlotTable slotTable = SlotTable.DEFAULT;
+
+        assertEquals(slotTable.getSessionsPerDay(), 2);
+        assertEquals(slotTable.getDayMinTime(), 360);
+        assertEquals(slotTable.getDayMaxTime(), 420);
+        assertEquals(slotTable.getLongestSession(), 240);
+        assertTrue(slotTable.isFixed(0));
+        assertFalse(slotTable.isFixed(1));
+        assertEquals(slotTable.getFillPosition(), 1);
+    }
+
+    @Test
+    public void shouldBoundTimeOfLaterSessions() {
+        SlotTable slotTable = SlotTable.compile(THREE_SESSIONS);
+
+        // Two tracks, session 0 is the first session of track 1, session 3 the second session of track 2.
+        assertEquals(slotTable.getMinTimeAfter(0, 2), 120 + 2 * 90 + 2 * 120);
+        assertEquals(slotTable.getMaxTimeAfter(3, 2), 2 * 150);
+        assertEquals(slotTable.getMinTimeAfter(5, 2), 0);
+    }
+
+    @Test
+    public void shouldLimitTracksByProfile() {
+        SlotTable slotTable = SlotTable.compile(THREE_SESSIONS);
+
+        assertEquals(slotTable.getMinTracks(700), 2);
+        assertEquals(slotTable.getMaxTracks(700), 2);
+        assertEquals(slotTable.getMaxTracks(5000), 3);
+        assertEquals(SlotTable.DEFAULT.getMinTracks(100), 1);
+    }
+}
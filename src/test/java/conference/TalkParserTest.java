@@ -0,0 +1,100 @@
+package conference;
+
+import model.Talk;
+import model.TalkConstraint;
+import model.TalkStore;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class TalkParserTest {
+
+    @Test
+    public void shouldParseTalkInMin() throws TalkException {
+        Talk talk = TalkParser.parseTalk("Overdoing it in Python 45min");
+
+        assertThat(talk.getTitle(), equalTo("Overdoing it in Python 45min"));
+        assertThat(talk.getName(), equalTo("Overdoing it in Python"));
+        assertEquals(talk.getTimeDuration(), 45);
+    }
+
+    @Test
+    public void shouldParseLightningTalks() throws TalkException {
+        assertEquals(TalkParser.parseTalk("Rails for Python Developers lightning").getTimeDuration(), 5);
+        assertEquals(TalkParser.parseTalk("Rails for Python Developers 3lightning").getTimeDuration(), 15);
+    }
+
+    @Test
+    public void shouldParseTalkWithConstraints() throws TalkException {
+        Talk talk = TalkParser.parseTalk("Keynote 60min | speaker=Jane Doe; sessions=1; pin=9:00");
+
+        assertThat(talk.getTitle(), equalTo("Keynote 60min"));
+        assertThat(talk.getName(), equalTo("Keynote"));
+        assertEquals(talk.getTimeDuration(), 60);
+        TalkConstraint constraint = talk.getConstraint();
+        assertThat(constraint.getSpeaker(), equalTo("Jane Doe"));
+        assertEquals(constraint.getPositionMask(), 1);
+        assertEquals(constraint.getPinnedMinute(), 540);
+    }
+
+    @Test
+    public void shouldParseTalkWithConstraintsIntoStore() throws TalkException {
+        TalkStore talkStore = new TalkStore();
+        int talk = TalkParser.parseTalk("Keynote 60min | speaker=Jane Doe; sessions=1", talkStore);
+
+        assertThat(talkStore.getTitle(talk), equalTo("Keynote 60min"));
+        assertThat(talkStore.getName(talk), equalTo("Keynote"));
+        assertEquals(talkStore.getDuration(talk), 60);
+        assertThat(talkStore.getConstraint(talk).getSpeaker(), equalTo("Jane Doe"));
+        assertEquals(talkStore.getConstraint(talk).getPositionMask(), 1);
+    }
+
+    @Test
+    public void shouldParseTalkWithoutConstraints() throws TalkException {
+        TalkConstraint constraint = TalkParser.parseTalk("Rails Magic 60min | sessions=1,2").getConstraint();
+
+        assertEquals(constraint.getPositionMask(), 3);
+        assertEquals(constraint.isPinned(), false);
+        assertEquals(TalkParser.parseTalk("Rails Magic 60min").getConstraint(), null);
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldRejectUnknownConstraint() throws TalkException {
+        TalkParser.parseTalk("Rails Magic 60min | room=A");
+    }
+
+    @Test(expected = TalkException.class)
+    public void shouldRejectInvalidSession() throws TalkException {
+        TalkParser.parseTalk("Rails Magic 60min | sessions=0");
+    }
+
+    @Test
+    public void shouldReportInvalidTimeWithSameMessages() {
+        assertMessage("java", "Invalid talk, java. Talk time must be specify.");
+        assertMessage("  30min", "Invalid talk name,   30min");
+        assertMessage("java 30", "Invalid talk time, java 30. Time must be in min or in lightning");
+        assertMessage("java 30smin", "Unable to parse time 30smin for talk java 30smin");
+        assertMessage("java min", "Unable to parse time min for talk java min");
+        assertMessage("java 99999999999min", "Unable to parse time 99999999999min for talk java 99999999999min");
+    }
+
+    @Test
+    public void shouldParseTimeWithPlusSign() throws TalkException {
+        assertEquals(TalkParser.parseTalk("Talk +30min").getTimeDuration(), 30);
+        assertEquals(TalkParser.parseTalk("Talk +3lightning").getTimeDuration(), 15);
+        assertMessage("Talk +min", "Unable to parse time +min for talk Talk +min");
+        assertMessage("Talk -30min", "Unable to parse time -30min for talk Talk -30min");
+    }
+
+    private static void assertMessage(String line, String message) {
+        try {
+            TalkParser.parseTalk(line);
+            fail("Expected TalkException for " + line);
+        } catch (TalkException e) {
+            assertThat(e.getMessage(), equalTo(message));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package conference;
+
+import model.Schedule;
+import model.Talk;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class TextScheduleRendererTest {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @Test
+    public void shouldRenderScheduleAsText() throws IOException {
+        List<List<Talk>> morningSessions = new ArrayList<List<Talk>>();
+        morningSessions.add(Arrays.asList(new Talk("java 120min", "java", 120), new Talk("scala 60min", "scala", 60)));
+        List<List<Talk>> eveningSessions = new ArrayList<List<Talk>>();
+        eveningSessions.add(Arrays.asList(new Talk("python 180min", "python", 180), new Talk("ruby lightning", "ruby", 5)));
+        Schedule schedule = new ConferenceManager("", false).createSchedule(morningSessions, eveningSessions);
+        StringWriter writer = new StringWriter();
+
+        new TextScheduleRenderer(writer).render(schedule);
+
+        assertThat(writer.toString(), equalTo("Track 1:" + LINE_SEPARATOR
+                + "09:00AM java 120min" + LINE_SEPARATOR
+                + "11:00AM scala 60min" + LINE_SEPARATOR
+                + "12:00PM Lunch" + LINE_SEPARATOR
+                + "01:00PM python 180min" + LINE_SEPARATOR
+                + "04:00PM ruby lightning" + LINE_SEPARATOR
+                + "04:05PM Networking Event" + LINE_SEPARATOR));
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class ConferenceProfileTest {
+
+    @Test
+    public void shouldDescribeDefaultConferenceDay() {
+        ConferenceProfile profile = ConferenceProfile.DEFAULT;
+
+        assertEquals(profile.getDayStart(), 540);
+        assertEquals(profile.getSessions().size(), 2);
+        assertEquals(profile.getSessions().get(0).getMaxDuration(), 180);
+        assertEquals(profile.getSessions().get(1).getMaxDuration(), 240);
+        assertThat(profile.getBreaks().get(0).getTitle(), equalTo("Lunch"));
+        assertEquals(profile.getNetworkingStart(), 960);
+    }
+
+    @Test
+    public void shouldReadProfileFromProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("dayStart", "08:30");
+        properties.setProperty("sessions", "120-120, 90-120, 120-150");
+        properties.setProperty("breaks", "Coffee:30,Lunch:45");
+        properties.setProperty("networking", "15:30-17:30");
+        properties.setProperty("tracks", "2-3");
+
+        ConferenceProfile profile = ConferenceProfile.fromProperties(properties);
+
+        assertEquals(profile.getDayStart(), 510);
+        assertEquals(profile.getSessions().size(), 3);
+        assertEquals(profile.getSessions().get(1).getMinDuration(), 90);
+        assertEquals(profile.getSessions().get(2).getMaxDuration(), 150);
+        assertThat(profile.getBreaks().get(1).getTitle(), equalTo("Lunch"));
+        assertEquals(profile.getBreaks().get(0).getDuration(), 30);
+        assertEquals(profile.getNetworkingStart(), 930);
+        assertEquals(profile.getNetworkingEnd(), 1050);
+        assertEquals(profile.getMinTracks(), 2);
+        assertEquals(profile.getMaxTracks(), 3);
+    }
+
+    @Test
+    public void shouldKeepDefaultsForMissingProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("tracks", "1-2");
+
+        ConferenceProfile profile = ConferenceProfile.fromProperties(properties);
+
+        assertEquals(profile.getSessions().size(), 2);
+        assertEquals(profile.getMaxTracks(), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSessionsEndingAfterNetworking() {
+        new ConferenceProfile(540, Arrays.asList(new SessionWindow(180, 180), new SessionWindow(180, 300)),
+                Collections.singletonList(new Break("Lunch", 60)), 960, 1020, 1, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMissingBreak() {
+        new ConferenceProfile(540, Arrays.asList(new SessionWindow(180, 180), new SessionWindow(180, 240)),
+                Collections.<Break>emptyList(), 960, 1020, 1, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMalformedProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("sessions", "long");
+
+        ConferenceProfile.fromProperties(properties);
+    }
+}
@@ -0,0 +1,76 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TalkStoreTest {
+
+    @Test
+    public void shouldStoreTalksFromList() {
+        Talk talk1 = new Talk("talk1", "java", 45);
+        Talk talk2 = new Talk("talk2", "scala", 60);
+
+        TalkStore talkStore = TalkStore.fromTalks(Arrays.asList(talk1, talk2));
+
+        assertEquals(talkStore.size(), 2);
+        assertThat(talkStore.getTitle(1), equalTo("talk2"));
+        assertThat(talkStore.getName(1), equalTo("scala"));
+        assertEquals(talkStore.getDuration(0), 45);
+        assertEquals(talkStore.getTotalDuration(), 105);
+    }
+
+    @Test
+    public void shouldKeepTheStringsOfEachTalk() {
+        String title = new String("java 30min");
+        TalkStore talkStore = new TalkStore(1);
+        talkStore.add("java 30min", "java", 30);
+        talkStore.add(title, "java", 30);
+
+        assertThat(talkStore.getTitle(1), sameInstance(title));
+        assertThat(talkStore.getConstraint(1), nullValue());
+    }
+
+    @Test
+    public void shouldCreateTalksWithConstraints() {
+        TalkConstraint constraint = new TalkConstraint("Jane Doe", 1, TalkConstraint.NOT_PINNED);
+        TalkStore talkStore = new TalkStore(1);
+        talkStore.add("talk1 30min", "talk1", 30);
+        talkStore.add("talk2 45min", "talk2", 45, constraint);
+
+        List<Talk> talks = talkStore.asList();
+
+        assertEquals(talks.size(), 2);
+        assertThat(talks.get(0).getConstraint(), nullValue());
+        assertThat(talks.get(1).getTitle(), equalTo("talk2 45min"));
+        assertThat(talks.get(1).getConstraint(), sameInstance(constraint));
+    }
+
+    @Test
+    public void shouldSkipScheduledTalks() {
+        TalkStore talkStore = new TalkStore();
+        for (int i = 0; i < 4; i++) {
+            talkStore.add("talk" + i, "talk" + i, 30);
+        }
+        talkStore.setScheduled(1, true);
+        talkStore.setScheduled(2, true);
+
+        assertTrue(talkStore.isScheduled(1));
+        assertFalse(talkStore.isScheduled(0));
+        assertEquals(talkStore.nextUnscheduled(1), 3);
+        assertEquals(talkStore.unscheduledCount(), 2);
+        talkStore.setScheduled(3, true);
+        assertEquals(talkStore.nextUnscheduled(1), 4);
+        talkStore.clearScheduled();
+        assertEquals(talkStore.unscheduledCount(), 4);
+    }
+}